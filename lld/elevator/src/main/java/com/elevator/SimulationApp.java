@@ -0,0 +1,96 @@
+package com.elevator;
+
+import com.elevator.simulation.SimulationReport;
+import com.elevator.simulation.TrafficPattern;
+import com.elevator.simulation.TrafficSimulator;
+import com.elevator.system.DestinationDispatcher;
+import com.elevator.system.Dispatcher;
+import com.elevator.system.ElevatorSystem;
+import com.elevator.system.EtaDispatcher;
+import com.elevator.system.NearestCarDispatcher;
+import com.elevator.system.ZonedDispatcher;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line traffic simulation of a large bank.
+ *
+ * <pre>
+ *   SimulationApp [--floors 50] [--cars 16] [--capacity 16] [--seed 1]
+ *                 [--profile day|up-peak|lunch|down-peak|interfloor] [--rate 3000] [--hours 1] [--days 1]
+ *                 [--dispatcher nearest|zoned|eta|destination] [--zones 4]
+ * </pre>
+ * A single pattern runs for --hours at --rate passengers an hour. "day" is an
+ * office day, repeated --days times, with --rate as the peak rate:
+ * up-peak 1.5h, inter-floor 2.5h at 30%, lunch 2h at 70%, inter-floor 3h at
+ * 30%, down-peak 1.5h.
+ *
+ * Passengers key in their destination at the hall with the zoned and
+ * destination dispatchers, and press up/down with the others.
+ * <pre>
+ *   java -cp target/classes com.elevator.SimulationApp --floors 60 --cars 16 --days 20
+ *   java -cp target/classes com.elevator.SimulationApp --profile up-peak --dispatcher destination
+ * </pre>
+ */
+public class SimulationApp {
+
+    // Simulator defaults: 1.5s a floor; a stop is a 4s door cycle plus a few 1s transfers
+    private static final long FLOOR_MILLIS = 1500;
+    private static final long STOP_MILLIS = 7000;
+
+    public static void main(String[] args) {
+        Map<String, String> opts = options(args);
+        int floors = Integer.parseInt(opts.getOrDefault("floors", "50"));
+        int cars = Integer.parseInt(opts.getOrDefault("cars", "16"));
+        double rate = Double.parseDouble(opts.getOrDefault("rate", "3000"));
+        int capacity = Integer.parseInt(opts.getOrDefault("capacity", "16"));
+        String profile = opts.getOrDefault("profile", "day");
+        String strategy = opts.getOrDefault("dispatcher", "nearest");
+
+        Dispatcher dispatcher = switch (strategy) {
+            case "nearest" -> new NearestCarDispatcher();
+            case "zoned" -> new ZonedDispatcher(1, floors, Integer.parseInt(opts.getOrDefault("zones", "4")));
+            case "eta" -> new EtaDispatcher(FLOOR_MILLIS, STOP_MILLIS);
+            case "destination" -> new DestinationDispatcher(FLOOR_MILLIS, STOP_MILLIS, capacity);
+            default -> throw new IllegalArgumentException("Unknown dispatcher " + strategy);
+        };
+
+        TrafficSimulator simulator = new TrafficSimulator(new ElevatorSystem(cars, 1, floors, dispatcher),
+                Long.parseLong(opts.getOrDefault("seed", "1")))
+                .capacity(capacity)
+                .destinationCalls(strategy.equals("zoned") || strategy.equals("destination"));
+
+        if (profile.equals("day")) {
+            int days = Integer.parseInt(opts.getOrDefault("days", "1"));
+            for (int d = 0; d < days; d++) {
+                simulator.phase(TrafficPattern.UP_PEAK, 1.5, rate)
+                         .phase(TrafficPattern.INTERFLOOR, 2.5, rate * 0.3)
+                         .phase(TrafficPattern.LUNCH, 2.0, rate * 0.7)
+                         .phase(TrafficPattern.INTERFLOOR, 3.0, rate * 0.3)
+                         .phase(TrafficPattern.DOWN_PEAK, 1.5, rate);
+            }
+        } else {
+            TrafficPattern pattern = TrafficPattern.valueOf(profile.toUpperCase().replace('-', '_'));
+            simulator.phase(pattern, Double.parseDouble(opts.getOrDefault("hours", "1")), rate);
+        }
+
+        SimulationReport report = simulator.run();
+        System.out.println(strategy + " dispatch");
+        System.out.println(report);
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + args[i]);
+            }
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+}
@@ -8,23 +8,29 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * A request to the elevator system.
  *
- * Two kinds:
+ * Three kinds:
  *   - Hall call: person at a floor presses UP or DOWN → (floor, direction)
+ *   - Destination call: person at a floor keys in where they are going → (floor, destination)
  *   - Cabin call: person inside elevator presses a floor button → (elevatorId, targetFloor)
  */
 public class Request {
 
+    /** Destination of a request that is not a destination call. */
+    public static final int NO_DESTINATION = Integer.MIN_VALUE;
+
     private static final AtomicLong ID_GEN = new AtomicLong(1);
 
     private final long requestId;
     private final int floor;
     private final Direction direction; // meaningful for hall calls; IDLE for cabin calls
+    private final int destination;     // destination calls only; NO_DESTINATION otherwise
     private final Instant timestamp;
 
-    private Request(int floor, Direction direction) {
+    private Request(int floor, Direction direction, int destination) {
         this.requestId = ID_GEN.getAndIncrement();
         this.floor = floor;
         this.direction = direction;
+        this.destination = destination;
         this.timestamp = Instant.now();
     }
 
@@ -35,12 +41,20 @@ public class Request {
         if (direction == Direction.IDLE) {
             throw new InvalidFloorException("Hall call direction cannot be IDLE");
         }
-        return new Request(floor, direction);
+        return new Request(floor, direction, NO_DESTINATION);
+    }
+
+    /** Destination call: person at a floor keys in their destination at the hall. */
+    public static Request destinationCall(int floor, int destination) {
+        if (floor == destination) {
+            throw new InvalidFloorException("Destination must differ from the calling floor");
+        }
+        return new Request(floor, destination > floor ? Direction.UP : Direction.DOWN, destination);
     }
 
     /** Cabin call: person inside elevator wants to go to a specific floor. */
     public static Request cabinCall(int targetFloor) {
-        return new Request(targetFloor, Direction.IDLE);
+        return new Request(targetFloor, Direction.IDLE, NO_DESTINATION);
     }
 
     // ── Getters ────────────────────────────────────────────────
@@ -48,14 +62,22 @@ public class Request {
     public long getRequestId()     { return requestId; }
     public int getFloor()          { return floor; }
     public Direction getDirection() { return direction; }
+    public int getDestination()     { return destination; }
     public Instant getTimestamp()   { return timestamp; }
 
     public boolean isHallCall() {
         return direction != Direction.IDLE;
     }
 
+    public boolean isDestinationCall() {
+        return destination != NO_DESTINATION;
+    }
+
     @Override
     public String toString() {
+        if (isDestinationCall()) {
+            return String.format("DestinationCall{id=%d, floor=%d, to=%d}", requestId, floor, destination);
+        }
         if (isHallCall()) {
             return String.format("HallCall{id=%d, floor=%d, dir=%s}", requestId, floor, direction);
         }
@@ -0,0 +1,35 @@
+package com.elevator.simulation;
+
+import com.elevator.model.Direction;
+
+/**
+ * One simulated trip: times are simulation milliseconds, -1 until reached.
+ */
+final class Passenger {
+
+    final int origin;
+    final int destination;
+    final Direction direction;
+    final long arrivedAt;       // pressed the hall button
+    final int phase;            // index of the phase it arrived in
+
+    int car;                    // elevator id assigned by destination call, 0 for hall calls
+    long boardedAt = -1;
+    long alightedAt = -1;
+
+    Passenger(int origin, int destination, Direction direction, long arrivedAt, int phase) {
+        this.origin = origin;
+        this.destination = destination;
+        this.direction = direction;
+        this.arrivedAt = arrivedAt;
+        this.phase = phase;
+    }
+
+    long waitMillis() {
+        return boardedAt - arrivedAt;
+    }
+
+    long rideMillis() {
+        return alightedAt - boardedAt;
+    }
+}
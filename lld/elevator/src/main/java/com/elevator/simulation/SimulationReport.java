@@ -0,0 +1,169 @@
+package com.elevator.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * What a traffic simulation measured: wait (hall button to boarding) and ride
+ * (boarding to destination) times overall and per phase, passengers carried
+ * per car, and how fast the dispatcher decided.
+ *
+ * Times are simulated seconds. Throughput is per simulated hour, counted over
+ * the whole run including the drain after the last phase. Dispatcher speed is
+ * wall-clock: requestElevator calls per second of time spent inside them.
+ */
+public final class SimulationReport {
+
+    private final int floors;
+    private final int capacity;
+    private final int passengers;
+    private final double simulatedHours;
+    private final int[] carried;
+    private final int[] stops;
+    private final long decisions;
+    private final long dispatchNanos;
+    private final long wallNanos;
+
+    private final Times waits;
+    private final Times rides;
+    private final List<String> phaseLabels;
+    private final Times[] phaseWaits;
+    private final Times[] phaseRides;
+
+    /** Average, 95th percentile and maximum of a set of durations, in seconds. */
+    public static final class Times {
+        private final double average;
+        private final double p95;
+        private final double max;
+
+        private Times(long[] millis, int n) {
+            Arrays.sort(millis, 0, n);
+            long sum = 0;
+            for (int i = 0; i < n; i++) sum += millis[i];
+            this.average = n == 0 ? 0 : sum / 1000.0 / n;
+            this.p95 = n == 0 ? 0 : millis[(int) Math.ceil(n * 0.95) - 1] / 1000.0;   // nearest rank
+            this.max = n == 0 ? 0 : millis[n - 1] / 1000.0;
+        }
+
+        public double average() { return average; }
+        public double p95()     { return p95; }
+        public double max()     { return max; }
+
+        @Override
+        public String toString() {
+            return String.format("avg %6.1fs  p95 %6.1fs  max %6.1fs", average, p95, max);
+        }
+    }
+
+    SimulationReport(int floors, int capacity, List<String> phaseLabels, List<Passenger> delivered,
+                     long simulatedMillis, int[] carried, int[] stops,
+                     long decisions, long dispatchNanos, long wallNanos) {
+        this.floors = floors;
+        this.capacity = capacity;
+        this.passengers = delivered.size();
+        this.simulatedHours = simulatedMillis / 3_600_000.0;
+        this.carried = carried.clone();
+        this.stops = stops.clone();
+        this.decisions = decisions;
+        this.dispatchNanos = dispatchNanos;
+        this.wallNanos = wallNanos;
+
+        int n = delivered.size();
+        long[] wait = new long[n];
+        long[] ride = new long[n];
+        for (int i = 0; i < n; i++) {
+            wait[i] = delivered.get(i).waitMillis();
+            ride[i] = delivered.get(i).rideMillis();
+        }
+        this.waits = new Times(wait.clone(), n);
+        this.rides = new Times(ride.clone(), n);
+
+        // Phases with the same label (a pattern repeated day after day) report together
+        List<String> labels = new ArrayList<>();
+        int[] group = new int[phaseLabels.size()];
+        for (int ph = 0; ph < group.length; ph++) {
+            int g = labels.indexOf(phaseLabels.get(ph));
+            if (g < 0) {
+                g = labels.size();
+                labels.add(phaseLabels.get(ph));
+            }
+            group[ph] = g;
+        }
+        this.phaseLabels = List.copyOf(labels);
+        this.phaseWaits = new Times[labels.size()];
+        this.phaseRides = new Times[labels.size()];
+        for (int g = 0; g < labels.size(); g++) {
+            int k = 0;
+            for (int i = 0; i < n; i++) {
+                if (group[delivered.get(i).phase] == g) {
+                    wait[k] = delivered.get(i).waitMillis();
+                    ride[k] = delivered.get(i).rideMillis();
+                    k++;
+                }
+            }
+            phaseWaits[g] = new Times(wait, k);
+            phaseRides[g] = new Times(ride, k);
+        }
+    }
+
+    // ── Passenger experience ───────────────────────────────────
+
+    public int getPassengers()           { return passengers; }
+    public Times getWaitTimes()          { return waits; }
+    public Times getRideTimes()          { return rides; }
+
+    /** Distinct phases, in first-run order; repeats of a phase are reported as one. */
+    public List<String> getPhases()      { return phaseLabels; }
+    public Times getWaitTimes(int phase) { return phaseWaits[phase]; }
+    public Times getRideTimes(int phase) { return phaseRides[phase]; }
+
+    // ── Cars ───────────────────────────────────────────────────
+
+    public double getSimulatedHours() { return simulatedHours; }
+
+    /** Passengers carried by car (0-based index, i.e. elevator id - 1). */
+    public int getCarried(int car) { return carried[car]; }
+
+    public int getStops(int car) { return stops[car]; }
+
+    /** Passengers per car per simulated hour, averaged over the bank. */
+    public double getThroughputPerCar() {
+        return passengers / simulatedHours / carried.length;
+    }
+
+    // ── Dispatcher ─────────────────────────────────────────────
+
+    public long getDecisions() { return decisions; }
+
+    /** Dispatcher decisions per wall-clock second spent deciding. */
+    public double getDecisionsPerSecond() {
+        return dispatchNanos == 0 ? 0 : decisions * 1e9 / dispatchNanos;
+    }
+
+    /** Simulated time over wall-clock time for the whole run. */
+    public double getSpeedup() {
+        return simulatedHours * 3.6e12 / wallNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d floors, %d cars of %d, %.1f simulated hours, %d passengers%n",
+                floors, carried.length, capacity, simulatedHours, passengers));
+        sb.append(String.format("  wait  %s%n", waits));
+        sb.append(String.format("  ride  %s%n", rides));
+        for (int ph = 0; ph < phaseLabels.size(); ph++) {
+            sb.append(String.format("  %s%n    wait  %s%n    ride  %s%n",
+                    phaseLabels.get(ph), phaseWaits[ph], phaseRides[ph]));
+        }
+        sb.append(String.format("  per car: %.0f passengers/h avg;", getThroughputPerCar()));
+        for (int c = 0; c < carried.length; c++) {
+            sb.append(String.format(" [%d] %.0f", c + 1, carried[c] / simulatedHours));
+        }
+        sb.append(String.format("%n  dispatcher: %d decisions, %.2fM decisions/s%n",
+                decisions, getDecisionsPerSecond() / 1e6));
+        sb.append(String.format("  ran %.0fx real time (%d ms)", getSpeedup(), wallNanos / 1_000_000));
+        return sb.toString();
+    }
+}
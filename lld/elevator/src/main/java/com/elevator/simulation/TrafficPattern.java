@@ -0,0 +1,63 @@
+package com.elevator.simulation;
+
+import com.elevator.model.Direction;
+
+import java.util.SplittableRandom;
+
+/**
+ * Where passengers start and end, by time of day.
+ *
+ * Each passenger is one of three kinds:
+ *   - incoming: lobby → a random upper floor
+ *   - outgoing: a random upper floor → lobby
+ *   - inter-floor: one upper floor → another
+ *
+ * A pattern is the mix of the three. The splits are the usual ones from
+ * traffic analysis of office buildings.
+ */
+public enum TrafficPattern {
+
+    /** Morning: almost everyone arrives at the lobby and goes up. */
+    UP_PEAK(0.85, 0.10),
+
+    /** Lunch: two-way — out to lunch and back in at once. */
+    LUNCH(0.45, 0.45),
+
+    /** Evening: almost everyone goes down to the lobby. */
+    DOWN_PEAK(0.10, 0.85),
+
+    /** Mid-morning and afternoon: mostly trips between upper floors. */
+    INTERFLOOR(0.10, 0.10);
+
+    private final double incoming;
+    private final double outgoing;
+
+    TrafficPattern(double incoming, double outgoing) {
+        this.incoming = incoming;
+        this.outgoing = outgoing;
+    }
+
+    public double getIncoming()   { return incoming; }
+    public double getOutgoing()   { return outgoing; }
+    public double getInterfloor() { return 1.0 - incoming - outgoing; }
+
+    /** Draw one passenger arriving at time; lobby is the lowest floor. */
+    Passenger next(SplittableRandom random, int lobby, int top, long time, int phase) {
+        double kind = random.nextDouble();
+        int origin;
+        int destination;
+        if (kind < incoming) {
+            origin = lobby;
+            destination = random.nextInt(lobby + 1, top + 1);
+        } else if (kind < incoming + outgoing) {
+            origin = random.nextInt(lobby + 1, top + 1);
+            destination = lobby;
+        } else {
+            origin = random.nextInt(lobby + 1, top + 1);
+            destination = random.nextInt(lobby + 1, top);
+            if (destination >= origin) destination++;   // any upper floor but the origin
+        }
+        Direction direction = destination > origin ? Direction.UP : Direction.DOWN;
+        return new Passenger(origin, destination, direction, time, phase);
+    }
+}
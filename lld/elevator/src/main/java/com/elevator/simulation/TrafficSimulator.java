@@ -0,0 +1,443 @@
+package com.elevator.simulation;
+
+import com.elevator.model.Direction;
+import com.elevator.model.ElevatorState;
+import com.elevator.system.Elevator;
+import com.elevator.system.ElevatorSystem;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Discrete-event traffic simulator: drives an ElevatorSystem with seeded
+ * building traffic and measures what passengers experience.
+ *
+ * Time is simulated, in milliseconds, and jumps from one event to the next —
+ * a passenger arriving, or a car reaching its next floor — so an hour of
+ * traffic takes milliseconds of CPU. The system is the real one: hall calls go
+ * through requestElevator (the Dispatcher), cabin calls through pressFloor,
+ * and each car moves by its own LOOK step(). The simulator adds what the
+ * step model leaves out:
+ *   - travel time per floor, and a dwell at each stop (doors plus a
+ *     transfer time per passenger in or out)
+ *   - passengers: they wait at the hall, board a car stopping at their floor
+ *     in their direction (up to its capacity), and press their floor inside
+ *   - a hall call that is left with people waiting — car full, or it turned
+ *     the other way — is registered again
+ * With destinationCalls(true) passengers key in their floor at the hall
+ * instead, each is assigned a car by the dispatcher, and they board only it.
+ *
+ * Arrivals are Poisson at each phase's rate; the traffic is a list of phases
+ * run back to back. After the last phase no one new arrives and the
+ * simulation runs until everyone is delivered.
+ *
+ * <pre>
+ *   SimulationReport report = new TrafficSimulator(new ElevatorSystem(16, 1, 50), 42)
+ *           .phase(TrafficPattern.UP_PEAK, 1.0, 3000)     // hours, passengers per hour
+ *           .phase(TrafficPattern.LUNCH, 1.0, 2400)
+ *           .run();
+ * </pre>
+ *
+ * The system must be fresh: cars idle at the lowest floor, which is the lobby.
+ * Same system size, seed and phases give the same passengers, so dispatch
+ * strategies can be compared on identical traffic.
+ */
+public class TrafficSimulator {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private final ElevatorSystem system;
+    private final List<Elevator> cars;
+    private final int lobby;
+    private final int top;
+    private final SplittableRandom random;
+    private final List<Phase> phases = new ArrayList<>();
+
+    private int capacity = 16;
+    private long floorMillis = 1_500;       // one floor of travel, averaged over acceleration
+    private long doorMillis = 4_000;        // open plus close
+    private long transferMillis = 1_000;    // per passenger in or out
+    private boolean destinationCalls;
+
+    // ── Run state ──────────────────────────────────────────────
+
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private long eventSeq;
+    private long now;
+    private int phase;                           // of the next arrival
+    private long phaseEnd;
+
+    private FloorQueues[] waiting;               // [floor - lobby]
+    private int[][] assigned;                    // car id answering each lit hall button, 0 if none
+    private List<List<Passenger>> riders;
+    private boolean[] scheduled;                 // car has a move pending
+    private long[] doorsOpenUntil;
+    private int[] carried;
+    private int[] stops;
+
+    private final List<Passenger> delivered = new ArrayList<>();
+    private long decisions;
+    private long dispatchNanos;
+
+    private record Phase(TrafficPattern pattern, long millis, double perHour) {}
+
+    /** The two hall-call queues at one floor. */
+    private record FloorQueues(ArrayDeque<Passenger> up, ArrayDeque<Passenger> down) {
+        FloorQueues() {
+            this(new ArrayDeque<>(), new ArrayDeque<>());
+        }
+    }
+
+    /** A car reaching its next floor (car >= 0), or the next passenger arriving (car == -1). */
+    private record Event(long time, long seq, int car) implements Comparable<Event> {
+        @Override
+        public int compareTo(Event other) {
+            int c = Long.compare(time, other.time);
+            return c != 0 ? c : Long.compare(seq, other.seq);
+        }
+    }
+
+    public TrafficSimulator(ElevatorSystem system, long seed) {
+        if (system.getMaxFloor() - system.getMinFloor() < 2) {
+            throw new IllegalArgumentException("Need at least 3 floors to simulate traffic");
+        }
+        this.system = system;
+        this.cars = system.getElevators();
+        this.lobby = system.getMinFloor();
+        this.top = system.getMaxFloor();
+        this.random = new SplittableRandom(seed);
+    }
+
+    // ── Configuration ──────────────────────────────────────────
+
+    /** Append a phase of hours of pattern traffic at perHour passengers an hour. */
+    public TrafficSimulator phase(TrafficPattern pattern, double hours, double perHour) {
+        if (hours <= 0 || perHour <= 0) {
+            throw new IllegalArgumentException("Phase length and rate must be positive");
+        }
+        phases.add(new Phase(pattern, Math.round(hours * HOUR_MILLIS), perHour));
+        return this;
+    }
+
+    /** Passengers a car holds; the rest wait for the next one. */
+    public TrafficSimulator capacity(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        this.capacity = capacity;
+        return this;
+    }
+
+    /**
+     * Hall keypads instead of UP/DOWN buttons: each passenger keys in their
+     * floor (ElevatorSystem.requestDestination), is assigned a car, and
+     * boards only that one. Needed for destination dispatch to group riders.
+     */
+    public TrafficSimulator destinationCalls(boolean destinationCalls) {
+        this.destinationCalls = destinationCalls;
+        return this;
+    }
+
+    /** Travel time per floor, and dwell at a stop: door time plus transfer time per passenger. */
+    public TrafficSimulator timing(long floorMillis, long doorMillis, long transferMillis) {
+        if (floorMillis <= 0 || doorMillis < 0 || transferMillis < 0) {
+            throw new IllegalArgumentException("Floor time must be positive and dwell times non-negative");
+        }
+        this.floorMillis = floorMillis;
+        this.doorMillis = doorMillis;
+        this.transferMillis = transferMillis;
+        return this;
+    }
+
+    // ── Run ────────────────────────────────────────────────────
+
+    public SimulationReport run() {
+        if (phases.isEmpty()) {
+            throw new IllegalStateException("Add at least one phase");
+        }
+        if (waiting != null) {
+            throw new IllegalStateException("A simulator runs once");
+        }
+        for (Elevator car : cars) {
+            if (car.getState() == ElevatorState.MOVING || car.getCurrentFloor() != lobby) {
+                throw new IllegalStateException("Simulate on a fresh system: all cars idle at the lobby");
+            }
+        }
+        int floors = top - lobby + 1;
+        waiting = new FloorQueues[floors];
+        for (int i = 0; i < floors; i++) {
+            waiting[i] = new FloorQueues();
+        }
+        assigned = new int[floors][2];
+        riders = new ArrayList<>();
+        for (int i = 0; i < cars.size(); i++) {
+            riders.add(new ArrayList<>());
+        }
+        scheduled = new boolean[cars.size()];
+        doorsOpenUntil = new long[cars.size()];
+        carried = new int[cars.size()];
+        stops = new int[cars.size()];
+
+        long wallStart = System.nanoTime();
+        long generated = 0;
+        phaseEnd = phases.get(0).millis();
+        scheduleArrival();
+
+        Event event;
+        while ((event = events.poll()) != null) {
+            now = event.time();
+            if (event.car() >= 0) {
+                move(event.car());
+            } else {
+                arrive(phases.get(phase).pattern().next(random, lobby, top, now, phase));
+                generated++;
+                scheduleArrival();
+            }
+        }
+
+        if (delivered.size() != generated) {
+            throw new IllegalStateException((generated - delivered.size()) + " passengers were never delivered");
+        }
+        List<String> labels = new ArrayList<>();
+        for (Phase p : phases) {
+            labels.add(String.format("%s %.1fh @ %.0f/h", p.pattern(), p.millis() / (double) HOUR_MILLIS, p.perHour()));
+        }
+        return new SimulationReport(top - lobby + 1, capacity, labels, delivered, now, carried, stops,
+                decisions, dispatchNanos, System.nanoTime() - wallStart);
+    }
+
+    // ── Events ─────────────────────────────────────────────────
+
+    /** A passenger presses the hall button, or keys in their floor. */
+    private void arrive(Passenger p) {
+        ArrayDeque<Passenger> queue = queue(p.origin, p.direction);
+        queue.add(p);
+        if (destinationCalls) {
+            callTo(p);
+            return;
+        }
+
+        // A car standing here with its doors open, going this way, takes them straight in
+        for (int c = 0; c < cars.size(); c++) {
+            Elevator car = cars.get(c);
+            if (car.getCurrentFloor() == p.origin && doorsOpenUntil[c] > now
+                    && (car.getState() == ElevatorState.IDLE || car.getDirection() == p.direction)
+                    && riders.get(c).size() < capacity) {
+                while (!queue.isEmpty() && riders.get(c).size() < capacity) {
+                    board(c, queue.poll());
+                }
+                wake(c);
+                return;
+            }
+        }
+        if (assigned[p.origin - lobby][index(p.direction)] == 0) {
+            call(p.origin, p.direction);
+        }
+    }
+
+    /** A car reaches the next floor on its way. */
+    private void move(int c) {
+        scheduled[c] = false;
+        if (doorsOpenUntil[c] + floorMillis > now) {
+            scheduled[c] = true;                        // doors were held for late boarders
+            schedule(doorsOpenUntil[c] + floorMillis, c);
+            return;
+        }
+        Elevator car = cars.get(c);
+        int from = car.getCurrentFloor();
+        boolean stopped = car.step();
+        recall(from);
+        if (stopped) {
+            serve(c);
+        } else {
+            wake(c);
+        }
+    }
+
+    /**
+     * A car has left floor: whoever it left behind (it was full) presses the
+     * button, or keys in their floor, again. Waiting until it has gone keeps
+     * the dispatcher from handing them straight back to the full car.
+     */
+    private void recall(int floor) {
+        for (Direction d : new Direction[] {Direction.UP, Direction.DOWN}) {
+            ArrayDeque<Passenger> queue = queue(floor, d);
+            if (queue.isEmpty()) continue;
+            if (!destinationCalls) {
+                if (assigned[floor - lobby][index(d)] == 0) call(floor, d);
+                continue;
+            }
+            for (Passenger p : new ArrayList<>(queue)) {
+                if (p.car == 0) callTo(p);
+            }
+        }
+    }
+
+    /** Doors open at the car's floor: passengers out, passengers in, leftover calls re-registered. */
+    private void serve(int c) {
+        Elevator car = cars.get(c);
+        int floor = car.getCurrentFloor();
+        if (doorsOpenUntil[c] <= now) {
+            stops[c]++;                                 // else the doors are open already
+        }
+
+        int out = 0;
+        for (Iterator<Passenger> it = riders.get(c).iterator(); it.hasNext(); ) {
+            Passenger p = it.next();
+            if (p.destination == floor) {
+                p.alightedAt = now;
+                delivered.add(p);
+                it.remove();
+                out++;
+            }
+        }
+
+        if (destinationCalls) {
+            serveAssigned(c, floor, out);
+            return;
+        }
+
+        // Board in the car's direction; an idle car takes whoever is waiting
+        Direction direction = car.getDirection();
+        if (car.getState() == ElevatorState.IDLE
+                && (direction == Direction.IDLE || queue(floor, direction).isEmpty())) {
+            direction = queue(floor, Direction.UP).size() >= queue(floor, Direction.DOWN).size()
+                    ? Direction.UP : Direction.DOWN;
+        }
+        int in = 0;
+        if (direction != Direction.IDLE) {
+            ArrayDeque<Passenger> queue = queue(floor, direction);
+            while (!queue.isEmpty() && riders.get(c).size() < capacity) {
+                board(c, queue.poll());
+                in++;
+            }
+        }
+        doorsOpenUntil[c] = now + doorMillis + transferMillis * (in + out);
+
+        // Calls this car held here are answered unless it still means to come back
+        for (Direction d : new Direction[] {Direction.UP, Direction.DOWN}) {
+            int[] call = assigned[floor - lobby];
+            if (call[index(d)] == car.getId() && !car.hasStop(floor)) {
+                call[index(d)] = 0;
+            }
+        }
+        wake(c);
+        for (Direction d : new Direction[] {Direction.UP, Direction.DOWN}) {
+            if (!queue(floor, d).isEmpty() && assigned[floor - lobby][index(d)] == 0
+                    && !car.canBoardAt(floor, d)) {     // left by a full car: recalled once it goes
+                call(floor, d);
+            }
+        }
+    }
+
+    /**
+     * Destination calls: the passengers assigned to this car whose pickup it
+     * has just taken get in; any it has no room for key in their floor again
+     * once it has gone.
+     */
+    private void serveAssigned(int c, int floor, int out) {
+        Elevator car = cars.get(c);
+        int in = 0;
+        for (Direction d : new Direction[] {Direction.UP, Direction.DOWN}) {
+            for (Iterator<Passenger> it = queue(floor, d).iterator(); it.hasNext(); ) {
+                Passenger p = it.next();
+                if (p.car != car.getId() || car.hasPickup(floor, p.destination)) continue;
+                if (riders.get(c).size() < capacity) {
+                    it.remove();
+                    board(c, p);
+                    in++;
+                } else {
+                    p.car = 0;
+                }
+            }
+        }
+        doorsOpenUntil[c] = now + doorMillis + transferMillis * (in + out);
+        wake(c);
+    }
+
+    /** Passenger gets in and presses their floor. */
+    private void board(int c, Passenger p) {
+        p.boardedAt = now;
+        riders.get(c).add(p);
+        system.pressFloor(cars.get(c).getId(), p.destination);
+        carried[c]++;
+    }
+
+    /** Register a hall call with the dispatcher; a car that is here already opens at once. */
+    private void call(int floor, Direction direction) {
+        long start = System.nanoTime();
+        int id = system.requestElevator(floor, direction);
+        dispatchNanos += System.nanoTime() - start;
+        decisions++;
+        assigned[floor - lobby][index(direction)] = id;
+
+        int c = id - 1;
+        Elevator car = cars.get(c);
+        if (car.getCurrentFloor() == floor && !car.hasStop(floor)) {
+            serve(c);                                   // it is here and can take them now
+        } else {
+            wake(c);
+        }
+    }
+
+    /** Register a destination call; a car that is here already takes the passenger at once. */
+    private void callTo(Passenger p) {
+        long start = System.nanoTime();
+        int id = system.requestDestination(p.origin, p.destination);
+        dispatchNanos += System.nanoTime() - start;
+        decisions++;
+        p.car = id;
+
+        int c = id - 1;
+        Elevator car = cars.get(c);
+        if (car.getCurrentFloor() == p.origin && !car.hasPickup(p.origin, p.destination)) {
+            serve(c);
+        } else {
+            wake(c);
+        }
+    }
+
+    /** Schedule the car's next floor if it has somewhere to go and nothing pending. */
+    private void wake(int c) {
+        if (!scheduled[c] && cars.get(c).getState() == ElevatorState.MOVING) {
+            scheduled[c] = true;
+            schedule(Math.max(now, doorsOpenUntil[c]) + floorMillis, c);
+        }
+    }
+
+    /**
+     * Draw the next arrival after now. One that falls past the end of its
+     * phase is drawn again from the boundary at the next phase's rate
+     * (arrivals are memoryless); past the last phase there is none.
+     */
+    private void scheduleArrival() {
+        long time = now + interarrival(phases.get(phase));
+        while (time >= phaseEnd) {
+            if (++phase == phases.size()) return;
+            time = phaseEnd + interarrival(phases.get(phase));
+            phaseEnd += phases.get(phase).millis();
+        }
+        schedule(time, -1);
+    }
+
+    private void schedule(long time, int car) {
+        events.add(new Event(time, eventSeq++, car));
+    }
+
+    private long interarrival(Phase phase) {
+        // Exponential gaps give Poisson arrivals; at least 1 ms so time always advances
+        double hours = -Math.log(1.0 - random.nextDouble()) / phase.perHour();
+        return Math.max(1, Math.round(hours * HOUR_MILLIS));
+    }
+
+    private ArrayDeque<Passenger> queue(int floor, Direction direction) {
+        FloorQueues queues = waiting[floor - lobby];
+        return direction == Direction.UP ? queues.up() : queues.down();
+    }
+
+    private static int index(Direction direction) {
+        return direction == Direction.UP ? 0 : 1;
+    }
+}
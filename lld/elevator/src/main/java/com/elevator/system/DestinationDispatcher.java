@@ -0,0 +1,122 @@
+package com.elevator.system;
+
+import com.elevator.model.Direction;
+import com.elevator.model.ElevatorState;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Destination dispatch: riders key in their floor at the hall, and the
+ * dispatcher groups riders going to the same or nearby floors into the same
+ * car — each car then makes a few stops in a narrow band instead of stopping
+ * all the way up the building, which is what lets a large bank move far more
+ * people per hour than direction-only (LOOK) assignment.
+ *
+ * Each car is scored by the time the new rider adds, to themselves and to
+ * the riders the car already has on that sweep (waiting for it at the same
+ * floor the same way, and on board if it is already heading there):
+ *   - the rider's wait, the car's ETA at the floor (as EtaDispatcher)
+ *   - the rider's ride: floors to the destination plus the sweep's stops
+ *     in between
+ *   - a new stop at the floor or the destination, once for every rider it
+ *     holds up; none if the car already stops there
+ *   - travel past the sweep's farthest floor, there and back, which is time
+ *     the car is not serving anyone else
+ * and the cheapest car wins. A car whose sweep already holds capacity riders
+ * is passed over. Plain hall calls (no destination) are scored by ETA alone.
+ */
+public class DestinationDispatcher implements Dispatcher {
+
+    private final EtaDispatcher eta;
+    private final long floorMillis;
+    private final long stopMillis;
+    private final int capacity;
+
+    public DestinationDispatcher(long floorMillis, long stopMillis, int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        this.eta = new EtaDispatcher(floorMillis, stopMillis);
+        this.floorMillis = floorMillis;
+        this.stopMillis = stopMillis;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public Elevator dispatch(List<Elevator> elevators, int floor, Direction direction) {
+        return eta.dispatch(elevators, floor, direction);
+    }
+
+    @Override
+    public Elevator dispatchByDestination(List<Elevator> elevators, int floor, int destination) {
+        Direction direction = destination > floor ? Direction.UP : Direction.DOWN;
+        Elevator best = null;
+        long bestCost = Long.MAX_VALUE;
+
+        for (Elevator elevator : elevators) {
+            if (elevator.getState() == ElevatorState.MAINTENANCE) {
+                continue;
+            }
+            long cost = cost(elevator, floor, destination, direction);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = elevator;
+            }
+        }
+
+        return best != null ? best : eta.dispatch(elevators, floor, direction);
+    }
+
+    private long cost(Elevator elevator, int floor, int destination, Direction direction) {
+        // Destinations of the riders this car carries past floor on the rider's sweep
+        TreeMap<Integer, Integer> sweep = new TreeMap<>();
+        List<Integer> waiting = elevator.getPickups().get(floor);
+        if (waiting != null) {
+            for (int end : waiting) {
+                if (ahead(floor, end, direction)) sweep.merge(end, 1, Integer::sum);
+            }
+        }
+        boolean boarding = elevator.canBoardAt(floor, direction);
+        if (boarding || (elevator.getDirection() == direction && ahead(elevator.getCurrentFloor(), floor, direction))) {
+            for (Map.Entry<Integer, Integer> e : elevator.getDropoffs().entrySet()) {
+                if (ahead(floor, e.getKey(), direction)) sweep.merge(e.getKey(), e.getValue(), Integer::sum);
+            }
+        }
+        int riders = 0;
+        for (int n : sweep.values()) riders += n;
+        if (riders >= capacity) {
+            return Long.MAX_VALUE;
+        }
+
+        long cost = eta.eta(elevator, floor, direction);
+
+        NavigableMap<Integer, Integer> between = direction == Direction.UP
+                ? sweep.subMap(floor, false, destination, false)
+                : sweep.subMap(destination, false, floor, false);
+        cost += Math.abs(destination - floor) * floorMillis + between.size() * stopMillis;
+
+        if (!boarding && !elevator.hasStop(floor)) {
+            cost += (1 + riders) * stopMillis;
+        }
+        if (!sweep.containsKey(destination) && !elevator.hasStop(destination)) {
+            int past = 0;
+            for (int n : (direction == Direction.UP ? sweep.tailMap(destination, false)
+                                                    : sweep.headMap(destination, false)).values()) {
+                past += n;
+            }
+            cost += past * stopMillis;
+        }
+
+        int farthest = sweep.isEmpty() ? floor
+                : direction == Direction.UP ? sweep.lastKey() : sweep.firstKey();
+        if (ahead(farthest, destination, direction)) {
+            cost += 2L * Math.abs(destination - farthest) * floorMillis;
+        }
+        return cost;
+    }
+
+    private static boolean ahead(int from, int floor, Direction direction) {
+        return direction == Direction.UP ? floor > from : floor < from;
+    }
+}
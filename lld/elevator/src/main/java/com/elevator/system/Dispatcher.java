@@ -5,42 +5,34 @@ import com.elevator.model.Direction;
 import java.util.List;
 
 /**
- * Stateless elevator dispatcher.
+ * Dispatch strategy: assigns hall calls to elevators.
  *
- * Assigns hall calls to the best elevator using a nearest-first strategy
- * with direction awareness (prefers elevators already heading towards the caller).
+ * Implementations keep no record of past assignments — everything they need
+ * (position, direction, queued stops, riders waiting for each car) is on the
+ * elevators, so a strategy can be swapped at any time:
+ *   - NearestCarDispatcher: least distance, direction aware (the default)
+ *   - ZonedDispatcher: each group of cars serves one sector of floors
+ *   - EtaDispatcher: least estimated time, counting stops already queued
+ *   - DestinationDispatcher: destination calls, riders grouped by destination
  */
-public class Dispatcher {
+public interface Dispatcher {
 
     /**
      * Find the best elevator for a hall call.
      *
-     * Strategy: minimize estimated distance, which accounts for:
-     *   - Direct distance if idle
-     *   - Direct distance if moving towards the floor in the same direction
-     *   - Full sweep distance if moving away (needs to reverse)
-     *
      * @param elevators list of all elevators
      * @param floor     the requesting floor
      * @param direction the requested direction (UP or DOWN)
-     * @return the best elevator to serve this request
+     * @return the best elevator to serve this request, or null if none is available
      */
-    public Elevator dispatch(List<Elevator> elevators, int floor, Direction direction) {
-        Elevator best = null;
-        int bestDistance = Integer.MAX_VALUE;
-
-        for (Elevator elevator : elevators) {
-            if (elevator.getState() == com.elevator.model.ElevatorState.MAINTENANCE) {
-                continue;
-            }
-
-            int distance = elevator.distanceTo(floor, direction);
-            if (distance < bestDistance) {
-                bestDistance = distance;
-                best = elevator;
-            }
-        }
+    Elevator dispatch(List<Elevator> elevators, int floor, Direction direction);
 
-        return best;
+    /**
+     * Find the best elevator for a destination call — the rider keyed in
+     * destination at the hall. Strategies that do not use the destination
+     * treat it as a hall call in its direction.
+     */
+    default Elevator dispatchByDestination(List<Elevator> elevators, int floor, int destination) {
+        return dispatch(elevators, floor, destination > floor ? Direction.UP : Direction.DOWN);
     }
 }
@@ -4,7 +4,11 @@ import com.elevator.exception.InvalidFloorException;
 import com.elevator.model.Direction;
 import com.elevator.model.ElevatorState;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -17,6 +21,12 @@ import java.util.TreeSet;
  * Uses two TreeSets:
  *   - upStops: floors to visit while going UP (natural order)
  *   - downStops: floors to visit while going DOWN (reverse order)
+ *
+ * Destination calls also record who is waiting where: pickups maps a floor to
+ * the destinations of the riders assigned to this car there. Their floors
+ * become stops when the car opens at the pickup floor — the riders key them
+ * in at the hall, not in the car — and the riders move to dropoffs until the
+ * car opens at their floor. The two together are the car's assigned load.
  */
 public class Elevator {
 
@@ -27,9 +37,12 @@ public class Elevator {
     private int currentFloor;
     private Direction direction;
     private ElevatorState state;
+    private boolean doorsOpen;                 // stopped at currentFloor on the last step
 
     private final TreeSet<Integer> upStops;    // natural order — serve lowest first
     private final TreeSet<Integer> downStops;  // natural order — we use descendingIterator
+    private final Map<Integer, List<Integer>> pickups = new HashMap<>();   // floor → destinations waiting there
+    private final Map<Integer, Integer> dropoffs = new HashMap<>();        // destination → riders on board
 
     public Elevator(int id, int minFloor, int maxFloor) {
         this.id = id;
@@ -72,22 +85,26 @@ public class Elevator {
      */
     public void addHallCall(int floor, Direction requestedDirection) {
         validateFloor(floor);
-        if (floor == currentFloor && direction == Direction.IDLE) {
+        if (floor == currentFloor && state == ElevatorState.IDLE) {
             // Already here and idle — just set direction
             direction = requestedDirection;
             return;
         }
+        if (canBoardAt(floor, requestedDirection)) {
+            return; // stopped here going that way — the caller just gets in
+        }
 
         if (floor > currentFloor) {
             upStops.add(floor);
         } else if (floor < currentFloor) {
             downStops.add(floor);
         } else {
-            // On the same floor but moving — add to the requested direction's set
-            if (requestedDirection == Direction.UP) {
-                upStops.add(floor);
-            } else {
+            // On the same floor but moving — the floor is already behind us,
+            // so serve it on the return trip
+            if (direction == Direction.UP) {
                 downStops.add(floor);
+            } else {
+                upStops.add(floor);
             }
         }
 
@@ -98,6 +115,27 @@ public class Elevator {
         }
     }
 
+    /**
+     * Add a destination call: a rider at floor has keyed in destination and
+     * been given this car. The car stops at floor as for a hall call; the
+     * destination becomes a stop once it opens there (at once if it is
+     * there already and can take the rider).
+     */
+    public void addDestinationCall(int floor, int destination) {
+        validateFloor(floor);
+        validateFloor(destination);
+        if (floor == destination) {
+            throw new InvalidFloorException("Destination must differ from the calling floor");
+        }
+        Direction requestedDirection = destination > floor ? Direction.UP : Direction.DOWN;
+        if (canBoardAt(floor, requestedDirection)) {
+            board(destination);
+            return;
+        }
+        addHallCall(floor, requestedDirection);
+        pickups.computeIfAbsent(floor, f -> new ArrayList<>()).add(destination);
+    }
+
     // ── Step (simulate one floor of movement) ───────────────────
 
     /**
@@ -121,6 +159,11 @@ public class Elevator {
         } else if (direction == Direction.DOWN && downStops.remove(currentFloor)) {
             stopped = true;
         }
+        doorsOpen = stopped;
+        if (stopped) {
+            dropoffs.remove(currentFloor);
+            loadPickups();
+        }
 
         // Decide next direction (LOOK algorithm)
         if (direction == Direction.UP && upStops.isEmpty()) {
@@ -142,16 +185,69 @@ public class Elevator {
         return stopped;
     }
 
+    /**
+     * Riders assigned here get in and their destinations become stops: those
+     * going the car's way first; if nothing else lies that way the car turns
+     * around, so the rest get in too. Otherwise they wait for the return trip.
+     */
+    private void loadPickups() {
+        List<Integer> waiting = pickups.remove(currentFloor);
+        if (waiting == null) return;
+
+        List<Integer> otherWay = new ArrayList<>();
+        for (int destination : waiting) {
+            if ((destination > currentFloor) == (direction == Direction.UP)) {
+                board(destination);
+            } else {
+                otherWay.add(destination);
+            }
+        }
+        if (otherWay.isEmpty()) return;
+
+        if ((direction == Direction.UP ? upStops : downStops).isEmpty()) {
+            otherWay.forEach(this::board);
+        } else {
+            pickups.put(currentFloor, otherWay);
+            (direction == Direction.UP ? downStops : upStops).add(currentFloor);
+        }
+    }
+
+    private void board(int destination) {
+        addStop(destination);
+        dropoffs.merge(destination, 1, Integer::sum);
+    }
+
     // ── Queries ─────────────────────────────────────────────────
 
     public int pendingStops() {
         return upStops.size() + downStops.size();
     }
 
+    /** Whether a rider from floor to destination is still waiting for this car. */
+    public boolean hasPickup(int floor, int destination) {
+        List<Integer> waiting = pickups.get(floor);
+        return waiting != null && waiting.contains(destination);
+    }
+
     public boolean isIdle() {
         return state == ElevatorState.IDLE;
     }
 
+    /**
+     * Whether someone at floor going direction can get in now: the elevator
+     * is idle there, or stopped there on its last step and is leaving that way.
+     */
+    public boolean canBoardAt(int floor, Direction requestedDirection) {
+        if (floor != currentFloor) return false;
+        return state == ElevatorState.IDLE
+                || (state == ElevatorState.MOVING && doorsOpen && direction == requestedDirection);
+    }
+
+    /** Whether the elevator still has to stop at a floor, in either direction. */
+    public boolean hasStop(int floor) {
+        return upStops.contains(floor) || downStops.contains(floor);
+    }
+
     /**
      * Estimated distance to reach a floor.
      * For LOOK scheduling: direct distance if on the way, otherwise full sweep distance.
@@ -181,12 +277,48 @@ public class Elevator {
         }
     }
 
+    /**
+     * Floors the car travels on its LOOK route before it reaches floor, the
+     * way a hall call there would be queued: straight on if the floor is ahead,
+     * otherwise out to its last stop and back.
+     */
+    public int travelTo(int floor) {
+        if (state == ElevatorState.MAINTENANCE) return Integer.MAX_VALUE;
+        if (state == ElevatorState.IDLE) return Math.abs(currentFloor - floor);
+
+        if (direction == Direction.UP) {
+            if (floor > currentFloor) return floor - currentFloor;
+            int topmost = upStops.isEmpty() ? currentFloor : upStops.last();
+            return (topmost - currentFloor) + (topmost - floor);
+        } else {
+            if (floor < currentFloor) return currentFloor - floor;
+            int bottommost = downStops.isEmpty() ? currentFloor : downStops.first();
+            return (currentFloor - bottommost) + (floor - bottommost);
+        }
+    }
+
+    /** Queued stops the car makes on that route before it reaches floor. */
+    public int stopsBefore(int floor) {
+        if (state != ElevatorState.MOVING) return 0;
+
+        if (direction == Direction.UP) {
+            if (floor > currentFloor) return upStops.subSet(currentFloor, false, floor, false).size();
+            return upStops.size() + downStops.tailSet(floor, false).size();
+        } else {
+            if (floor < currentFloor) return downStops.subSet(floor, false, currentFloor, false).size();
+            return downStops.size() + upStops.headSet(floor, false).size();
+        }
+    }
+
     public void setMaintenance(boolean maintenance) {
         if (maintenance) {
             this.state = ElevatorState.MAINTENANCE;
             this.direction = Direction.IDLE;
+            this.doorsOpen = false;
             upStops.clear();
             downStops.clear();
+            pickups.clear();
+            dropoffs.clear();
         } else {
             this.state = ElevatorState.IDLE;
         }
@@ -200,6 +332,8 @@ public class Elevator {
     public ElevatorState getState()  { return state; }
     public Set<Integer> getUpStops()   { return Collections.unmodifiableSet(upStops); }
     public Set<Integer> getDownStops() { return Collections.unmodifiableSet(downStops); }
+    public Map<Integer, List<Integer>> getPickups() { return Collections.unmodifiableMap(pickups); }
+    public Map<Integer, Integer> getDropoffs()       { return Collections.unmodifiableMap(dropoffs); }
 
     @Override
     public String toString() {
@@ -21,14 +21,20 @@ public class ElevatorSystem {
     private final int minFloor;
     private final int maxFloor;
     private final List<Elevator> elevators;
-    private final Dispatcher dispatcher = new Dispatcher();
+    private final Dispatcher dispatcher;
 
     public ElevatorSystem(int numElevators, int minFloor, int maxFloor) {
+        this(numElevators, minFloor, maxFloor, new NearestCarDispatcher());
+    }
+
+    public ElevatorSystem(int numElevators, int minFloor, int maxFloor, Dispatcher dispatcher) {
         if (numElevators <= 0) throw new IllegalArgumentException("Need at least 1 elevator");
         if (minFloor >= maxFloor) throw new IllegalArgumentException("minFloor must be < maxFloor");
+        if (dispatcher == null) throw new IllegalArgumentException("Need a dispatcher");
 
         this.minFloor = minFloor;
         this.maxFloor = maxFloor;
+        this.dispatcher = dispatcher;
         this.elevators = new ArrayList<>();
         for (int i = 1; i <= numElevators; i++) {
             elevators.add(new Elevator(i, minFloor, maxFloor));
@@ -58,6 +64,31 @@ public class ElevatorSystem {
         return assigned.getId();
     }
 
+    // ── Destination Call (hall keypad) ──────────────────────────
+
+    /**
+     * Person at a floor keys in their destination.
+     * Dispatcher assigns an elevator, which the person is told to take;
+     * the destination becomes a stop when that elevator opens here.
+     *
+     * @return the assigned elevator's ID
+     */
+    public int requestDestination(int sourceFloor, int destFloor) {
+        validateFloor(sourceFloor);
+        validateFloor(destFloor);
+        if (sourceFloor == destFloor) {
+            throw new InvalidFloorException("Destination must differ from the calling floor");
+        }
+
+        Elevator assigned = dispatcher.dispatchByDestination(elevators, sourceFloor, destFloor);
+        if (assigned == null) {
+            throw new IllegalStateException("No elevators available (all in maintenance)");
+        }
+
+        assigned.addDestinationCall(sourceFloor, destFloor);
+        return assigned.getId();
+    }
+
     // ── Cabin Call (internal request) ───────────────────────────
 
     /**
@@ -127,6 +158,18 @@ public class ElevatorSystem {
         return elevators.stream().anyMatch(e -> e.getState() == ElevatorState.MOVING);
     }
 
+    public Dispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public int getMinFloor() {
+        return minFloor;
+    }
+
+    public int getMaxFloor() {
+        return maxFloor;
+    }
+
     public List<Elevator> getElevators() {
         return Collections.unmodifiableList(elevators);
     }
@@ -0,0 +1,56 @@
+package com.elevator.system;
+
+import com.elevator.model.Direction;
+import com.elevator.model.ElevatorState;
+
+import java.util.List;
+
+/**
+ * Estimated-time-of-arrival dispatch: the car that would reach the caller
+ * soonest, counting the stops it already has queued on the way.
+ *
+ * Nearest-car compares floors only, so a car three floors away with four
+ * stops in between beats an idle car five floors away. Here each car's cost
+ * is its LOOK route to the caller:
+ *   eta = floors travelled × floor time + stops on the way × stop time
+ * (Elevator.travelTo and stopsBefore). The stop time should cover door
+ * cycle and typical transfer at a stop.
+ */
+public class EtaDispatcher implements Dispatcher {
+
+    private final long floorMillis;
+    private final long stopMillis;
+
+    public EtaDispatcher(long floorMillis, long stopMillis) {
+        if (floorMillis <= 0 || stopMillis < 0) {
+            throw new IllegalArgumentException("Floor time must be positive and stop time non-negative");
+        }
+        this.floorMillis = floorMillis;
+        this.stopMillis = stopMillis;
+    }
+
+    @Override
+    public Elevator dispatch(List<Elevator> elevators, int floor, Direction direction) {
+        Elevator best = null;
+        long bestEta = Long.MAX_VALUE;
+
+        for (Elevator elevator : elevators) {
+            if (elevator.getState() == ElevatorState.MAINTENANCE) {
+                continue;
+            }
+            long eta = eta(elevator, floor, direction);
+            if (eta < bestEta) {
+                bestEta = eta;
+                best = elevator;
+            }
+        }
+
+        return best;
+    }
+
+    /** Millis until elevator can take a rider at floor going direction, on its current route. */
+    public long eta(Elevator elevator, int floor, Direction direction) {
+        if (elevator.canBoardAt(floor, direction)) return 0;
+        return elevator.travelTo(floor) * floorMillis + elevator.stopsBefore(floor) * stopMillis;
+    }
+}
@@ -0,0 +1,38 @@
+package com.elevator.system;
+
+import com.elevator.model.Direction;
+import com.elevator.model.ElevatorState;
+
+import java.util.List;
+
+/**
+ * Nearest-first dispatch with direction awareness (prefers elevators already
+ * heading towards the caller).
+ *
+ * Strategy: minimize estimated distance, which accounts for:
+ *   - Direct distance if idle
+ *   - Direct distance if moving towards the floor in the same direction
+ *   - Full sweep distance if moving away (needs to reverse)
+ */
+public class NearestCarDispatcher implements Dispatcher {
+
+    @Override
+    public Elevator dispatch(List<Elevator> elevators, int floor, Direction direction) {
+        Elevator best = null;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (Elevator elevator : elevators) {
+            if (elevator.getState() == ElevatorState.MAINTENANCE) {
+                continue;
+            }
+
+            int distance = elevator.distanceTo(floor, direction);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = elevator;
+            }
+        }
+
+        return best;
+    }
+}
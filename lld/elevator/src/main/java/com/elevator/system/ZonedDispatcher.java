@@ -0,0 +1,76 @@
+package com.elevator.system;
+
+import com.elevator.model.Direction;
+import com.elevator.model.ElevatorState;
+
+import java.util.List;
+
+/**
+ * Sectored dispatch: the floors above the lobby are split into contiguous
+ * zones, and the cars into as many groups, one per zone. A call is answered by
+ * the nearest car of its zone, so each car stops at fewer, closer floors.
+ *
+ * A call is zoned by the floor it comes from, except at the lobby: a lobby
+ * hall call could be going anywhere, so any car takes it; a lobby destination
+ * call is zoned by its destination — the up-peak case that sectoring is for.
+ * If every car of a zone is in maintenance, the nearest car overall answers.
+ */
+public class ZonedDispatcher implements Dispatcher {
+
+    private final int lobby;
+    private final int maxFloor;
+    private final int zones;
+    private final Dispatcher nearest = new NearestCarDispatcher();
+
+    public ZonedDispatcher(int lobby, int maxFloor, int zones) {
+        if (zones <= 0 || zones > maxFloor - lobby) {
+            throw new IllegalArgumentException("Zones must be between 1 and the number of floors above the lobby");
+        }
+        this.lobby = lobby;
+        this.maxFloor = maxFloor;
+        this.zones = zones;
+    }
+
+    @Override
+    public Elevator dispatch(List<Elevator> elevators, int floor, Direction direction) {
+        if (floor == lobby) {
+            return nearest.dispatch(elevators, floor, direction);
+        }
+        return nearestInZone(elevators, zoneOf(floor), floor, direction);
+    }
+
+    @Override
+    public Elevator dispatchByDestination(List<Elevator> elevators, int floor, int destination) {
+        Direction direction = destination > floor ? Direction.UP : Direction.DOWN;
+        return nearestInZone(elevators, zoneOf(floor == lobby ? destination : floor), floor, direction);
+    }
+
+    /** Zone of a floor above the lobby, 0 (lowest) to zones - 1. */
+    public int zoneOf(int floor) {
+        return (int) ((long) (floor - lobby - 1) * zones / (maxFloor - lobby));
+    }
+
+    /** Zone a car serves, by its position in the bank. */
+    private int zoneOfCar(int index, int cars) {
+        return (int) ((long) index * zones / cars);
+    }
+
+    private Elevator nearestInZone(List<Elevator> elevators, int zone, int floor, Direction direction) {
+        Elevator best = null;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (int i = 0; i < elevators.size(); i++) {
+            Elevator elevator = elevators.get(i);
+            if (elevator.getState() == ElevatorState.MAINTENANCE || zoneOfCar(i, elevators.size()) != zone) {
+                continue;
+            }
+            int distance = elevator.distanceTo(floor, direction);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = elevator;
+            }
+        }
+
+        return best != null ? best : nearest.dispatch(elevators, floor, direction);
+    }
+}
@@ -0,0 +1,50 @@
+package com.orderbook.bench;
+
+import com.orderbook.model.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * amendOrder (in-place size reduction) cost, per amend — the counterpart of
+ * {@link ModifyBenchmark} for the reduce-only case that keeps priority.
+ *
+ * Setup rests {@link #BATCH} fresh orders behind the existing queue at
+ * their levels and picks a smaller size for each; teardown cancels them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AmendBenchmark extends BookFixture {
+
+    static final int BATCH = 1000;
+
+    private final Order[] orders = new Order[BATCH];
+    private final long[] newQty = new long[BATCH];
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        for (int i = 0; i < BATCH; i++) {
+            Order order = flow.nextResting();      // at least one lot, so halving leaves something
+            book.placeOrder(order);
+            orders[i] = order;
+            newQty[i] = order.getRemainingQty() / 2;
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void restore() {
+        cancelIfResting(orders);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void amend() {
+        for (int i = 0; i < BATCH; i++) {
+            book.amendOrder(orders[i].getOrderId(), newQty[i]);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.orderbook.bench;
+
+import com.orderbook.book.OrderBook;
+import com.orderbook.engine.TradeListener;
+import com.orderbook.model.Order;
+import com.orderbook.model.TickSize;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Base state for every benchmark: a pre-filled book parameterised by size
+ * and BookSide implementation.
+ *
+ * Benchmarks extend this rather than taking it as a second @State argument,
+ * so invocation-level setup and the timed method are guaranteed to see the
+ * same book. Benchmarks that consume or add liquidity undo it in an untimed
+ * invocation-level teardown, so every measurement starts from a book of the
+ * same size and shape.
+ */
+@State(Scope.Thread)
+public abstract class BookFixture {
+
+    public static final String SYMBOL = "BENCH";
+    public static final int LADDER_LEVELS = 4096;
+    public static final double SIGMA_TICKS = 50;
+
+    @Param({"1000", "100000"})
+    public int bookOrders;
+
+    @Param({"tree", "ladder"})
+    public String sideImpl;
+
+    protected OrderBook book;
+    protected OrderFlow flow;
+
+    @Setup(Level.Trial)
+    public void build() {
+        book = switch (sideImpl) {
+            case "tree" -> new OrderBook(SYMBOL, TickSize.CENT);
+            case "ladder" -> OrderBook.withPriceLadder(SYMBOL, TickSize.CENT, LADDER_LEVELS);
+            default -> throw new IllegalArgumentException("Unknown sideImpl: " + sideImpl);
+        };
+        flow = new OrderFlow(42, SIGMA_TICKS);
+        refill();
+    }
+
+    /** Top the book back up to bookOrders resting orders. */
+    protected void refill() {
+        while (book.totalOrderCount() < bookOrders) {
+            book.placeOrder(flow.nextResting(), TradeListener.NO_OP);
+        }
+    }
+
+    /** Cancel any of orders still resting (e.g. remainders of crossing orders). */
+    protected void cancelIfResting(Order[] orders) {
+        for (Order order : orders) {
+            if (order.isActive()) {
+                book.cancelOrder(order.getOrderId());
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.orderbook.bench;
+
+import com.orderbook.model.Order;
+import com.orderbook.model.Side;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * cancelOrder cost by distance from the touch.
+ *
+ * Each invocation adds {@link #BATCH} bids ticksFromTouch below the best bid
+ * (untimed), then cancels them in shuffled order. The cancels remove exactly
+ * what setup added, so the book is unchanged between invocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CancelBenchmark extends BookFixture {
+
+    static final int BATCH = 1000;
+
+    @Param({"0", "10", "100"})
+    public int ticksFromTouch;
+
+    private final long[] ids = new long[BATCH];
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        long price = book.getBestBidTicks() - ticksFromTouch;
+        for (int i = 0; i < BATCH; i++) {
+            Order order = Order.limitOrder(Side.BUY, price, flow.quantity());
+            book.placeOrder(order);
+            ids[i] = order.getOrderId();
+        }
+        flow.shuffle(ids);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void cancel() {
+        for (long id : ids) {
+            book.cancelOrder(id);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.orderbook.bench;
+
+import com.orderbook.book.PriceLevel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Top-of-book snapshot: getBidDepth(10), the read every market-data tick makes. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DepthBenchmark extends BookFixture {
+
+    @Benchmark
+    public List<PriceLevel> bidDepth10() {
+        return book.getBidDepth(10);
+    }
+}
@@ -0,0 +1,54 @@
+package com.orderbook.bench;
+
+import com.orderbook.engine.TradeListener;
+import com.orderbook.model.Order;
+import com.orderbook.model.Side;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * modifyOrder (cancel + replace) cost, per modify.
+ *
+ * Setup rests {@link #BATCH} fresh orders and builds a non-crossing
+ * replacement for each at a new price and size; teardown cancels the
+ * replacements. Replacement orders are pre-built so the timed loop measures
+ * the book, not Order construction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModifyBenchmark extends BookFixture {
+
+    static final int BATCH = 1000;
+
+    private final long[] ids = new long[BATCH];
+    private final Order[] replacements = new Order[BATCH];
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        for (int i = 0; i < BATCH; i++) {
+            Side side = flow.nextSide();
+            Order original = flow.nextResting(side);
+            book.placeOrder(original);
+            ids[i] = original.getOrderId();
+            replacements[i] = flow.nextResting(side);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void restore() {
+        cancelIfResting(replacements);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void modify() {
+        for (int i = 0; i < BATCH; i++) {
+            book.modifyOrder(ids[i], replacements[i], TradeListener.NO_OP);
+        }
+    }
+}
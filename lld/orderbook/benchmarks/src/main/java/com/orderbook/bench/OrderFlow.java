@@ -0,0 +1,76 @@
+package com.orderbook.bench;
+
+import com.orderbook.model.Order;
+import com.orderbook.model.Side;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeded order-flow generator shaped like a liquid equity book.
+ *
+ * - Resting prices sit 1 + |N(0, sigma)| ticks away from a fixed mid, so
+ *   liquidity is densest at the touch and thins out with depth.
+ * - Sizes are round lots with an exponential tail (mostly 1–3 lots, the
+ *   occasional block).
+ *
+ * Resting bids are always below mid and resting asks above it, so a book
+ * built only from {@link #nextResting()} never crosses.
+ */
+public final class OrderFlow {
+
+    public static final long MID = 100_000;          // 1000.00 with a cent tick
+    public static final long LOT = 100;
+
+    private final SplittableRandom random;
+    private final double sigma;
+
+    /** @param sigma standard deviation of the distance from mid, in ticks */
+    public OrderFlow(long seed, double sigma) {
+        this.random = new SplittableRandom(seed);
+        this.sigma = sigma;
+    }
+
+    public Side nextSide() {
+        return random.nextBoolean() ? Side.BUY : Side.SELL;
+    }
+
+    /** Distance-from-mid price for a passive order on the given side. */
+    public long restingPrice(Side side) {
+        long offset = 1 + (long) Math.abs(nextGaussian() * sigma);
+        return side == Side.BUY ? MID - offset : MID + offset;
+    }
+
+    public long quantity() {
+        double lots = -Math.log(1 - random.nextDouble()) * 2;   // exponential, mean 2 extra lots
+        return LOT * (1 + (long) lots);
+    }
+
+    public Order nextResting() {
+        return nextResting(nextSide());
+    }
+
+    public Order nextResting(Side side) {
+        return Order.limitOrder(side, restingPrice(side), quantity());
+    }
+
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /** Fisher–Yates, so cancels hit queues in a non-FIFO order. */
+    public void shuffle(long[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private double nextGaussian() {
+        // Box–Muller; SplittableRandom has no nextGaussian on Java 17
+        double u = 1 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+}
@@ -0,0 +1,65 @@
+package com.orderbook.bench;
+
+import com.orderbook.engine.TradeListener;
+import com.orderbook.model.Order;
+import com.orderbook.model.Side;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * placeOrder cost, per order.
+ *
+ * - resting:  passive limit orders that join the book without matching.
+ * - crossing: marketable limit orders priced through the touch, so each one
+ *             matches (and may walk a level) before any remainder rests.
+ *
+ * Orders are built untimed in batches of {@link #BATCH}; teardown cancels what
+ * is left of the batch and refills the book to its original size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlaceOrderBenchmark extends BookFixture {
+
+    static final int BATCH = 1000;
+    private static final int CROSS_TICKS = 5;
+
+    @Param({"resting", "crossing"})
+    public String orderFlow;
+
+    private final Order[] orders = new Order[BATCH];
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        boolean crossing = orderFlow.equals("crossing");
+        for (int i = 0; i < BATCH; i++) {
+            orders[i] = crossing ? crossingOrder(i) : flow.nextResting();
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void restore() {
+        cancelIfResting(orders);
+        refill();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void place() {
+        for (Order order : orders) {
+            book.placeOrder(order, TradeListener.NO_OP);
+        }
+    }
+
+    private Order crossingOrder(int i) {
+        // Alternate sides so both halves of the book are consumed evenly
+        long through = CROSS_TICKS + flow.nextInt(CROSS_TICKS);
+        return (i & 1) == 0
+                ? Order.limitOrder(Side.BUY, OrderFlow.MID + through, OrderFlow.LOT)
+                : Order.limitOrder(Side.SELL, OrderFlow.MID - through, OrderFlow.LOT);
+    }
+}
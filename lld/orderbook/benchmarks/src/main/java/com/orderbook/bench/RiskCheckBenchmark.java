@@ -0,0 +1,64 @@
+package com.orderbook.bench;
+
+import com.orderbook.engine.TradeListener;
+import com.orderbook.model.Order;
+import com.orderbook.risk.PreTradeRisk;
+import com.orderbook.risk.RiskLimits;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the pre-trade risk check adds to placeOrder, per order: the same
+ * resting flow as {@link PlaceOrderBenchmark}, spread over {@link #ACCOUNTS}
+ * accounts, placed with no check ("off") and with every PreTradeRisk limit
+ * set but none hit ("on").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RiskCheckBenchmark extends BookFixture {
+
+    static final int BATCH = 1000;
+    static final int ACCOUNTS = 64;
+
+    @Param({"off", "on"})
+    public String riskCheck;
+
+    private final Order[] orders = new Order[BATCH];
+
+    @Setup(Level.Trial)
+    public void attach() {
+        if (riskCheck.equals("on")) {
+            book.setRiskCheck(new PreTradeRisk(RiskLimits.NONE
+                    .withMaxOrderQty(1_000_000)
+                    .withMaxOrderNotional(Long.MAX_VALUE / 2)
+                    .withPriceCollar(1_000_000)
+                    .withMaxOpenQty(Long.MAX_VALUE / 2)
+                    .withMaxOpenNotional(Long.MAX_VALUE / 2)));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        for (int i = 0; i < BATCH; i++) {
+            orders[i] = flow.nextResting().forAccount(1 + i % ACCOUNTS);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void restore() {
+        cancelIfResting(orders);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void place() {
+        for (Order order : orders) {
+            book.placeOrder(order, TradeListener.NO_OP);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.orderbook.bench;
+
+import com.orderbook.book.BookSnapshot;
+import com.orderbook.book.SnapshotCapture;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pause a snapshot puts on the matching thread.
+ *
+ * begin: beginSnapshot(), what a Snapshotter costs the matching thread — it
+ * lists the levels and copies no orders. The capture is completed in an
+ * untimed teardown, as the writer thread would. inline: captureSnapshot(),
+ * copying every resting order on the calling thread, for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark extends BookFixture {
+
+    private SnapshotCapture capture;
+
+    @Benchmark
+    public SnapshotCapture begin() {
+        return capture = book.beginSnapshot();
+    }
+
+    @Benchmark
+    public BookSnapshot inline() {
+        return book.captureSnapshot();
+    }
+
+    @TearDown(Level.Invocation)
+    public void completeCapture() {
+        if (capture != null) {
+            capture.complete();
+            capture = null;
+        }
+    }
+}
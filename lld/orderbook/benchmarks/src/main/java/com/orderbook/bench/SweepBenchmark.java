@@ -0,0 +1,74 @@
+package com.orderbook.bench;
+
+import com.orderbook.book.PriceLevel;
+import com.orderbook.engine.TradeListener;
+import com.orderbook.model.Order;
+import com.orderbook.model.Side;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A market buy sized to take out exactly levelsSwept ask levels.
+ *
+ * Setup records every order on those levels; teardown re-rests identical
+ * orders in the same FIFO order, so each sweep sees the same book. One sweep
+ * per invocation — for levelsSwept=1 the invocation-level setup overhead is a
+ * visible share of the score, so compare that row against itself over time
+ * rather than against the deeper sweeps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SweepBenchmark extends BookFixture {
+
+    @Param({"1", "10", "100"})
+    public int levelsSwept;
+
+    private long[] prices = new long[0];
+    private long[] quantities = new long[0];
+    private int swept;
+    private Order sweep;
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        List<PriceLevel> levels = book.getAskDepth(levelsSwept);
+        int orders = 0;
+        for (PriceLevel level : levels) {
+            orders += level.orderCount();
+        }
+        if (prices.length < orders) {
+            prices = new long[orders];
+            quantities = new long[orders];
+        }
+
+        swept = 0;
+        long total = 0;
+        for (PriceLevel level : levels) {
+            for (Order order : level) {
+                prices[swept] = order.getPrice();
+                quantities[swept] = order.getRemainingQty();
+                total += quantities[swept];
+                swept++;
+            }
+        }
+        sweep = Order.marketOrder(Side.BUY, total);
+    }
+
+    @TearDown(Level.Invocation)
+    public void restore() {
+        for (int i = 0; i < swept; i++) {
+            book.placeOrder(Order.limitOrder(Side.SELL, prices[i], quantities[i]), TradeListener.NO_OP);
+        }
+    }
+
+    @Benchmark
+    public Order sweep() {
+        book.placeOrder(sweep, TradeListener.NO_OP);
+        return sweep;
+    }
+}
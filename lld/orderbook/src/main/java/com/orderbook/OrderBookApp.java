@@ -11,7 +11,8 @@ import java.util.List;
  */
 public class OrderBookApp {
 
-    private static final OrderBook book = new OrderBook("AAPL");
+    private static final TickSize TICK = TickSize.CENT;
+    private static final OrderBook book = new OrderBook("AAPL", TICK);
 
     public static void main(String[] args) {
         System.out.println("╔═══════════════════════════════════════════════╗");
@@ -57,7 +58,7 @@ public class OrderBookApp {
         System.out.println("  with 120 qty, it fills against the first 100 at 151.00 (FIFO: a1 first)");
         System.out.println("  then 20 from a4 at 151.00\n");
 
-        Order aggressive = Order.limitOrder(Side.BUY, new BigDecimal("151.25"), 120);
+        Order aggressive = Order.limitOrder(Side.BUY, new BigDecimal("151.25"), 120, TICK);
         List<Trade> trades = book.placeOrder(aggressive);
 
         printTrades(trades);
@@ -88,7 +89,7 @@ public class OrderBookApp {
         section("Scenario 4: Cancel a resting order");
 
         // Place a fresh order to cancel
-        Order toCancel = Order.limitOrder(Side.BUY, new BigDecimal("148.00"), 500);
+        Order toCancel = Order.limitOrder(Side.BUY, new BigDecimal("148.00"), 500, TICK);
         book.placeOrder(toCancel);
         System.out.printf("  Placed order %d (BUY 500 @ 148.00)%n", toCancel.getOrderId());
         System.out.printf("  Total resting orders: %d%n", book.totalOrderCount());
@@ -103,7 +104,7 @@ public class OrderBookApp {
     private static void scenario5_modifyOrder() {
         section("Scenario 5: Modify order (cancel + replace, loses time priority)");
 
-        Order original = Order.limitOrder(Side.SELL, new BigDecimal("153.00"), 100);
+        Order original = Order.limitOrder(Side.SELL, new BigDecimal("153.00"), 100, TICK);
         book.placeOrder(original);
         System.out.printf("  Placed order %d (SELL 100 @ 153.00)%n", original.getOrderId());
 
@@ -126,7 +127,7 @@ public class OrderBookApp {
     // ── Helpers ────────────────────────────────────────────────
 
     private static Order placeLimit(Side side, String price, long qty) {
-        Order order = Order.limitOrder(side, new BigDecimal(price), qty);
+        Order order = Order.limitOrder(side, new BigDecimal(price), qty, TICK);
         List<Trade> trades = book.placeOrder(order);
         System.out.printf("  [%d] %s LIMIT %d @ %s", order.getOrderId(), side, qty, price);
         if (!trades.isEmpty()) {
@@ -142,7 +143,9 @@ public class OrderBookApp {
         } else {
             System.out.println("  Trades:");
             for (Trade t : trades) {
-                System.out.printf("    %s%n", t);
+                System.out.printf("    Trade{id=%d, buy=%d, sell=%d, price=%s, qty=%d}%n",
+                        t.getTradeId(), t.getBuyOrderId(), t.getSellOrderId(),
+                        TICK.toPrice(t.getPrice()).toPlainString(), t.getQuantity());
             }
         }
     }
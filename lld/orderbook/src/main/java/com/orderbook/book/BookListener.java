@@ -0,0 +1,49 @@
+package com.orderbook.book;
+
+import com.orderbook.model.Side;
+
+/**
+ * Order-level (L3) mutation events for resting orders, called on the matching
+ * thread as the book changes. Pending stops are not in the book and produce
+ * no events until they activate and rest.
+ *
+ * Quantities are displayed quantities: an iceberg is added with its slice,
+ * an execution that uses the slice up removes the order, and the next slice
+ * arrives as a fresh add with the same id at the back of the queue. A modify
+ * is a delete followed by an add under the replacement's id.
+ *
+ * {@link #onBatchEnd} closes every accepted command (or expiry batch), so an
+ * implementation can publish the levels it saw change once per batch.
+ * Implementations must be quick and may read, but never mutate, the book.
+ */
+public interface BookListener {
+
+    BookListener NO_OP = new BookListener() {
+        @Override public void onOrderAdded(long orderId, Side side, long price, long quantity) { }
+        @Override public void onOrderExecuted(long orderId, Side side, long price, long quantity) { }
+        @Override public void onOrderReduced(long orderId, Side side, long price, long quantity) { }
+        @Override public void onOrderDeleted(long orderId, Side side, long price) { }
+        @Override public void onBatchEnd(long sequence) { }
+    };
+
+    void onOrderAdded(long orderId, Side side, long price, long quantity);
+
+    /**
+     * A resting order traded quantity. price is the order's own level — the
+     * print itself is there too, except in an auction uncross.
+     */
+    void onOrderExecuted(long orderId, Side side, long price, long quantity);
+
+    /**
+     * A resting order's displayed quantity shrank without a trade (self-trade
+     * decrement); it keeps its queue position. Not sent when only hidden
+     * iceberg quantity went, nor when the order went entirely — that is a delete.
+     */
+    void onOrderReduced(long orderId, Side side, long price, long quantity);
+
+    /** Cancelled, expired or replaced — not used for fills. */
+    void onOrderDeleted(long orderId, Side side, long price);
+
+    /** @param sequence the book's last applied command sequence */
+    void onBatchEnd(long sequence);
+}
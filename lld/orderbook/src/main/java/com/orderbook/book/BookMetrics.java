@@ -0,0 +1,33 @@
+package com.orderbook.book;
+
+import com.orderbook.model.Order;
+
+/**
+ * Latency and activity hook for the matching path, called on the matching thread.
+ *
+ * OrderBook only reads the clock through {@link #now()}, so the NO_OP default
+ * costs a couple of inlined empty calls and no timestamps at all.
+ */
+public interface BookMetrics {
+
+    BookMetrics NO_OP = new BookMetrics() {
+        @Override public long now() { return 0; }
+        @Override public void onExecute(Order order, int levelsTouched, long trades, long startNanos, long matchedNanos) { }
+        @Override public void onCancel(long startNanos) { }
+    };
+
+    /** Timestamp in nanoseconds for a later callback. */
+    long now();
+
+    /**
+     * A placement (or modify replacement) has finished matching and resting.
+     *
+     * @param levelsTouched price levels the order traded at
+     * @param trades        fills generated
+     * @param startNanos    before matching started
+     * @param matchedNanos  after matching, before any remainder rested
+     */
+    void onExecute(Order order, int levelsTouched, long trades, long startNanos, long matchedNanos);
+
+    void onCancel(long startNanos);
+}
@@ -3,83 +3,56 @@ package com.orderbook.book;
 import com.orderbook.model.Order;
 import com.orderbook.model.Side;
 
-import java.math.BigDecimal;
-import java.util.*;
+import java.util.List;
 
 /**
- * One side (bid or ask) of the order book.
+ * One side (bid or ask) of the order book: price levels ordered best-first.
  *
- * Bid side: TreeMap with reverseOrder → firstEntry() = highest bid.
- * Ask side: TreeMap with naturalOrder → firstEntry() = lowest ask.
+ * Implementations:
+ * - {@link TreeBookSide}   — TreeMap, O(log P), works for any price distribution.
+ * - {@link LadderBookSide} — array indexed by tick offset, O(1) for dense books.
  */
-public class BookSide {
-
-    private final Side side;
-    private final TreeMap<BigDecimal, PriceLevel> levels;
-
-    public BookSide(Side side) {
-        this.side = side;
-        // BUY: highest price first; SELL: lowest price first
-        Comparator<BigDecimal> cmp = (side == Side.BUY)
-                ? Comparator.reverseOrder()
-                : Comparator.naturalOrder();
-        this.levels = new TreeMap<>(cmp);
-    }
+public interface BookSide {
 
     /** Add an order to the appropriate price level, creating the level if needed. */
-    public void addOrder(Order order) {
-        levels.computeIfAbsent(order.getPrice(), PriceLevel::new)
-              .addOrder(order);
-    }
+    void addOrder(Order order);
 
     /** Remove a specific order from its price level. Cleans up empty levels. */
-    public boolean removeOrder(Order order) {
-        PriceLevel level = levels.get(order.getPrice());
-        if (level == null) return false;
-        boolean removed = level.removeOrder(order.getOrderId());
-        if (removed && level.isEmpty()) {
-            levels.remove(order.getPrice());
-        }
-        return removed;
-    }
+    boolean removeOrder(Order order);
 
     /** Best price level (highest bid or lowest ask). Null if side is empty. */
-    public PriceLevel bestLevel() {
-        Map.Entry<BigDecimal, PriceLevel> entry = levels.firstEntry();
-        return entry != null ? entry.getValue() : null;
-    }
+    PriceLevel bestLevel();
+
+    /** Best price on this side in ticks. {@link Order#NO_PRICE} if empty. */
+    long bestPrice();
 
-    /** Best price on this side. Null if empty. */
-    public BigDecimal bestPrice() {
-        PriceLevel best = bestLevel();
-        return best != null ? best.getPrice() : null;
-    }
+    /** The level at price, or null if nothing rests there. */
+    PriceLevel levelAt(long price);
 
     /** Remove an entire price level (called after all orders at that price are filled). */
-    public void removeLevel(BigDecimal price) {
-        levels.remove(price);
-    }
+    void removeLevel(long price);
 
     /** Number of distinct price levels. */
-    public int levelCount() {
-        return levels.size();
-    }
+    int levelCount();
+
+    boolean isEmpty();
+
+    /** Return the top N price levels, best first. */
+    List<PriceLevel> topLevels(int n);
 
-    public boolean isEmpty() {
-        return levels.isEmpty();
-    }
+    /**
+     * Copy up to prices.length of the top levels, best first, into the arrays:
+     * price, displayed quantity and order count. Returns how many were copied.
+     * Builds no list, unlike topLevels.
+     */
+    int copyTop(long[] prices, long[] quantities, int[] orders);
 
-    /** Return the top N price levels for depth-of-book display. */
-    public List<PriceLevel> topLevels(int n) {
-        List<PriceLevel> result = new ArrayList<>();
-        for (PriceLevel level : levels.values()) {
-            if (result.size() >= n) break;
-            result.add(level);
-        }
-        return result;
-    }
+    /**
+     * Quantity (hidden iceberg reserve included) resting at prices no worse
+     * than limitPrice — {@link Order#NO_PRICE} for no limit — summed best
+     * first and stopping once it reaches enough. Read-only; used for FOK.
+     */
+    long liquidityUpTo(long limitPrice, long enough);
 
-    public Side getSide() {
-        return side;
-    }
+    Side getSide();
 }
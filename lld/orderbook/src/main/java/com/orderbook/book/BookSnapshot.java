@@ -0,0 +1,286 @@
+package com.orderbook.book;
+
+import com.orderbook.model.Order;
+import com.orderbook.model.OrderType;
+import com.orderbook.model.Side;
+import com.orderbook.model.TimeInForce;
+
+import java.io.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Immutable point-in-time image of a book's resting orders and pending stops.
+ *
+ * Orders are stored as parallel primitive arrays in book order — bids best to
+ * worst, then asks — and FIFO within each level, so restoring them in array
+ * order reproduces queue priority exactly. Pending stops follow in firing
+ * order. Tagged with the last applied command sequence so recovery knows
+ * where to resume the journal. During an auction, market orders waiting for
+ * the uncross are stored ahead of their side's limit orders with no price.
+ *
+ * Only GTC and GTD orders outlive a command, so time in force is stored as
+ * the expiry alone: {@link Order#NO_EXPIRY} means GTC.
+ *
+ * Built by a {@link SnapshotCapture} from per-level copies (copyLevel), so
+ * the orders can be copied a level at a time by whichever thread is first.
+ */
+public final class BookSnapshot {
+
+    private static final int MAGIC = 0x4F425331;   // "OBS1"
+
+    private final String symbol;
+    private final long lastSequence;
+    private final long tradeSequence;
+    private final long lastTradePrice;
+    private final boolean auction;
+    private final long[] orderIds;
+    private final byte[] sides;
+    private final long[] prices;
+    private final long[] originalQty;
+    private final long[] filledQty;
+    private final long[] displayQty;
+    private final long[] visibleQty;
+    private final long[] expireAt;
+    private final long[] accounts;
+
+    // Pending stops (never partially filled while waiting)
+    private final long[] stopIds;
+    private final byte[] stopSides;
+    private final byte[] stopTypes;         // 0 = STOP, 1 = STOP_LIMIT
+    private final long[] stopTriggers;
+    private final long[] stopPrices;
+    private final long[] stopQty;
+    private final long[] stopExpireAt;
+    private final long[] stopAccounts;
+
+    private BookSnapshot(String symbol, long lastSequence, long tradeSequence, long lastTradePrice, boolean auction,
+                         int count, int stops) {
+        this.symbol = symbol;
+        this.lastSequence = lastSequence;
+        this.tradeSequence = tradeSequence;
+        this.lastTradePrice = lastTradePrice;
+        this.auction = auction;
+        this.orderIds = new long[count];
+        this.sides = new byte[count];
+        this.prices = new long[count];
+        this.originalQty = new long[count];
+        this.filledQty = new long[count];
+        this.displayQty = new long[count];
+        this.visibleQty = new long[count];
+        this.expireAt = new long[count];
+        this.accounts = new long[count];
+        this.stopIds = new long[stops];
+        this.stopSides = new byte[stops];
+        this.stopTypes = new byte[stops];
+        this.stopTriggers = new long[stops];
+        this.stopPrices = new long[stops];
+        this.stopQty = new long[stops];
+        this.stopExpireAt = new long[stops];
+        this.stopAccounts = new long[stops];
+    }
+
+    // A copied level is one row of ROW longs per order, front to back
+    static final int ROW = 11;
+    private static final int ID = 0, SIDE = 1, TYPE = 2, PRICE = 3, TRIGGER = 4, ORIGINAL = 5,
+            FILLED = 6, DISPLAY = 7, VISIBLE = 8, EXPIRE_AT = 9, ACCOUNT = 10;
+
+    /** level's orders as they stand now, in queue order. */
+    static long[] copyLevel(PriceLevel level) {
+        long[] rows = new long[level.orderCount() * ROW];
+        int r = 0;
+        for (Order o = level.peekFirst(); o != null; o = o.getNext(), r += ROW) {
+            rows[r + ID] = o.getOrderId();
+            rows[r + SIDE] = encode(o.getSide());
+            rows[r + TYPE] = o.getType() == OrderType.STOP ? 0 : 1;
+            rows[r + PRICE] = o.getPrice();
+            rows[r + TRIGGER] = o.getTriggerPrice();
+            rows[r + ORIGINAL] = o.getOriginalQty();
+            rows[r + FILLED] = o.getFilledQty();
+            rows[r + DISPLAY] = o.getDisplayQty();
+            rows[r + VISIBLE] = o.getVisibleQty();
+            rows[r + EXPIRE_AT] = o.getExpireAtMillis();
+            rows[r + ACCOUNT] = o.getAccountId();
+        }
+        return rows;
+    }
+
+    /**
+     * Build the image from copied levels in book order: resting levels (bids
+     * side, then asks) before stopsFrom, trigger levels in firing order after.
+     */
+    static BookSnapshot assemble(String symbol, long lastSequence, long tradeSequence, long lastTradePrice,
+                                 boolean auction, long[][] levels, int stopsFrom) {
+        int count = 0;
+        int stops = 0;
+        for (int k = 0; k < levels.length; k++) {
+            if (k < stopsFrom) count += levels[k].length / ROW; else stops += levels[k].length / ROW;
+        }
+        BookSnapshot snap = new BookSnapshot(symbol, lastSequence, tradeSequence, lastTradePrice, auction,
+                count, stops);
+        int i = 0;
+        for (int k = 0; k < stopsFrom; k++) {
+            long[] rows = levels[k];
+            for (int r = 0; r < rows.length; r += ROW, i++) {
+                snap.orderIds[i] = rows[r + ID];
+                snap.sides[i] = (byte) rows[r + SIDE];
+                snap.prices[i] = rows[r + PRICE];
+                snap.originalQty[i] = rows[r + ORIGINAL];
+                snap.filledQty[i] = rows[r + FILLED];
+                snap.displayQty[i] = rows[r + DISPLAY];
+                snap.visibleQty[i] = rows[r + VISIBLE];
+                snap.expireAt[i] = rows[r + EXPIRE_AT];
+                snap.accounts[i] = rows[r + ACCOUNT];
+            }
+        }
+        int j = 0;
+        for (int k = stopsFrom; k < levels.length; k++) {
+            long[] rows = levels[k];
+            for (int r = 0; r < rows.length; r += ROW, j++) {
+                snap.stopIds[j] = rows[r + ID];
+                snap.stopSides[j] = (byte) rows[r + SIDE];
+                snap.stopTypes[j] = (byte) rows[r + TYPE];
+                snap.stopTriggers[j] = rows[r + TRIGGER];
+                snap.stopPrices[j] = rows[r + PRICE];
+                snap.stopQty[j] = rows[r + ORIGINAL];
+                snap.stopExpireAt[j] = rows[r + EXPIRE_AT];
+                snap.stopAccounts[j] = rows[r + ACCOUNT];
+            }
+        }
+        return snap;
+    }
+
+    /**
+     * Resting orders restore as LIMIT — a triggered STOP_LIMIT rests exactly
+     * like one — and priceless ones as MARKET orders waiting for an uncross.
+     */
+    Order restoreOrder(int i) {
+        boolean market = prices[i] == Order.NO_PRICE;
+        Order order = Order.restore(orderIds[i], decodeSide(sides[i]), market ? OrderType.MARKET : OrderType.LIMIT,
+                prices[i], Order.NO_PRICE, originalQty[i], displayQty[i],
+                market ? TimeInForce.IOC : timeInForce(expireAt[i]), expireAt[i]);
+        if (accounts[i] != Order.NO_ACCOUNT) {
+            order.forAccount(accounts[i]);
+        }
+        if (filledQty[i] > 0) {
+            order.fill(filledQty[i]);
+        }
+        order.restoreVisibleQty(visibleQty[i]);
+        return order;
+    }
+
+    Order restoreStop(int i) {
+        Order stop = Order.restore(stopIds[i], decodeSide(stopSides[i]),
+                stopTypes[i] == 0 ? OrderType.STOP : OrderType.STOP_LIMIT,
+                stopPrices[i], stopTriggers[i], stopQty[i], 0, timeInForce(stopExpireAt[i]), stopExpireAt[i]);
+        return stopAccounts[i] != Order.NO_ACCOUNT ? stop.forAccount(stopAccounts[i]) : stop;
+    }
+
+    private static TimeInForce timeInForce(long expireAtMillis) {
+        return expireAtMillis != Order.NO_EXPIRY ? TimeInForce.GTD : TimeInForce.GTC;
+    }
+
+    // ── Encoding ───────────────────────────────────────────────
+
+    /** Binary encoding with a trailing CRC32 over everything before it. */
+    public void writeTo(OutputStream out) throws IOException {
+        CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(out, 1 << 16), new CRC32());
+        DataOutputStream data = new DataOutputStream(checked);
+        data.writeInt(MAGIC);
+        data.writeUTF(symbol);
+        data.writeLong(lastSequence);
+        data.writeLong(tradeSequence);
+        data.writeLong(lastTradePrice);
+        data.writeBoolean(auction);
+        data.writeInt(orderIds.length);
+        data.writeInt(stopIds.length);
+        for (int i = 0; i < orderIds.length; i++) {
+            data.writeLong(orderIds[i]);
+            data.writeByte(sides[i]);
+            data.writeLong(prices[i]);
+            data.writeLong(originalQty[i]);
+            data.writeLong(filledQty[i]);
+            data.writeLong(displayQty[i]);
+            data.writeLong(visibleQty[i]);
+            data.writeLong(expireAt[i]);
+            data.writeLong(accounts[i]);
+        }
+        for (int i = 0; i < stopIds.length; i++) {
+            data.writeLong(stopIds[i]);
+            data.writeByte(stopSides[i]);
+            data.writeByte(stopTypes[i]);
+            data.writeLong(stopTriggers[i]);
+            data.writeLong(stopPrices[i]);
+            data.writeLong(stopQty[i]);
+            data.writeLong(stopExpireAt[i]);
+            data.writeLong(stopAccounts[i]);
+        }
+        data.flush();
+        long crc = checked.getChecksum().getValue();
+        data.writeLong(crc);
+        data.flush();
+    }
+
+    public static BookSnapshot readFrom(InputStream in) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(in, 1 << 16), new CRC32());
+        DataInputStream data = new DataInputStream(checked);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not an order book snapshot");
+        }
+        String symbol = data.readUTF();
+        long lastSequence = data.readLong();
+        long tradeSequence = data.readLong();
+        long lastTradePrice = data.readLong();
+        boolean auction = data.readBoolean();
+        int count = data.readInt();
+        int stops = data.readInt();
+
+        BookSnapshot snap = new BookSnapshot(symbol, lastSequence, tradeSequence, lastTradePrice, auction,
+                count, stops);
+        for (int i = 0; i < count; i++) {
+            snap.orderIds[i] = data.readLong();
+            snap.sides[i] = data.readByte();
+            snap.prices[i] = data.readLong();
+            snap.originalQty[i] = data.readLong();
+            snap.filledQty[i] = data.readLong();
+            snap.displayQty[i] = data.readLong();
+            snap.visibleQty[i] = data.readLong();
+            snap.expireAt[i] = data.readLong();
+            snap.accounts[i] = data.readLong();
+        }
+        for (int i = 0; i < stops; i++) {
+            snap.stopIds[i] = data.readLong();
+            snap.stopSides[i] = data.readByte();
+            snap.stopTypes[i] = data.readByte();
+            snap.stopTriggers[i] = data.readLong();
+            snap.stopPrices[i] = data.readLong();
+            snap.stopQty[i] = data.readLong();
+            snap.stopExpireAt[i] = data.readLong();
+            snap.stopAccounts[i] = data.readLong();
+        }
+        long expected = checked.getChecksum().getValue();
+        if (data.readLong() != expected) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        return snap;
+    }
+
+    // ── Getters ────────────────────────────────────────────────
+
+    public String getSymbol()       { return symbol; }
+    public long getLastSequence()   { return lastSequence; }
+    public long getTradeSequence()  { return tradeSequence; }
+    public long getLastTradePrice() { return lastTradePrice; }
+    public boolean isAuction()      { return auction; }
+    public int orderCount()         { return orderIds.length; }
+    public int stopCount()          { return stopIds.length; }
+
+    private static byte encode(Side side) {
+        return (byte) (side == Side.BUY ? 0 : 1);
+    }
+
+    private static Side decodeSide(byte b) {
+        return b == 0 ? Side.BUY : Side.SELL;
+    }
+}
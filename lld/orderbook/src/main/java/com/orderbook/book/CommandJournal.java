@@ -0,0 +1,42 @@
+package com.orderbook.book;
+
+import com.orderbook.model.Order;
+
+/**
+ * Write-ahead hook for accepted commands. OrderBook calls it after a command
+ * passes validation and before it mutates the book, on the matching thread.
+ *
+ * record* methods should be cheap (a memory copy); commit() is the durability
+ * point and is meant to be called once per batch (group commit), not per order.
+ */
+public interface CommandJournal {
+
+    CommandJournal NO_OP = new CommandJournal() {
+        @Override public void recordPlace(Order order) { }
+        @Override public void recordCancel(long orderId) { }
+        @Override public void recordModify(long orderId, Order replacement) { }
+        @Override public void recordAmend(long orderId, long newQty) { }
+        @Override public void recordExpire(long orderId) { }
+        @Override public void recordAuctionStart() { }
+        @Override public void recordUncross() { }
+        @Override public void commit() { }
+    };
+
+    void recordPlace(Order order);
+
+    void recordCancel(long orderId);
+
+    void recordModify(long orderId, Order replacement);
+
+    /** In-place quantity reduction; newQty is the order's new remaining quantity. */
+    void recordAmend(long orderId, long newQty);
+
+    void recordExpire(long orderId);
+
+    void recordAuctionStart();
+
+    void recordUncross();
+
+    /** Make everything recorded so far durable. */
+    void commit();
+}
@@ -0,0 +1,113 @@
+package com.orderbook.book;
+
+import com.orderbook.model.Order;
+import com.orderbook.model.TimeInForce;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel for GTD expiry.
+ *
+ * Time is cut into ticks of tickMillis; an order lives in the slot of the
+ * first tick boundary at or after its expiry time (t mod slots), and a tick
+ * is processed once the clock has reached its start. So an order can expire
+ * up to one tick late, never early. Advancing the clock visits only the slots for elapsed ticks
+ * (at most one full rotation, however long the gap), and each entry in a
+ * visited slot is O(1): expire it if due, keep it if it is due a later
+ * rotation, drop it if it is no longer live. Nothing ever scans orderIndex.
+ *
+ * Cancels and fills don't touch the wheel — dead entries are dropped lazily
+ * the next time their slot comes round, so they linger at most one rotation.
+ * An entry is judged by the order's current state, so an instance recycled
+ * through ObjectPool into a different order is expired only when that order
+ * is due.
+ *
+ * {@link #pollExpired} hands out one due order at a time and keeps its place
+ * within a slot, so a session close that expires hundreds of thousands of
+ * day orders from one slot can be spread over many small batches.
+ *
+ * Owned by OrderBook; matching-thread only.
+ */
+final class ExpiryWheel {
+
+    static final long DEFAULT_TICK_MILLIS = 100;
+    static final int DEFAULT_SLOTS = 1 << 13;        // ~13.7 minute rotation at 100 ms
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private final long tickMillis;
+    private final int mask;
+    private final Order[][] slots;
+    private final int[] sizes;
+
+    private long currentTick = UNSET;   // last tick whose slot has been fully processed
+    private boolean scanning;           // slot (currentTick + 1) is partially processed
+    private int read;                   // next entry to examine in the scanning slot
+    private int write;                  // entries kept so far in the scanning slot
+
+    ExpiryWheel(long tickMillis, int slotCount) {
+        if (tickMillis <= 0 || slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Tick must be positive and slot count a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = slotCount - 1;
+        this.slots = new Order[slotCount][];
+        this.sizes = new int[slotCount];
+    }
+
+    /** Schedule a resting GTD order. Already-due orders go in the next slot to be processed. */
+    void schedule(Order order) {
+        long tick = tickOf(order);
+        if (currentTick != UNSET && tick <= currentTick) {
+            tick = currentTick + 1;
+        }
+        int slot = (int) (tick & mask);
+        Order[] entries = slots[slot];
+        if (entries == null) {
+            entries = slots[slot] = new Order[8];
+        } else if (sizes[slot] == entries.length) {
+            entries = slots[slot] = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[sizes[slot]++] = order;
+    }
+
+    /**
+     * Next live order due at or before nowMillis, removed from the wheel; null
+     * once everything due has been handed out. A later call with the same or
+     * a later time resumes exactly where this one stopped.
+     */
+    Order pollExpired(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        while (true) {
+            if (!scanning) {
+                if (currentTick == UNSET || nowTick - currentTick > slots.length) {
+                    currentTick = nowTick - slots.length;   // one rotation covers every slot
+                }
+                if (currentTick >= nowTick) return null;
+                scanning = true;
+                read = 0;
+                write = 0;
+            }
+
+            int slot = (int) ((currentTick + 1) & mask);
+            Order[] entries = slots[slot];
+            while (read < sizes[slot]) {
+                Order order = entries[read];
+                entries[read++] = null;
+                if (!order.isActive()) continue;             // cancelled or filled since scheduling
+                if (order.getTimeInForce() != TimeInForce.GTD) continue;    // recycled into a non-GTD order
+                if (tickOf(order) <= nowTick) {
+                    return order;
+                }
+                entries[write++] = order;                   // due on a later rotation
+            }
+            sizes[slot] = write;
+            scanning = false;
+            currentTick++;
+        }
+    }
+
+    /** Ceiling: the first tick that starts at or after the order's expiry time. */
+    private long tickOf(Order order) {
+        return -Math.floorDiv(-order.getExpireAtMillis(), tickMillis);
+    }
+}
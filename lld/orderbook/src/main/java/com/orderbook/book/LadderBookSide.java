@@ -0,0 +1,297 @@
+package com.orderbook.book;
+
+import com.orderbook.model.Order;
+import com.orderbook.model.Side;
+
+import java.util.*;
+
+/**
+ * Array-backed BookSide for dense-tick instruments.
+ *
+ * ladder[i] holds the level at price (anchor + i) ticks, so level access is an
+ * index computation instead of a tree walk. bestIndex tracks the best occupied
+ * slot (highest for bids, lowest for asks); when that level empties we scan
+ * outward to the next occupied slot, which for a liquid book is a few slots.
+ *
+ * Prices outside the window fall back to a TreeMap ("overflow"). The window
+ * follows the touch: a new level that is better than the current best and
+ * outside the window — a trending market — slides the window so that price
+ * sits a quarter of the way in from the better edge. Levels the window leaves
+ * behind (the worst ones) move to the overflow map and overflow levels it now
+ * covers move into the array. An add into an empty ladder does the same, so
+ * a book that has moved away the other way comes back onto the array with
+ * its next new level. A slide is O(capacity) and leaves capacity / 4 ticks
+ * of headroom, so it costs O(1) amortized per tick the price moves.
+ *
+ * The market can also move away from the touch: a stale best order keeps the
+ * window where it is while every new level lands past the worse edge, in the
+ * overflow map. So levels past the worse edge are counted, and once there are
+ * at least capacity / 8 of them while the window holds fewer than that, the
+ * next such level slides the window to itself the same way; the stale best
+ * then lives in the overflow map instead. A book deeper than the window but
+ * dense inside it never trips this.
+ *
+ * Invariant: a price inside the window never lives in the overflow map.
+ */
+public class LadderBookSide implements BookSide {
+
+    private final Side side;
+    private PriceLevel[] ladder;
+    private PriceLevel[] spare;     // same size; the target of a slide, then swapped in
+    private final TreeMap<Long, PriceLevel> overflow = new TreeMap<>();   // natural price order
+    private long anchor;            // price in ticks of ladder[0]
+    private int bestIndex = -1;     // -1 when the ladder holds no levels
+    private int ladderLevels;
+    private int worseOverflow;      // overflow levels past the worse edge of the window
+
+    public LadderBookSide(Side side, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ladder capacity must be positive");
+        }
+        this.side = side;
+        this.ladder = new PriceLevel[capacity];
+        this.spare = new PriceLevel[capacity];
+    }
+
+    @Override
+    public void addOrder(Order order) {
+        long price = order.getPrice();
+        PriceLevel level = levelAt(price);
+        if (level == null) {
+            level = createLevel(price);
+        }
+        level.addOrder(order);
+    }
+
+    @Override
+    public boolean removeOrder(Order order) {
+        PriceLevel level = order.getLevel();
+        if (level == null || !level.removeOrder(order)) return false;
+        if (level.isEmpty()) {
+            removeLevel(order.getPrice());
+        }
+        return true;
+    }
+
+    @Override
+    public PriceLevel bestLevel() {
+        PriceLevel near = bestIndex >= 0 ? ladder[bestIndex] : null;
+        if (overflow.isEmpty()) return near;
+
+        PriceLevel far = (side == Side.BUY ? overflow.lastEntry() : overflow.firstEntry()).getValue();
+        if (near == null) return far;
+        return isBetter(far.getPrice(), near.getPrice()) ? far : near;
+    }
+
+    @Override
+    public long bestPrice() {
+        PriceLevel best = bestLevel();
+        return best != null ? best.getPrice() : Order.NO_PRICE;
+    }
+
+    @Override
+    public PriceLevel levelAt(long price) {
+        int idx = indexOf(price);
+        if (idx >= 0) return ladder[idx];
+        return overflow.isEmpty() ? null : overflow.get(price);
+    }
+
+    @Override
+    public void removeLevel(long price) {
+        int idx = indexOf(price);
+        if (idx < 0) {
+            if (overflow.remove(price) != null && pastWorseEdge(price)) {
+                worseOverflow--;
+            }
+            return;
+        }
+        if (ladder[idx] == null) return;
+
+        ladder[idx] = null;
+        ladderLevels--;
+        if (idx == bestIndex) {
+            bestIndex = nextOccupied(idx);
+        }
+    }
+
+    @Override
+    public int levelCount() {
+        return ladderLevels + overflow.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return levelCount() == 0;
+    }
+
+    @Override
+    public List<PriceLevel> topLevels(int n) {
+        List<PriceLevel> result = new ArrayList<>();
+        LevelWalk walk = new LevelWalk();
+        PriceLevel level;
+        while (result.size() < n && (level = walk.next()) != null) {
+            result.add(level);
+        }
+        return result;
+    }
+
+    @Override
+    public int copyTop(long[] prices, long[] quantities, int[] orders) {
+        int n = 0;
+        if (overflow.isEmpty()) {
+            // Only the array to walk: no LevelWalk
+            for (int i = bestIndex; i >= 0 && n < prices.length; i = nextOccupied(i)) {
+                copyInto(ladder[i], n++, prices, quantities, orders);
+            }
+            return n;
+        }
+        LevelWalk walk = new LevelWalk();
+        PriceLevel level;
+        while (n < prices.length && (level = walk.next()) != null) {
+            copyInto(level, n++, prices, quantities, orders);
+        }
+        return n;
+    }
+
+    private static void copyInto(PriceLevel level, int i, long[] prices, long[] quantities, int[] orders) {
+        prices[i] = level.getPrice();
+        quantities[i] = level.totalQuantity();
+        orders[i] = level.orderCount();
+    }
+
+    @Override
+    public long liquidityUpTo(long limitPrice, long enough) {
+        long total = 0;
+        LevelWalk walk = new LevelWalk();
+        PriceLevel level;
+        while (total < enough && (level = walk.next()) != null) {
+            if (limitPrice != Order.NO_PRICE && isBetter(limitPrice, level.getPrice())) break;
+            total += level.totalQuantity() + level.hiddenQuantity();
+        }
+        return total;
+    }
+
+    @Override
+    public Side getSide() {
+        return side;
+    }
+
+    // ── Internals ──────────────────────────────────────────────
+
+    private PriceLevel createLevel(long price) {
+        if (indexOf(price) < 0
+                && (ladderLevels == 0 || isBetter(price, anchor + bestIndex) || strandedPastWorseEdge())) {
+            slideTo(price);
+        }
+        PriceLevel level = new PriceLevel(price);
+        int idx = indexOf(price);
+        if (idx >= 0) {
+            occupy(idx, level);
+        } else {
+            overflow.put(price, level);
+            if (pastWorseEdge(price)) worseOverflow++;
+        }
+        return level;
+    }
+
+    /** Whether most of the book has moved on past the worse edge, away from the touch. */
+    private boolean strandedPastWorseEdge() {
+        int threshold = Math.max(1, ladder.length / 8);
+        return worseOverflow >= threshold && ladderLevels < threshold;
+    }
+
+    /**
+     * Move the window so that price is a quarter of it in from the better edge,
+     * spilling levels that fall outside into the overflow map and migrating
+     * overflow levels that now fit. Recounting the levels past the worse edge
+     * walks them, on top of the O(capacity).
+     */
+    private void slideTo(long price) {
+        int headroom = ladder.length / 4;
+        long newAnchor = (side == Side.BUY) ? price - (ladder.length - 1 - headroom) : price - headroom;
+
+        if (ladderLevels > 0) {
+            for (int i = 0; i < ladder.length; i++) {
+                PriceLevel level = ladder[i];
+                if (level == null) continue;
+                ladder[i] = null;
+                long offset = level.getPrice() - newAnchor;
+                if (offset >= 0 && offset < ladder.length) {
+                    spare[(int) offset] = level;
+                } else {
+                    overflow.put(level.getPrice(), level);
+                }
+            }
+            PriceLevel[] cleared = ladder;
+            ladder = spare;
+            spare = cleared;
+        }
+        anchor = newAnchor;
+        ladderLevels = 0;
+        bestIndex = -1;
+        for (int i = 0; i < ladder.length; i++) {
+            if (ladder[i] != null) occupy(i, ladder[i]);
+        }
+
+        SortedMap<Long, PriceLevel> inWindow = overflow.subMap(anchor, anchor + ladder.length);
+        for (PriceLevel level : inWindow.values()) {
+            occupy((int) (level.getPrice() - anchor), level);
+        }
+        inWindow.clear();
+        worseOverflow = (side == Side.BUY ? overflow.headMap(anchor) : overflow.tailMap(anchor + ladder.length))
+                .size();
+    }
+
+    private void occupy(int idx, PriceLevel level) {
+        ladder[idx] = level;
+        ladderLevels++;
+        if (bestIndex < 0 || isBetter(anchor + idx, anchor + bestIndex)) {
+            bestIndex = idx;
+        }
+    }
+
+    /** Next occupied slot after idx in best-to-worst direction, or -1. */
+    private int nextOccupied(int idx) {
+        if (ladderLevels == 0) return -1;
+        int step = (side == Side.BUY) ? -1 : 1;
+        for (int i = idx + step; i >= 0 && i < ladder.length; i += step) {
+            if (ladder[i] != null) return i;
+        }
+        return -1;
+    }
+
+    private boolean pastWorseEdge(long price) {
+        return side == Side.BUY ? price < anchor : price >= anchor + ladder.length;
+    }
+
+    private int indexOf(long price) {
+        long offset = price - anchor;
+        return (offset >= 0 && offset < ladder.length) ? (int) offset : -1;
+    }
+
+    /** True if price a is strictly better than b for this side. */
+    private boolean isBetter(long a, long b) {
+        return side == Side.BUY ? a > b : a < b;
+    }
+
+    /** Best-to-worst walk over the array from bestIndex, merging in overflow levels in price order. */
+    private final class LevelWalk {
+        private final Iterator<PriceLevel> farLevels = (side == Side.BUY ? overflow.descendingMap() : overflow)
+                .values().iterator();
+        private PriceLevel far = farLevels.hasNext() ? farLevels.next() : null;
+        private int i = bestIndex;
+
+        PriceLevel next() {
+            PriceLevel near = i >= 0 ? ladder[i] : null;
+            if (near == null && far == null) return null;
+
+            if (far == null || (near != null && isBetter(near.getPrice(), far.getPrice()))) {
+                i = nextOccupied(i);
+                return near;
+            }
+            PriceLevel result = far;
+            far = farLevels.hasNext() ? farLevels.next() : null;
+            return result;
+        }
+    }
+}
@@ -1,72 +1,374 @@
 package com.orderbook.book;
 
 import com.orderbook.engine.MatchingEngine;
+import com.orderbook.engine.TradeListener;
 import com.orderbook.exception.InvalidOrderException;
 import com.orderbook.exception.OrderNotFoundException;
 import com.orderbook.model.*;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Central order book facade for a single symbol.
  *
  * Manages bid/ask sides, an order index for O(1) lookups,
  * and delegates matching to the stateless MatchingEngine.
+ *
+ * With {@link ObjectPool} enabled, orders the book took in are recycled as
+ * they leave it (filled, cancelled, expired, replaced); an order that is
+ * inactive when placeOrder returns is left for the caller to recycle.
+ *
+ * Everything below this facade works in long ticks. The BigDecimal
+ * overloads here are the API edge and convert via the symbol's TickSize.
  */
 public class OrderBook {
 
     private final String symbol;
-    private final BookSide bids = new BookSide(Side.BUY);
-    private final BookSide asks = new BookSide(Side.SELL);
-    private final Map<Long, Order> orderIndex = new HashMap<>();
+    private final TickSize tickSize;
+    private final BookSide bids;
+    private final BookSide asks;
+    private final OrderIndex orderIndex = new OrderIndex();          // resting orders only
+    private final TriggerBook triggers = new TriggerBook();          // pending stops
+    private final ExpiryWheel expiries = new ExpiryWheel(ExpiryWheel.DEFAULT_TICK_MILLIS, ExpiryWheel.DEFAULT_SLOTS);
+    private final PriceLevel auctionBuys = new PriceLevel(Order.NO_PRICE);     // market orders waiting for uncross
+    private final PriceLevel auctionSells = new PriceLevel(Order.NO_PRICE);
     private final MatchingEngine engine = new MatchingEngine();
+    private CommandJournal journal = CommandJournal.NO_OP;
+    private BookMetrics metrics = BookMetrics.NO_OP;
+    private BookListener bookEvents = BookListener.NO_OP;
+    private RiskCheck risk = RiskCheck.NO_OP;
+    private long lastSequence;      // accepted commands applied — matches the journal sequence
+    private boolean auction;        // call phase: orders accumulate, nothing matches until uncross
+    private long tradedLow = Long.MAX_VALUE;    // price range traded since triggers were last checked
+    private long tradedHigh = Long.MIN_VALUE;
+    private SnapshotCapture capture;            // the latest snapshot begun, possibly still being copied
 
     public OrderBook(String symbol) {
+        this(symbol, TickSize.CENT);
+    }
+
+    public OrderBook(String symbol, TickSize tickSize) {
+        this(symbol, tickSize, new TreeBookSide(Side.BUY), new TreeBookSide(Side.SELL));
+    }
+
+    private OrderBook(String symbol, TickSize tickSize, BookSide bids, BookSide asks) {
         this.symbol = symbol;
+        this.tickSize = tickSize;
+        this.bids = bids;
+        this.asks = asks;
+    }
+
+    /**
+     * Book backed by array price ladders of ladderLevels ticks per side.
+     * Use for liquid symbols trading in a tight range; sparse books should
+     * stay on the TreeMap default.
+     */
+    public static OrderBook withPriceLadder(String symbol, TickSize tickSize, int ladderLevels) {
+        return new OrderBook(symbol, tickSize,
+                new LadderBookSide(Side.BUY, ladderLevels),
+                new LadderBookSide(Side.SELL, ladderLevels));
+    }
+
+    /**
+     * Pre-size the order index for expectedOrders resting orders, so that it
+     * never rehashes during the session. Call before trading starts.
+     */
+    public void ensureOrderCapacity(int expectedOrders) {
+        orderIndex.ensureCapacity(expectedOrders);
     }
 
     // ── Place ──────────────────────────────────────────────────
 
     public List<Trade> placeOrder(Order order) {
+        List<Trade> trades = new ArrayList<>();
+        placeOrder(order, TradeListener.collectingInto(trades));
+        return trades;
+    }
+
+    /** Allocation-free form: fills are reported to the listener instead of returned. */
+    public void placeOrder(Order order, TradeListener listener) {
+        checkNew(order);
+        if (auction && (order.getTimeInForce() == TimeInForce.FOK
+                || (order.getTimeInForce() == TimeInForce.IOC && order.getType() != OrderType.MARKET))) {
+            throw new InvalidOrderException("IOC and FOK limit orders are not accepted during an auction");
+        }
+        risk.check(order, null, this);
+        journal.recordPlace(order);
+        risk.onAccept(order);
+        lastSequence++;
+        execute(order, listener);
+        bookEvents.onBatchEnd(lastSequence);
+    }
+
+    /**
+     * Everything that would make execute throw, checked before the command is
+     * journaled: a record that fails on replay would shift every later sequence.
+     */
+    private void checkNew(Order order) {
         if (!order.isActive()) {
             throw new InvalidOrderException("Cannot place an inactive order");
         }
+        if (orderIndex.containsKey(order.getOrderId()) || triggers.get(order.getOrderId()) != null) {
+            throw new InvalidOrderException("Order " + order.getOrderId() + " is already in the book");
+        }
+        if (order.getLevel() != null) {
+            throw new InvalidOrderException("Order " + order.getOrderId() + " is already resting in a book");
+        }
+    }
+
+    /**
+     * Park an untriggered stop, or match the order; then release any stops its
+     * trades fired. Activations run after the aggressor has finished, one at a
+     * time, until the cascade settles — never from inside the matching loop.
+     *
+     * A GTD order still live here (parked or resting) joins the expiry wheel
+     * once; a parked stop keeps that entry when it is later released.
+     */
+    private void execute(Order order, TradeListener listener) {
+        if (order.isStop() && !TriggerBook.isTriggeredBy(order, engine.getLastTradePrice())) {
+            triggers.add(order);
+        } else {
+            match(order, listener);
+        }
+        if (order.isActive() && order.getTimeInForce() == TimeInForce.GTD) {
+            expiries.schedule(order);
+        }
+        if (tradedLow <= tradedHigh) {
+            fireTriggers(listener);
+        }
+    }
 
+    private void match(Order order, TradeListener listener) {
         BookSide sameSide = (order.getSide() == Side.BUY) ? bids : asks;
         BookSide oppositeSide = (order.getSide() == Side.BUY) ? asks : bids;
 
+        if (auction) {
+            long start = metrics.now();
+            rest(order, sameSide);
+            metrics.onExecute(order, 0, 0, start, start);
+            return;
+        }
+
+        // With stops pending, remember the touch: a sweep's first fill is there, its last at lastTradePrice
+        boolean watchTriggers = !triggers.isEmpty();
+        long touch = watchTriggers ? oppositeSide.bestPrice() : Order.NO_PRICE;
+
+        long start = metrics.now();
+        if (order.getTimeInForce() == TimeInForce.FOK && !engine.canFillCompletely(order, oppositeSide)) {
+            // Killed before touching the book — no partial fills, nothing to undo
+            order.cancel();
+            metrics.onExecute(order, 0, 0, start, start);
+            return;
+        }
+        long tradesBefore = engine.getTradeSequence();
+
         // Match against opposite side
-        List<Trade> trades = engine.match(order, oppositeSide, orderIndex);
+        int levelsTouched = engine.match(order, oppositeSide, orderIndex, listener, bookEvents);
+        long matched = metrics.now();
+
+        long trades = engine.getTradeSequence() - tradesBefore;
+        if (watchTriggers && trades > 0) {
+            long last = engine.getLastTradePrice();
+            tradedLow = Math.min(tradedLow, Math.min(touch, last));
+            tradedHigh = Math.max(tradedHigh, Math.max(touch, last));
+        }
 
-        // Rest any remaining quantity (limit orders only)
+        // Rest any remaining quantity (limit-priced GTC/GTD orders only)
         if (order.isActive()) {
-            if (order.getType() == OrderType.LIMIT) {
-                sameSide.addOrder(order);
-                orderIndex.put(order.getOrderId(), order);
+            if (order.hasLimitPrice() && order.getTimeInForce().canRest()) {
+                rest(order, sameSide);
             } else {
-                // Market orders never rest — cancel unfilled remainder (IOC semantics)
+                // Market and IOC orders never rest — cancel the unfilled remainder
                 order.cancel();
             }
         }
+        metrics.onExecute(order, levelsTouched, trades, start, matched);
+    }
+
+    /** Add to the book; during an auction, market orders wait beside it for the uncross. */
+    private void rest(Order order, BookSide sameSide) {
+        orderIndex.put(order.getOrderId(), order);
+        if (!order.hasLimitPrice()) {
+            (order.getSide() == Side.BUY ? auctionBuys : auctionSells).addOrder(order);
+            return;
+        }
+        if (order.isIceberg()) {
+            order.replenish();
+        }
+        sameSide.addOrder(order);
+        bookEvents.onOrderAdded(order.getOrderId(), order.getSide(), order.getPrice(), order.getVisibleQty());
+    }
 
-        return trades;
+    private void fireTriggers(TradeListener listener) {
+        while (tradedLow <= tradedHigh) {
+            long low = tradedLow;
+            long high = tradedHigh;
+            tradedLow = Long.MAX_VALUE;
+            tradedHigh = Long.MIN_VALUE;
+            // Stops released here may trade and widen the range again — handled on the next pass
+            Order stop;
+            while ((stop = triggers.pollTriggered(low, high)) != null) {
+                match(stop, listener);
+                if (!stop.isActive()) {
+                    stop.recycle();     // the book took ownership when it parked the stop
+                }
+            }
+        }
     }
 
     // ── Cancel ─────────────────────────────────────────────────
 
+    /** Cancels a resting order or a pending stop. */
     public void cancelOrder(long orderId) {
         Order order = orderIndex.get(orderId);
+        if (order == null) {
+            order = triggers.get(orderId);
+        }
         if (order == null) {
             throw new OrderNotFoundException(orderId);
         }
+        journal.recordCancel(orderId);
+        lastSequence++;
+        long start = metrics.now();
+        detach(order);
+        order.cancel();
+        order.recycle();
+        metrics.onCancel(start);
+        bookEvents.onBatchEnd(lastSequence);
+    }
 
+    /** Take a resting order or pending stop out of the book; the caller sets its final status. */
+    private void detach(Order order) {
+        if (triggers.remove(order)) return;
+        if (!order.hasLimitPrice()) {
+            // Market order waiting for an uncross
+            order.getLevel().removeOrder(order);
+            orderIndex.remove(order.getOrderId());
+            return;
+        }
         BookSide side = (order.getSide() == Side.BUY) ? bids : asks;
         side.removeOrder(order);
-        orderIndex.remove(orderId);
-        order.cancel();
+        orderIndex.remove(order.getOrderId());
+        bookEvents.onOrderDeleted(order.getOrderId(), order.getSide(), order.getPrice());
+    }
+
+    // ── Call auction ───────────────────────────────────────────
+
+    /**
+     * Enter the call phase (opening / closing auction). Orders accumulate —
+     * limit orders rest even if they cross, market orders wait beside the book
+     * — and nothing matches until {@link #uncross}. Cancels, modifies and
+     * expiry work as usual; IOC and FOK limit orders are rejected.
+     */
+    public void startAuction() {
+        if (auction) {
+            throw new IllegalStateException(symbol + " is already in an auction");
+        }
+        journal.recordAuctionStart();
+        lastSequence++;
+        auction = true;
+        bookEvents.onBatchEnd(lastSequence);
+    }
+
+    public boolean isInAuction() {
+        return auction;
+    }
+
+    /**
+     * Price the book would uncross at now, in ticks — the indicative price
+     * exchanges publish during the call phase. {@link Order#NO_PRICE} if
+     * nothing would trade. O(levels).
+     */
+    public long getIndicativePriceTicks() {
+        return MatchingEngine.equilibriumPrice(bids, asks, auctionBuys.totalQuantity(), auctionSells.totalQuantity(),
+                engine.getLastTradePrice());
+    }
+
+    public List<Trade> uncross() {
+        List<Trade> trades = new ArrayList<>();
+        uncross(TradeListener.collectingInto(trades));
+        return trades;
+    }
+
+    /**
+     * End the call phase: execute everything that crosses at the single
+     * equilibrium price, cancel unfilled market orders, and return to
+     * continuous matching. Stops fired by the uncross price are released
+     * afterwards, as after any other command.
+     */
+    public void uncross(TradeListener listener) {
+        if (!auction) {
+            throw new IllegalStateException(symbol + " is not in an auction");
+        }
+        journal.recordUncross();
+        lastSequence++;
+        auction = false;
+
+        long price = getIndicativePriceTicks();
+        if (price != Order.NO_PRICE
+                && engine.uncross(bids, asks, auctionBuys, auctionSells, price, orderIndex, listener, bookEvents) > 0
+                && !triggers.isEmpty()) {
+            tradedLow = Math.min(tradedLow, price);
+            tradedHigh = Math.max(tradedHigh, price);
+        }
+        for (PriceLevel waiting : new PriceLevel[] { auctionBuys, auctionSells }) {
+            Order order;
+            while ((order = waiting.peekFirst()) != null) {
+                waiting.removeFirst();
+                orderIndex.remove(order.getOrderId());
+                order.cancel();
+                order.recycle();
+            }
+        }
+        if (tradedLow <= tradedHigh) {
+            fireTriggers(listener);
+        }
+        bookEvents.onBatchEnd(lastSequence);
+    }
+
+    // ── Expiry (GTD) ───────────────────────────────────────────
+
+    public int expireOrders(long nowMillis) {
+        return expireOrders(nowMillis, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Expire GTD orders (resting or pending stops) due at or before nowMillis,
+     * at most maxOrders of them, so a session close can be spread over several
+     * batches between other commands. Returns the number expired; fewer than
+     * maxOrders means nothing else is due. Each expiry is a journaled command.
+     */
+    public int expireOrders(long nowMillis, int maxOrders) {
+        int expired = 0;
+        Order order;
+        while (expired < maxOrders && (order = expiries.pollExpired(nowMillis)) != null) {
+            if (orderIndex.get(order.getOrderId()) != order && triggers.get(order.getOrderId()) != order) {
+                continue;   // no longer in this book
+            }
+            expire(order);
+            expired++;
+        }
+        if (expired > 0) {
+            bookEvents.onBatchEnd(lastSequence);
+        }
+        return expired;
+    }
+
+    /** Expire one order by id — how journal replay applies a recorded expiry. */
+    public void expireOrder(long orderId) {
+        expire(getOrder(orderId));
+        bookEvents.onBatchEnd(lastSequence);
+    }
+
+    private void expire(Order order) {
+        journal.recordExpire(order.getOrderId());
+        lastSequence++;
+        detach(order);
+        order.expire();
+        order.recycle();
     }
 
     // ── Modify (cancel + replace) ──────────────────────────────
@@ -76,40 +378,318 @@ public class OrderBook {
      * This is the industry standard at NYSE, Nasdaq, CME.
      */
     public List<Trade> modifyOrder(long orderId, BigDecimal newPrice, long newQty) {
-        Order existing = orderIndex.get(orderId);
-        if (existing == null) {
-            throw new OrderNotFoundException(orderId);
+        return modifyOrder(orderId, tickSize.toTicks(newPrice), newQty);
+    }
+
+    /**
+     * Keeps an iceberg's display size (unless the new quantity no longer needs
+     * hiding), a GTD order's expiry and the account.
+     */
+    public List<Trade> modifyOrder(long orderId, long newPriceTicks, long newQty) {
+        List<Trade> trades = new ArrayList<>();
+        modifyOrder(orderId, newPriceTicks, newQty, TradeListener.collectingInto(trades));
+        return trades;
+    }
+
+    /**
+     * Allocation-free form. Returns the replacement, which is the caller's to
+     * recycle if it is inactive, as after placeOrder; a rejected replacement
+     * never leaves the book.
+     */
+    public Order modifyOrder(long orderId, long newPriceTicks, long newQty, TradeListener listener) {
+        Order existing = getOrder(orderId);
+        Order replacement;
+        if (existing.isIceberg() && existing.getDisplayQty() < newQty) {
+            replacement = Order.icebergOrder(existing.getSide(), newPriceTicks, newQty, existing.getDisplayQty());
+        } else if (existing.getTimeInForce() == TimeInForce.GTD) {
+            replacement = Order.goodTillDate(existing.getSide(), newPriceTicks, newQty, existing.getExpireAtMillis());
+        } else {
+            replacement = Order.limitOrder(existing.getSide(), newPriceTicks, newQty);
         }
+        if (existing.getAccountId() != Order.NO_ACCOUNT) {
+            replacement.forAccount(existing.getAccountId());
+        }
+        try {
+            modifyOrder(orderId, replacement, listener);
+        } catch (RuntimeException e) {
+            replacement.recycle();
+            throw e;
+        }
+        return replacement;
+    }
+
+    /** Cancel + replace with a caller-built replacement, so the caller keeps its new id. */
+    public List<Trade> modifyOrder(long orderId, Order replacement) {
+        List<Trade> trades = new ArrayList<>();
+        modifyOrder(orderId, replacement, TradeListener.collectingInto(trades));
+        return trades;
+    }
+
+    public void modifyOrder(long orderId, Order replacement, TradeListener listener) {
+        Order existing = getOrder(orderId);
+        if (!orderIndex.containsKey(orderId)) {
+            throw new InvalidOrderException("Pending stop " + orderId + " cannot be modified; cancel and re-enter");
+        }
+        if (!existing.hasLimitPrice()) {
+            throw new InvalidOrderException("Market order " + orderId + " cannot be modified; cancel and re-enter");
+        }
+        if (replacement.getType() != OrderType.LIMIT) {
+            throw new InvalidOrderException("Replacement for order " + orderId + " must be a limit order");
+        }
+        if (replacement.getSide() != existing.getSide()) {
+            throw new InvalidOrderException("Replacement must be on the same side as order " + orderId);
+        }
+        // The journal's MODIFY record doesn't carry these; replay takes them from the original
+        if (replacement.getTimeInForce() != existing.getTimeInForce()
+                || replacement.getExpireAtMillis() != existing.getExpireAtMillis()) {
+            throw new InvalidOrderException("Replacement must keep the time in force of order " + orderId);
+        }
+        if (replacement.getAccountId() != existing.getAccountId()) {
+            throw new InvalidOrderException("Replacement must keep the account of order " + orderId);
+        }
+        checkNew(replacement);
+        risk.check(replacement, existing, this);
+        journal.recordModify(orderId, replacement);
+        risk.onAccept(replacement);
+        lastSequence++;
 
         // Cancel existing
-        cancelOrder(orderId);
+        detach(existing);
+        existing.cancel();
+        existing.recycle();
 
         // Place replacement
-        Order replacement = Order.limitOrder(existing.getSide(), newPrice, newQty);
-        return placeOrder(replacement);
+        execute(replacement, listener);
+        bookEvents.onBatchEnd(lastSequence);
+    }
+
+    // ── Amend (in place) ───────────────────────────────────────
+
+    /**
+     * Reduce a resting order's open quantity to newQty, in place: it keeps its
+     * id and its position in the queue, and nothing is allocated or re-indexed.
+     * An iceberg gives up hidden quantity before its displayed slice. Only
+     * decreases qualify (0 < newQty < remaining) — an increase or a price
+     * change would jump the queue, so those go through {@link #modifyOrder}.
+     */
+    public void amendOrder(long orderId, long newQty) {
+        Order order = orderIndex.get(orderId);
+        if (order == null) {
+            if (triggers.get(orderId) != null) {
+                throw new InvalidOrderException("Pending stop " + orderId + " cannot be amended; cancel and re-enter");
+            }
+            throw new OrderNotFoundException(orderId);
+        }
+        if (!order.hasLimitPrice()) {
+            throw new InvalidOrderException("Market order " + orderId + " cannot be amended; cancel and re-enter");
+        }
+        if (newQty <= 0) {
+            throw new InvalidOrderException("Amended quantity must be positive; cancel order " + orderId + " instead");
+        }
+        if (newQty >= order.getRemainingQty()) {
+            throw new InvalidOrderException("Amend can only reduce order " + orderId + " below its remaining "
+                    + order.getRemainingQty() + "; use modifyOrder");
+        }
+        journal.recordAmend(orderId, newQty);
+        lastSequence++;
+
+        long shown = order.getLevel().reduce(order, order.getRemainingQty() - newQty);
+        if (shown > 0) {
+            bookEvents.onOrderReduced(orderId, order.getSide(), order.getPrice(), shown);
+        }
+        bookEvents.onBatchEnd(lastSequence);
+    }
+
+    // ── Self-trade prevention ──────────────────────────────────
+
+    /**
+     * What happens when an order would trade with a resting order of its own
+     * account (see {@link Order#forAccount}). NONE by default. Applied inline
+     * as the engine walks each level, so it costs one comparison per fill.
+     * Not journaled, like the tick size: configure a recovering book the
+     * same way before replay. An auction uncross ignores it.
+     */
+    public void setSelfTradePrevention(SelfTradePrevention mode) {
+        engine.setSelfTradePrevention(mode);
+    }
+
+    public SelfTradePrevention getSelfTradePrevention() {
+        return engine.getSelfTradePrevention();
+    }
+
+    // ── Journal ────────────────────────────────────────────────
+
+    /**
+     * Attach a write-ahead journal. Every accepted place/cancel/modify/expire is
+     * recorded before it is applied. Attach after replay, not before.
+     */
+    public void setJournal(CommandJournal journal) {
+        this.journal = journal;
+    }
+
+    public CommandJournal getJournal() {
+        return journal;
+    }
+
+    /** Sequence number of the last accepted command applied to this book. */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    // ── Pre-trade risk ─────────────────────────────────────────
+
+    /**
+     * Attach a pre-trade check, e.g. a risk.PreTradeRisk. NO_OP by default.
+     * Every new order and modify replacement passes through it before it is
+     * journaled. Attach after replay, like the journal — replay re-applies
+     * commands that were accepted under the limits of the time. The check
+     * is shown the orders already working through onAttach.
+     */
+    public void setRiskCheck(RiskCheck risk) {
+        this.risk = risk;
+        risk.onAttach(this);
+    }
+
+    public RiskCheck getRiskCheck() {
+        return risk;
+    }
+
+    /** Visit every working order: resting, waiting for an uncross, or a pending stop. */
+    public void forEachWorkingOrder(Consumer<Order> action) {
+        orderIndex.forEach(action);
+        triggers.forEach(action);
+    }
+
+    // ── Metrics ────────────────────────────────────────────────
+
+    /** Attach latency/activity recording, e.g. a MatchingMetrics. NO_OP by default. */
+    public void setMetrics(BookMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public BookMetrics getMetrics() {
+        return metrics;
+    }
+
+    // ── Market data ────────────────────────────────────────────
+
+    /** Attach an order-level event sink, e.g. a MarketDataPublisher. NO_OP by default. */
+    public void setBookListener(BookListener listener) {
+        this.bookEvents = listener;
+    }
+
+    public BookListener getBookListener() {
+        return bookEvents;
+    }
+
+    // ── Snapshots ──────────────────────────────────────────────
+
+    /**
+     * Start a snapshot consistent as of getLastSequence(), copied on write:
+     * this lists the price levels (O(levels), no orders copied) and returns.
+     * Hand the capture to another thread and call {@link SnapshotCapture#complete}
+     * there; meanwhile a level is copied here only when a command is about to
+     * change it first. Matching thread, between commands.
+     *
+     * A capture still being copied when the next one begins is finished here
+     * first, so keep snapshots further apart than it takes to write one.
+     */
+    public SnapshotCapture beginSnapshot() {
+        if (capture != null && !capture.isCopied()) {
+            capture.copyAll();
+        }
+        List<PriceLevel> levels = new ArrayList<>();
+        levels.add(auctionBuys);
+        levels.addAll(bids.topLevels(Integer.MAX_VALUE));
+        levels.add(auctionSells);
+        levels.addAll(asks.topLevels(Integer.MAX_VALUE));
+        int stopsFrom = levels.size();
+        for (Side side : Side.values()) {
+            for (PriceLevel level : triggers.levelsInFiringOrder(side)) {
+                levels.add(level);
+            }
+        }
+        capture = new SnapshotCapture(symbol, lastSequence, engine.getTradeSequence(), engine.getLastTradePrice(),
+                auction, levels.toArray(new PriceLevel[0]), stopsFrom);
+        return capture;
+    }
+
+    /**
+     * Copy resting state into a compact primitive image right now, on this
+     * thread: O(resting orders). For tools and tests; a running book should
+     * use {@link #beginSnapshot} and complete it elsewhere.
+     */
+    public BookSnapshot captureSnapshot() {
+        return beginSnapshot().complete();
+    }
+
+    /** Load a snapshot into this (empty) book, preserving FIFO order and fill state. */
+    public void restoreSnapshot(BookSnapshot snapshot) {
+        if (!orderIndex.isEmpty() || !triggers.isEmpty() || lastSequence != 0) {
+            throw new IllegalStateException("Snapshots can only be restored into an empty book");
+        }
+        if (risk != RiskCheck.NO_OP) {
+            throw new IllegalStateException("Restore the snapshot before attaching a risk check");
+        }
+        if (!snapshot.getSymbol().equals(symbol)) {
+            throw new IllegalArgumentException("Snapshot is for " + snapshot.getSymbol() + ", not " + symbol);
+        }
+        for (int i = 0; i < snapshot.orderCount(); i++) {
+            Order order = snapshot.restoreOrder(i);
+            if (order.hasLimitPrice()) {
+                BookSide side = (order.getSide() == Side.BUY) ? bids : asks;
+                side.addOrder(order);
+            } else {
+                (order.getSide() == Side.BUY ? auctionBuys : auctionSells).addOrder(order);
+            }
+            orderIndex.put(order.getOrderId(), order);
+            if (order.getTimeInForce() == TimeInForce.GTD) expiries.schedule(order);
+        }
+        for (int i = 0; i < snapshot.stopCount(); i++) {
+            Order stop = snapshot.restoreStop(i);
+            triggers.add(stop);
+            if (stop.getTimeInForce() == TimeInForce.GTD) expiries.schedule(stop);
+        }
+        lastSequence = snapshot.getLastSequence();
+        auction = snapshot.isAuction();
+        engine.resume(snapshot.getTradeSequence(), snapshot.getLastTradePrice());
     }
 
     // ── Queries ────────────────────────────────────────────────
+    // Matching thread only, like every other method here. Other threads read
+    // a BookView published through the MarketDataPublisher.
 
+    /** A resting order or a pending stop. */
     public Order getOrder(long orderId) {
         Order order = orderIndex.get(orderId);
+        if (order == null) order = triggers.get(orderId);
         if (order == null) throw new OrderNotFoundException(orderId);
         return order;
     }
 
     public BigDecimal getBestBid() {
-        return bids.bestPrice();
+        return toPrice(bids.bestPrice());
     }
 
     public BigDecimal getBestAsk() {
-        return asks.bestPrice();
+        return toPrice(asks.bestPrice());
     }
 
     public BigDecimal getSpread() {
-        BigDecimal bid = getBestBid();
-        BigDecimal ask = getBestAsk();
-        if (bid == null || ask == null) return null;
-        return ask.subtract(bid);
+        long bid = bids.bestPrice();
+        long ask = asks.bestPrice();
+        if (bid == Order.NO_PRICE || ask == Order.NO_PRICE) return null;
+        return tickSize.toPrice(ask - bid);
+    }
+
+    /** Best bid in ticks, or {@link Order#NO_PRICE} if there are no bids. */
+    public long getBestBidTicks() {
+        return bids.bestPrice();
+    }
+
+    /** Best ask in ticks, or {@link Order#NO_PRICE} if there are no asks. */
+    public long getBestAskTicks() {
+        return asks.bestPrice();
     }
 
     public List<PriceLevel> getBidDepth(int levels) {
@@ -120,14 +700,47 @@ public class OrderBook {
         return asks.topLevels(levels);
     }
 
+    /**
+     * Copy up to prices.length of one side's top levels, best first, into the
+     * caller's arrays; returns how many were copied. Like getBidDepth and
+     * getAskDepth but without the list. Matching thread only.
+     */
+    public int copyDepth(Side side, long[] prices, long[] quantities, int[] orders) {
+        return (side == Side.BUY ? bids : asks).copyTop(prices, quantities, orders);
+    }
+
+    /** The level at a price on one side, or null if nothing rests there. */
+    public PriceLevel getLevel(Side side, long priceTicks) {
+        return (side == Side.BUY ? bids : asks).levelAt(priceTicks);
+    }
+
+    /** Resting orders; pending stops are counted by {@link #pendingStopCount()}. */
     public int totalOrderCount() {
         return orderIndex.size();
     }
 
+    public int pendingStopCount() {
+        return triggers.size();
+    }
+
+    /** Price of the last trade in ticks, or {@link Order#NO_PRICE} if nothing has traded. */
+    public long getLastTradePrice() {
+        return engine.getLastTradePrice();
+    }
+
     public String getSymbol() {
         return symbol;
     }
 
+    public TickSize getTickSize() {
+        return tickSize;
+    }
+
+    /** Convert ticks to a decimal price; null for {@link Order#NO_PRICE}. */
+    public BigDecimal toPrice(long ticks) {
+        return ticks != Order.NO_PRICE ? tickSize.toPrice(ticks) : null;
+    }
+
     // ── Display ────────────────────────────────────────────────
 
     public void printDepth(int levels) {
@@ -140,7 +753,7 @@ public class OrderBook {
         for (int i = askLevels.size() - 1; i >= 0; i--) {
             PriceLevel level = askLevels.get(i);
             System.out.printf("  ASK  %10s  |  %-6d  (%d orders)%n",
-                    level.getPrice().toPlainString(), level.totalQuantity(), level.orderCount());
+                    tickSize.toPrice(level.getPrice()).toPlainString(), level.totalQuantity(), level.orderCount());
         }
 
         System.out.println("  ─────────────────┼──────────────────────");
@@ -152,7 +765,7 @@ public class OrderBook {
 
         for (PriceLevel level : getBidDepth(levels)) {
             System.out.printf("  BID  %10s  |  %-6d  (%d orders)%n",
-                    level.getPrice().toPlainString(), level.totalQuantity(), level.orderCount());
+                    tickSize.toPrice(level.getPrice()).toPlainString(), level.totalQuantity(), level.orderCount());
         }
 
         System.out.println("═══════════════════════════════════════════\n");
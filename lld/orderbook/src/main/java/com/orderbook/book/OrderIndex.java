@@ -0,0 +1,172 @@
+package com.orderbook.book;
+
+import com.orderbook.model.Order;
+
+import java.util.function.Consumer;
+
+/**
+ * Order id → Order map on primitive keys, for the book's hot lookup path.
+ *
+ * Open addressing with linear probing over parallel arrays: a lookup hashes
+ * the id, then scans consecutive long slots — usually one or two, in the
+ * same cache line — with no boxing and no node to chase. Deletion uses
+ * backward shift: later entries of the probe run are moved up into the hole,
+ * so there are no tombstones and probe lengths don't degrade under the
+ * place/cancel churn a book sees.
+ *
+ * Capacity is a power of two kept at most 70% full; growing doubles it and
+ * rehashes everything, which is O(n) on the calling thread — size it for the
+ * expected peak of live orders up front. About 12 bytes per slot (long key
+ * plus a compressed reference), against ~50 per HashMap entry.
+ *
+ * Order ids are positive, so 0 marks an empty slot. Not thread-safe.
+ */
+public final class OrderIndex {
+
+    private static final long EMPTY = 0;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;   // Fibonacci hashing spreads sequential ids
+
+    private long[] keys;
+    private Order[] values;
+    private int mask;
+    private int shift;
+    private int size;
+    private int resizeAt;
+
+    public OrderIndex() {
+        this(1 << 12);
+    }
+
+    /** An index that holds expectedOrders without growing. */
+    public OrderIndex(int expectedOrders) {
+        if (expectedOrders < 0) {
+            throw new IllegalArgumentException("Expected order count must not be negative");
+        }
+        long needed = Math.max(16, (long) Math.ceil(expectedOrders / 0.7));
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Order index is limited to " + (int) (MAX_CAPACITY * 0.7) + " orders");
+        }
+        allocate(Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    public Order get(long orderId) {
+        long[] k = keys;
+        for (int i = slot(orderId); ; i = (i + 1) & mask) {
+            long key = k[i];
+            if (key == orderId) return values[i];
+            if (key == EMPTY) return null;
+        }
+    }
+
+    public boolean containsKey(long orderId) {
+        return get(orderId) != null;
+    }
+
+    /** Insert or replace; returns the previous order under this id, or null. */
+    public Order put(long orderId, Order order) {
+        if (orderId <= 0) {
+            throw new IllegalArgumentException("Order id must be positive");
+        }
+        int i = slot(orderId);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == orderId) {
+                Order previous = values[i];
+                values[i] = order;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = orderId;
+        values[i] = order;
+        if (++size > resizeAt) {
+            grow();
+        }
+        return null;
+    }
+
+    /** Remove and return the order under this id, or null if there is none. */
+    public Order remove(long orderId) {
+        int hole = slot(orderId);
+        while (keys[hole] != orderId) {
+            if (keys[hole] == EMPTY) return null;
+            hole = (hole + 1) & mask;
+        }
+        Order removed = values[hole];
+
+        // Backward shift: pull up every later entry of the run that may legally sit in the hole
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            long key = keys[i];
+            if (key == EMPTY) break;
+            int home = slot(key);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = key;
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        size--;
+        return removed;
+    }
+
+    /** Grow now, if needed, so that expectedOrders fit without a rehash later. */
+    public void ensureCapacity(int expectedOrders) {
+        while (expectedOrders > resizeAt) {
+            grow();
+        }
+    }
+
+    /** Visit every order, in no particular order. Don't modify the index from action. */
+    public void forEach(Consumer<Order> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // ── Internals ──────────────────────────────────────────────
+
+    private int slot(long orderId) {
+        return (int) ((orderId * GOLDEN) >>> shift);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Order[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeAt = (int) (capacity * 0.7);
+    }
+
+    private void grow() {
+        if (keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Order index is full");
+        }
+        long[] oldKeys = keys;
+        Order[] oldValues = values;
+        allocate(keys.length << 1);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key == EMPTY) continue;
+            int i = slot(key);
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = oldValues[j];
+        }
+    }
+}
@@ -2,64 +2,180 @@ package com.orderbook.book;
 
 import com.orderbook.model.Order;
 
-import java.math.BigDecimal;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.NoSuchElementException;
 
 /**
  * FIFO queue of orders at a single price point.
  * Maintains price-time priority: earliest order at this price fills first.
+ *
+ * The queue is intrusive: each Order carries its own prev/next/level links,
+ * so removing any order (cancel, fill) is an O(1) unlink with no per-node
+ * allocation.
+ *
+ * Order count and total displayed quantity are maintained incrementally on
+ * add, fill and removal, so depth snapshots are O(levels), not O(orders).
+ * Resting orders must therefore be filled through {@link #fill} (and reduced
+ * through {@link #reduce}), not directly.
+ *
+ * Icebergs contribute only their visible slice to totalQuantity(); hidden
+ * quantity is invisible to depth and market data. The same intrusive queue
+ * also holds pending stops, keyed by trigger price, in the trigger book.
+ *
+ * While a {@link SnapshotCapture} still needs this level as it was when the
+ * capture began, the first change to it copies it out first (copy on write).
  */
 public class PriceLevel implements Iterable<Order> {
 
-    private final BigDecimal price;
-    private final LinkedList<Order> orders = new LinkedList<>();
+    private final long price;         // in ticks
+    private Order head;
+    private Order tail;
+    private int count;
+    private long totalQty;            // displayed
+    private long hiddenQty;           // iceberg reserve behind the displayed slices
+    private SnapshotCapture capture;  // non-null until this level's contents have been copied for it
+    private int captureSlot;
 
-    public PriceLevel(BigDecimal price) {
+    public PriceLevel(long price) {
         this.price = price;
     }
 
     public void addOrder(Order order) {
-        orders.addLast(order);
+        if (order.getLevel() != null) {
+            throw new IllegalStateException("Order " + order.getOrderId() + " is already resting");
+        }
+        beforeChange();
+        order.setLevel(this);
+        order.setPrev(tail);
+        order.setNext(null);
+        if (tail == null) {
+            head = order;
+        } else {
+            tail.setNext(order);
+        }
+        tail = order;
+        count++;
+        totalQty += order.getVisibleQty();
+        hiddenQty += order.getRemainingQty() - order.getVisibleQty();
+    }
+
+    /** Fill a resting order in this level, keeping the aggregate quantity in step. */
+    public void fill(Order order, long qty) {
+        beforeChange();
+        order.fill(qty);
+        totalQty -= qty;
+    }
+
+    /**
+     * Reduce a resting order in place without a trade; it keeps its queue
+     * position. Returns the displayed quantity removed — zero when only an
+     * iceberg's hidden reserve shrank. The caller unlinks it if nothing is left.
+     */
+    public long reduce(Order order, long qty) {
+        beforeChange();
+        long visibleBefore = order.getVisibleQty();
+        order.reduce(qty);
+        long shown = visibleBefore - order.getVisibleQty();
+        totalQty -= shown;
+        hiddenQty -= qty - shown;
+        return shown;
+    }
+
+    /** Iceberg slice used up: show the next slice at the back of the queue (loses time priority). */
+    public void requeue(Order order) {
+        unlink(order);
+        order.replenish();
+        addOrder(order);
     }
 
     public Order peekFirst() {
-        return orders.peekFirst();
+        return head;
     }
 
     public void removeFirst() {
-        orders.pollFirst();
+        if (head != null) {
+            unlink(head);
+        }
     }
 
-    /** O(n) scan — needed for cancel-by-id within a level. */
-    public boolean removeOrder(long orderId) {
-        return orders.removeIf(o -> o.getOrderId() == orderId);
+    /** O(1) unlink via the order's own links. False if the order isn't in this level. */
+    public boolean removeOrder(Order order) {
+        if (order.getLevel() != this) return false;
+        unlink(order);
+        return true;
     }
 
     public boolean isEmpty() {
-        return orders.isEmpty();
+        return count == 0;
     }
 
     public int orderCount() {
-        return orders.size();
+        return count;
     }
 
     public long totalQuantity() {
-        return orders.stream().mapToLong(Order::getRemainingQty).sum();
+        return totalQty;
+    }
+
+    /** Undisplayed iceberg quantity — fillable, but never shown in depth. */
+    public long hiddenQuantity() {
+        return hiddenQty;
     }
 
-    public BigDecimal getPrice() {
+    public long getPrice() {
         return price;
     }
 
+    /** Owe this level's current contents to capture (matching thread, as the capture begins). */
+    void markForCapture(SnapshotCapture capture, int slot) {
+        this.capture = capture;
+        this.captureSlot = slot;
+    }
+
+    private void beforeChange() {
+        if (capture != null) {
+            capture.beforeChange(captureSlot);
+            capture = null;
+        }
+    }
+
+    private void unlink(Order order) {
+        beforeChange();
+        Order prev = order.getPrev();
+        Order next = order.getNext();
+        if (prev == null) head = next; else prev.setNext(next);
+        if (next == null) tail = prev; else next.setPrev(prev);
+        order.setPrev(null);
+        order.setNext(null);
+        order.setLevel(null);
+        count--;
+        totalQty -= order.getVisibleQty();
+        hiddenQty -= order.getRemainingQty() - order.getVisibleQty();
+    }
+
     @Override
     public Iterator<Order> iterator() {
-        return orders.iterator();
+        return new Iterator<>() {
+            private Order cursor = head;
+
+            @Override
+            public boolean hasNext() {
+                return cursor != null;
+            }
+
+            @Override
+            public Order next() {
+                if (cursor == null) throw new NoSuchElementException();
+                Order current = cursor;
+                cursor = cursor.getNext();
+                return current;
+            }
+        };
     }
 
     @Override
     public String toString() {
-        return String.format("PriceLevel{price=%s, orders=%d, totalQty=%d}",
-                price.toPlainString(), orderCount(), totalQuantity());
+        return String.format("PriceLevel{price=%d, orders=%d, displayedQty=%d}",
+                price, orderCount(), totalQuantity());
     }
 }
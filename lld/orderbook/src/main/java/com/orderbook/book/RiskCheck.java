@@ -0,0 +1,38 @@
+package com.orderbook.book;
+
+import com.orderbook.model.Order;
+
+/**
+ * Pre-trade risk hook, called on the matching thread for every new order
+ * after validation and before it is journaled or matched — so a rejected
+ * order leaves no trace in the book or the log.
+ *
+ * Runs inline on every placement; implementations should keep to a few
+ * counter reads and compares (see risk.PreTradeRisk).
+ */
+public interface RiskCheck {
+
+    RiskCheck NO_OP = new RiskCheck() {
+        @Override public void check(Order order, Order replaces, OrderBook book) { }
+    };
+
+    /**
+     * Accept or reject order; throw a RiskLimitException to reject.
+     *
+     * @param replaces the order a modify is about to cancel, whose exposure
+     *                 the replacement takes over; null for a new order
+     */
+    void check(Order order, Order replaces, OrderBook book);
+
+    /**
+     * order passed check and has been journaled; start counting it. Never
+     * called for an order that was rejected or whose journal write failed,
+     * so state kept here can't run ahead of the log.
+     */
+    default void onAccept(Order order) {
+    }
+
+    /** Attached to book, which may already hold working orders (e.g. after recovery). */
+    default void onAttach(OrderBook book) {
+    }
+}
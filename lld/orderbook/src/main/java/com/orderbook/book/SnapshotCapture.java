@@ -0,0 +1,109 @@
+package com.orderbook.book;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A book snapshot in progress: copy on write, per price level.
+ *
+ * {@link OrderBook#beginSnapshot} fixes the point in time — it records the
+ * sequence and the other scalars and lists the levels that hold orders, but
+ * copies no orders. The matching thread then carries on. Each listed level is
+ * copied exactly once, by whichever thread gets to it first:
+ * - the writer thread, in {@link #complete}, walking the list;
+ * - the matching thread, just before it first changes a level not yet copied
+ *   (PriceLevel calls {@link #beforeChange}).
+ * Either way the copy is the level as it stood when the capture began, so
+ * the snapshot is consistent at that command boundary without the matching
+ * thread ever copying more than the levels it touches.
+ *
+ * A level is claimed by CAS on its state, so the two threads never copy the
+ * same level; a thread that finds the other mid-copy waits for that one
+ * level. Once every level is copied, complete() assembles the BookSnapshot.
+ */
+public final class SnapshotCapture {
+
+    private static final int PENDING = 0;
+    private static final int COPYING = 1;
+    private static final int COPIED = 2;
+
+    private final String symbol;
+    private final long lastSequence;
+    private final long tradeSequence;
+    private final long lastTradePrice;
+    private final boolean auction;
+    private final int stopsFrom;                  // levels[stopsFrom..] are trigger levels
+
+    private PriceLevel[] levels;                  // dropped once everything is copied
+    private final long[][] copies;
+    private final AtomicIntegerArray state;
+    private final AtomicInteger remaining;
+    private volatile BookSnapshot snapshot;
+
+    /** Matching thread: marks every level, so its first change copies it out first. */
+    SnapshotCapture(String symbol, long lastSequence, long tradeSequence, long lastTradePrice, boolean auction,
+                    PriceLevel[] levels, int stopsFrom) {
+        this.symbol = symbol;
+        this.lastSequence = lastSequence;
+        this.tradeSequence = tradeSequence;
+        this.lastTradePrice = lastTradePrice;
+        this.auction = auction;
+        this.stopsFrom = stopsFrom;
+        this.levels = levels;
+        this.copies = new long[levels.length][];
+        this.state = new AtomicIntegerArray(levels.length);
+        this.remaining = new AtomicInteger(levels.length);
+        for (int i = 0; i < levels.length; i++) {
+            levels[i].markForCapture(this, i);
+        }
+    }
+
+    /** Sequence of the last command the snapshot includes. */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /** True once every level has been copied; the book no longer pays anything for this capture. */
+    public boolean isCopied() {
+        return remaining.get() == 0;
+    }
+
+    /**
+     * Copy whatever levels are left and build the snapshot. Meant for the
+     * writer thread; safe alongside the matching thread. Idempotent.
+     */
+    public BookSnapshot complete() {
+        BookSnapshot done = snapshot;
+        if (done != null) return done;
+        copyAll();
+        done = BookSnapshot.assemble(symbol, lastSequence, tradeSequence, lastTradePrice, auction, copies, stopsFrom);
+        levels = null;
+        snapshot = done;
+        return done;
+    }
+
+    /** Copy every level not yet copied, waiting out any the other thread is copying. */
+    void copyAll() {
+        for (int i = 0; i < copies.length; i++) {
+            copy(i);
+        }
+    }
+
+    /** Matching thread, before the first change to the level in slot since the capture began. */
+    void beforeChange(int slot) {
+        copy(slot);
+    }
+
+    private void copy(int slot) {
+        if (state.get(slot) == COPIED) return;
+        if (state.compareAndSet(slot, PENDING, COPYING)) {
+            copies[slot] = BookSnapshot.copyLevel(levels[slot]);
+            state.set(slot, COPIED);              // publishes the copy
+            remaining.decrementAndGet();
+            return;
+        }
+        while (state.get(slot) != COPIED) {
+            Thread.onSpinWait();                  // the other thread is copying this level
+        }
+    }
+}
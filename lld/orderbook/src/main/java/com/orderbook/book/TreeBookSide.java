@@ -0,0 +1,127 @@
+package com.orderbook.book;
+
+import com.orderbook.model.Order;
+import com.orderbook.model.Side;
+
+import java.util.*;
+
+/**
+ * TreeMap-backed BookSide — the default, good for any price distribution.
+ *
+ * Bid side: TreeMap with reverseOrder → firstEntry() = highest bid.
+ * Ask side: TreeMap with naturalOrder → firstEntry() = lowest ask.
+ * Keys are prices in ticks.
+ */
+public class TreeBookSide implements BookSide {
+
+    private final Side side;
+    private final TreeMap<Long, PriceLevel> levels;
+
+    public TreeBookSide(Side side) {
+        this.side = side;
+        // BUY: highest price first; SELL: lowest price first
+        Comparator<Long> cmp = (side == Side.BUY)
+                ? Comparator.reverseOrder()
+                : Comparator.naturalOrder();
+        this.levels = new TreeMap<>(cmp);
+    }
+
+    /** Add an order to the appropriate price level, creating the level if needed. */
+    @Override
+    public void addOrder(Order order) {
+        levels.computeIfAbsent(order.getPrice(), PriceLevel::new)
+              .addOrder(order);
+    }
+
+    /** Remove a specific order from its price level. Cleans up empty levels. */
+    @Override
+    public boolean removeOrder(Order order) {
+        PriceLevel level = order.getLevel();
+        if (level == null || !level.removeOrder(order)) return false;
+        if (level.isEmpty()) {
+            levels.remove(order.getPrice());
+        }
+        return true;
+    }
+
+    /** Best price level (highest bid or lowest ask). Null if side is empty. */
+    @Override
+    public PriceLevel bestLevel() {
+        Map.Entry<Long, PriceLevel> entry = levels.firstEntry();
+        return entry != null ? entry.getValue() : null;
+    }
+
+    /** Best price on this side in ticks. {@link Order#NO_PRICE} if empty. */
+    @Override
+    public long bestPrice() {
+        PriceLevel best = bestLevel();
+        return best != null ? best.getPrice() : Order.NO_PRICE;
+    }
+
+    @Override
+    public PriceLevel levelAt(long price) {
+        return levels.get(price);
+    }
+
+    /** Remove an entire price level (called after all orders at that price are filled). */
+    @Override
+    public void removeLevel(long price) {
+        levels.remove(price);
+    }
+
+    /** Number of distinct price levels. */
+    @Override
+    public int levelCount() {
+        return levels.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return levels.isEmpty();
+    }
+
+    /** Return the top N price levels for depth-of-book display. */
+    @Override
+    public List<PriceLevel> topLevels(int n) {
+        List<PriceLevel> result = new ArrayList<>();
+        for (PriceLevel level : levels.values()) {
+            if (result.size() >= n) break;
+            result.add(level);
+        }
+        return result;
+    }
+
+    @Override
+    public int copyTop(long[] prices, long[] quantities, int[] orders) {
+        int n = 0;
+        for (PriceLevel level : levels.values()) {
+            if (n >= prices.length) break;
+            prices[n] = level.getPrice();
+            quantities[n] = level.totalQuantity();
+            orders[n] = level.orderCount();
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public long liquidityUpTo(long limitPrice, long enough) {
+        long total = 0;
+        for (PriceLevel level : levels.values()) {
+            if (limitPrice != Order.NO_PRICE && isWorse(level.getPrice(), limitPrice)) break;
+            total += level.totalQuantity() + level.hiddenQuantity();
+            if (total >= enough) break;
+        }
+        return total;
+    }
+
+    @Override
+    public Side getSide() {
+        return side;
+    }
+
+    /** True if price a is strictly worse than b for this side. */
+    private boolean isWorse(long a, long b) {
+        return side == Side.BUY ? a < b : a > b;
+    }
+}
@@ -0,0 +1,117 @@
+package com.orderbook.book;
+
+import com.orderbook.model.Order;
+import com.orderbook.model.Side;
+
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Pending stop and stop-limit orders, keyed by trigger price.
+ *
+ * Buy stops fire when a trade prints at or above their trigger, so the next
+ * to fire is always the lowest buy trigger; sell stops mirror that with the
+ * highest sell trigger. Both extremes are cached, so "did anything trigger?"
+ * is two comparisons — cheap enough to ask after every command — and popping
+ * a triggered stop is O(log T). Stops sharing a trigger price fire in arrival
+ * order, held in a PriceLevel so cancels are O(1) unlinks.
+ *
+ * Owned by OrderBook; matching-thread only.
+ */
+final class TriggerBook {
+
+    private final TreeMap<Long, PriceLevel> buyStops = new TreeMap<>();
+    private final TreeMap<Long, PriceLevel> sellStops = new TreeMap<>();
+    private final OrderIndex byId = new OrderIndex(64);
+    private long lowestBuyTrigger = Long.MAX_VALUE;
+    private long highestSellTrigger = Long.MIN_VALUE;
+
+    /** True if a trade at lastTradePrice would fire this stop — checked before parking it. */
+    static boolean isTriggeredBy(Order stop, long lastTradePrice) {
+        if (lastTradePrice == Order.NO_PRICE) return false;
+        return stop.getSide() == Side.BUY
+                ? lastTradePrice >= stop.getTriggerPrice()
+                : lastTradePrice <= stop.getTriggerPrice();
+    }
+
+    void add(Order stop) {
+        long trigger = stop.getTriggerPrice();
+        sideFor(stop).computeIfAbsent(trigger, PriceLevel::new).addOrder(stop);
+        byId.put(stop.getOrderId(), stop);
+        if (stop.getSide() == Side.BUY) {
+            lowestBuyTrigger = Math.min(lowestBuyTrigger, trigger);
+        } else {
+            highestSellTrigger = Math.max(highestSellTrigger, trigger);
+        }
+    }
+
+    boolean remove(Order stop) {
+        if (byId.remove(stop.getOrderId()) == null) return false;
+        PriceLevel level = stop.getLevel();
+        level.removeOrder(stop);
+        if (level.isEmpty()) {
+            removeLevel(stop.getSide(), level.getPrice());
+        }
+        return true;
+    }
+
+    Order get(long orderId) {
+        return byId.get(orderId);
+    }
+
+    /**
+     * Remove and return the next stop fired by trades spanning [low, high], or
+     * null. Buy stops first (lowest trigger), then sell stops (highest trigger).
+     */
+    Order pollTriggered(long low, long high) {
+        PriceLevel level;
+        Side side;
+        if (lowestBuyTrigger <= high) {
+            level = buyStops.get(lowestBuyTrigger);
+            side = Side.BUY;
+        } else if (highestSellTrigger >= low) {
+            level = sellStops.get(highestSellTrigger);
+            side = Side.SELL;
+        } else {
+            return null;
+        }
+        Order stop = level.peekFirst();
+        level.removeFirst();
+        byId.remove(stop.getOrderId());
+        if (level.isEmpty()) {
+            removeLevel(side, level.getPrice());
+        }
+        return stop;
+    }
+
+    boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    void forEach(Consumer<Order> action) {
+        byId.forEach(action);
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    /** One side's trigger levels in firing order (buys ascending, sells descending). */
+    Iterable<PriceLevel> levelsInFiringOrder(Side side) {
+        return side == Side.BUY ? buyStops.values() : sellStops.descendingMap().values();
+    }
+
+    private void removeLevel(Side side, long trigger) {
+        if (side == Side.BUY) {
+            buyStops.remove(trigger);
+            lowestBuyTrigger = buyStops.isEmpty() ? Long.MAX_VALUE : buyStops.firstKey();
+        } else {
+            sellStops.remove(trigger);
+            highestSellTrigger = sellStops.isEmpty() ? Long.MIN_VALUE : sellStops.lastKey();
+        }
+    }
+
+    private TreeMap<Long, PriceLevel> sideFor(Order stop) {
+        return stop.getSide() == Side.BUY ? buyStops : sellStops;
+    }
+}
@@ -1,71 +1,361 @@
 package com.orderbook.engine;
 
+import com.orderbook.book.BookListener;
 import com.orderbook.book.BookSide;
+import com.orderbook.book.OrderIndex;
 import com.orderbook.book.PriceLevel;
 import com.orderbook.model.*;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
- * Stateless price-time priority matching engine.
+ * Price-time priority matching engine.
  *
- * Takes an incoming order and the opposite BookSide, produces trades.
- * The OrderBook is responsible for managing the order index and resting.
+ * Takes an incoming order and the opposite BookSide, reports fills to a
+ * TradeListener. The only state is the per-book trade sequence counter and
+ * last trade price; the OrderBook is responsible for managing the order
+ * index, resting and stop triggers. Resting orders filled here are recycled
+ * (see ObjectPool); the incoming order never is — it belongs to the caller.
  */
 public class MatchingEngine {
 
+    private long tradeSequence;
+    private long lastTradePrice = Order.NO_PRICE;
+    private SelfTradePrevention selfTradePrevention = SelfTradePrevention.NONE;
+
+    /**
+     * Match and collect fills as Trade objects. Adapter over the listener form.
+     *
+     * @return list of trades generated
+     */
+    public List<Trade> match(Order incoming, BookSide oppositeSide,
+                             OrderIndex orderIndex) {
+        List<Trade> trades = new ArrayList<>();
+        match(incoming, oppositeSide, orderIndex, TradeListener.collectingInto(trades));
+        return trades;
+    }
+
     /**
      * Match an incoming order against the opposite side of the book.
+     * Allocation-free: each fill is reported to the listener as primitives.
      *
      * @param incoming     the new order to match
      * @param oppositeSide the other side of the book to match against
      * @param orderIndex   order index for removing fully-filled resting orders
-     * @return list of trades generated
+     * @param listener     receives one callback per fill
+     * @return number of price levels the order traded at
      */
-    public List<Trade> match(Order incoming, BookSide oppositeSide,
-                             Map<Long, Order> orderIndex) {
-        List<Trade> trades = new ArrayList<>();
+    public int match(Order incoming, BookSide oppositeSide,
+                     OrderIndex orderIndex, TradeListener listener) {
+        return match(incoming, oppositeSide, orderIndex, listener, BookListener.NO_OP);
+    }
 
-        while (incoming.getRemainingQty() > 0) {
+    /** As above, also reporting resting-order executions and iceberg refreshes to events. */
+    public int match(Order incoming, BookSide oppositeSide,
+                     OrderIndex orderIndex, TradeListener listener, BookListener events) {
+        int levelsTouched = 0;
+        boolean checkAccount = preventsSelfTrade(incoming);
+        while (incoming.isActive()) {
             PriceLevel bestLevel = oppositeSide.bestLevel();
             if (bestLevel == null) break;  // no liquidity
 
-            // For limit orders, check price crosses
-            if (incoming.getType() == OrderType.LIMIT && !priceMatches(incoming, bestLevel.getPrice())) {
+            // For limit-priced orders, check price crosses
+            if (incoming.hasLimitPrice() && !priceMatches(incoming, bestLevel.getPrice())) {
                 break;
             }
+            long tradesBefore = tradeSequence;
 
             // Walk the level in FIFO order
-            while (!bestLevel.isEmpty() && incoming.getRemainingQty() > 0) {
+            while (!bestLevel.isEmpty() && incoming.isActive()) {
                 Order resting = bestLevel.peekFirst();
-                long fillQty = Math.min(incoming.getRemainingQty(), resting.getRemainingQty());
+                if (checkAccount && resting.getAccountId() == incoming.getAccountId()) {
+                    preventSelfTrade(incoming, resting, bestLevel, orderIndex, events);
+                    continue;
+                }
+                // Only the displayed slice of a resting iceberg is available at its queue position
+                long fillQty = Math.min(incoming.getRemainingQty(), resting.getVisibleQty());
 
                 // Execute fill on both sides
                 incoming.fill(fillQty);
-                resting.fill(fillQty);
+                bestLevel.fill(resting, fillQty);
 
                 // Trade price = resting order's price (passive price improvement)
                 long buyId  = (incoming.getSide() == Side.BUY) ? incoming.getOrderId() : resting.getOrderId();
                 long sellId = (incoming.getSide() == Side.SELL) ? incoming.getOrderId() : resting.getOrderId();
-                trades.add(new Trade(buyId, sellId, resting.getPrice(), fillQty));
+                lastTradePrice = resting.getPrice();
+                listener.onTrade(buyId, sellId, lastTradePrice, fillQty, ++tradeSequence);
+                events.onOrderExecuted(resting.getOrderId(), resting.getSide(), lastTradePrice, fillQty);
 
-                // Remove fully filled resting order from level and index
+                // Remove fully filled resting order from level and index; it belongs to the book, so recycle it
                 if (!resting.isActive()) {
                     bestLevel.removeFirst();
                     orderIndex.remove(resting.getOrderId());
+                    resting.recycle();
+                } else if (resting.getVisibleQty() == 0) {
+                    bestLevel.requeue(resting);
+                    events.onOrderAdded(resting.getOrderId(), resting.getSide(), lastTradePrice, resting.getVisibleQty());
                 }
             }
+            // A level where self-trade prevention only cancelled resting orders was not traded at
+            if (tradeSequence != tradesBefore) {
+                levelsTouched++;
+            }
 
             // Clean up empty price level
             if (bestLevel.isEmpty()) {
                 oppositeSide.removeLevel(bestLevel.getPrice());
             }
         }
+        return levelsTouched;
+    }
 
-        return trades;
+    /**
+     * FOK pre-check: could incoming be filled in full against oppositeSide right
+     * now? Walks levels without touching them, so a failed FOK leaves no trace.
+     * With self-trade prevention on and an account on the order, a FOK that
+     * has the liquidity is checked again order by order: meeting its own
+     * account would stop or shrink it before it filled, except under
+     * CANCEL_OLDEST, where its own orders are just taken out of the way.
+     */
+    public boolean canFillCompletely(Order incoming, BookSide oppositeSide) {
+        long needed = incoming.getRemainingQty();
+        long limit = incoming.hasLimitPrice() ? incoming.getPrice() : Order.NO_PRICE;
+        if (oppositeSide.liquidityUpTo(limit, needed) < needed) return false;
+        return !preventsSelfTrade(incoming) || fillsBeforeSelfTrade(incoming, oppositeSide, needed);
+    }
+
+    // ── Self-trade prevention ──────────────────────────────────
+
+    /** Applies to every later match; the book keeps it in step with its own setting. */
+    public void setSelfTradePrevention(SelfTradePrevention mode) {
+        this.selfTradePrevention = mode;
+    }
+
+    public SelfTradePrevention getSelfTradePrevention() {
+        return selfTradePrevention;
+    }
+
+    private boolean preventsSelfTrade(Order incoming) {
+        return selfTradePrevention != SelfTradePrevention.NONE && incoming.getAccountId() != Order.NO_ACCOUNT;
+    }
+
+    /**
+     * resting, at the head of level, belongs to incoming's account: apply the
+     * mode instead of trading. Whatever it cancels or decrements is done here,
+     * so the FIFO walk simply carries on with the new head (or stops, once
+     * incoming is no longer active).
+     */
+    private void preventSelfTrade(Order incoming, Order resting, PriceLevel level,
+                                  OrderIndex orderIndex, BookListener events) {
+        switch (selfTradePrevention) {
+            case CANCEL_NEWEST -> incoming.cancel();
+            case CANCEL_OLDEST -> cancelResting(resting, level, orderIndex, events);
+            case CANCEL_BOTH -> {
+                incoming.cancel();
+                cancelResting(resting, level, orderIndex, events);
+            }
+            case DECREMENT -> {
+                long qty = Math.min(incoming.getRemainingQty(), resting.getRemainingQty());
+                incoming.reduce(qty);
+                if (qty == resting.getRemainingQty()) {
+                    cancelResting(resting, level, orderIndex, events);
+                } else {
+                    long shown = level.reduce(resting, qty);
+                    if (shown > 0) {
+                        events.onOrderReduced(resting.getOrderId(), resting.getSide(), resting.getPrice(), shown);
+                    }
+                }
+            }
+            default -> throw new IllegalStateException("Self-trade prevention is off");
+        }
+    }
+
+    private static void cancelResting(Order resting, PriceLevel level, OrderIndex orderIndex, BookListener events) {
+        level.removeOrder(resting);
+        orderIndex.remove(resting.getOrderId());
+        resting.cancel();
+        events.onOrderDeleted(resting.getOrderId(), resting.getSide(), resting.getPrice());
+        resting.recycle();
+    }
+
+    /**
+     * Order-by-order FOK check against incoming's own account. Within a level
+     * holding one of its orders, only the displayed slices ahead of it count —
+     * an iceberg's next slice requeues behind it. O(orders at crossing levels);
+     * only FOK orders that carry an account pay for it.
+     */
+    private boolean fillsBeforeSelfTrade(Order incoming, BookSide oppositeSide, long needed) {
+        boolean skipOwn = selfTradePrevention == SelfTradePrevention.CANCEL_OLDEST;
+        long available = 0;
+        for (PriceLevel level : oppositeSide.topLevels(Integer.MAX_VALUE)) {
+            if (incoming.hasLimitPrice() && !priceMatches(incoming, level.getPrice())) break;
+            long ahead = 0;
+            long all = 0;
+            for (Order resting : level) {
+                if (resting.getAccountId() != incoming.getAccountId()) {
+                    ahead += resting.getVisibleQty();
+                    all += resting.getRemainingQty();
+                } else if (!skipOwn) {
+                    return available + ahead >= needed;
+                }
+            }
+            available += all;
+            if (available >= needed) return true;
+        }
+        return false;
+    }
+
+    // ── Call auction ───────────────────────────────────────────
+
+    /**
+     * Equilibrium price of a call auction: the price at which the most
+     * quantity can trade, ties broken by the smaller surplus, then by distance
+     * to referencePrice, then by the lower price. Demand at a price is the
+     * market buys plus every bid at or above it, supply the market sells plus
+     * every ask at or below it — one pass over cumulative-volume arrays built
+     * from the levels, so O(levels) however many orders there are. Hidden
+     * iceberg quantity counts. {@link Order#NO_PRICE} if nothing can trade.
+     *
+     * @param referencePrice usually the last trade price; NO_PRICE for none
+     */
+    public static long equilibriumPrice(BookSide bids, BookSide asks, long marketBuyQty, long marketSellQty,
+                                        long referencePrice) {
+        List<PriceLevel> bidLevels = bids.topLevels(Integer.MAX_VALUE);   // highest first
+        List<PriceLevel> askLevels = asks.topLevels(Integer.MAX_VALUE);   // lowest first
+        long[] bidPrices = prices(bidLevels);
+        long[] askPrices = prices(askLevels);
+        long[] demand = cumulative(bidLevels, marketBuyQty);    // demand[i]: bids at or above bidPrices[i]
+        long[] supply = cumulative(askLevels, marketSellQty);   // supply[i]: asks at or below askPrices[i]
+
+        long bestPrice = Order.NO_PRICE;
+        long bestVolume = 0;
+        long bestSurplus = 0;
+        int nextBid = bidPrices.length - 1;     // candidates are every level price, walked upwards
+        int nextAsk = 0;
+        int bidsAtOrAbove = bidPrices.length;
+        while (nextBid >= 0 || nextAsk < askPrices.length) {
+            long price = nextBid < 0 ? askPrices[nextAsk]
+                    : nextAsk == askPrices.length ? bidPrices[nextBid]
+                    : Math.min(bidPrices[nextBid], askPrices[nextAsk]);
+            if (nextBid >= 0 && bidPrices[nextBid] == price) nextBid--;
+            if (nextAsk < askPrices.length && askPrices[nextAsk] == price) nextAsk++;
+            while (bidsAtOrAbove > 0 && bidPrices[bidsAtOrAbove - 1] < price) bidsAtOrAbove--;
+
+            long buy = bidsAtOrAbove > 0 ? demand[bidsAtOrAbove - 1] : marketBuyQty;
+            long sell = nextAsk > 0 ? supply[nextAsk - 1] : marketSellQty;
+            long volume = Math.min(buy, sell);
+            long surplus = Math.abs(buy - sell);
+            if (volume > bestVolume
+                    || (volume > 0 && volume == bestVolume && (surplus < bestSurplus
+                        || (surplus == bestSurplus && closer(price, bestPrice, referencePrice))))) {
+                bestPrice = price;
+                bestVolume = volume;
+                bestSurplus = surplus;
+            }
+        }
+        return bestPrice;
+    }
+
+    /**
+     * Uncross at a single price: market orders first, then bids from the best
+     * down to price against asks from the best up to it, FIFO within each
+     * level, every fill printing at price. Stops when either side has nothing
+     * left at or through price, so at the equilibrium price it executes the
+     * whole auction volume. Icebergs fill slice by slice, as in continuous
+     * matching. Unfilled market orders are left in their levels for the caller.
+     *
+     * @return quantity executed
+     */
+    public long uncross(BookSide bids, BookSide asks, PriceLevel marketBuys, PriceLevel marketSells, long price,
+                        OrderIndex orderIndex, TradeListener listener, BookListener events) {
+        long volume = 0;
+        while (true) {
+            PriceLevel buyLevel = auctionLevel(marketBuys, bids, price);
+            PriceLevel sellLevel = auctionLevel(marketSells, asks, price);
+            if (buyLevel == null || sellLevel == null) break;
+
+            Order buy = buyLevel.peekFirst();
+            Order sell = sellLevel.peekFirst();
+            long fillQty = Math.min(buy.getVisibleQty(), sell.getVisibleQty());
+            buyLevel.fill(buy, fillQty);
+            sellLevel.fill(sell, fillQty);
+            lastTradePrice = price;
+            listener.onTrade(buy.getOrderId(), sell.getOrderId(), price, fillQty, ++tradeSequence);
+            volume += fillQty;
+
+            settle(buy, buyLevel, bids, fillQty, orderIndex, events);
+            settle(sell, sellLevel, asks, fillQty, orderIndex, events);
+        }
+        return volume;
+    }
+
+    /** Number of trades this engine has executed. */
+    public long getTradeSequence() {
+        return tradeSequence;
+    }
+
+    /** Price of the most recent fill in ticks, or {@link Order#NO_PRICE} before the first. */
+    public long getLastTradePrice() {
+        return lastTradePrice;
+    }
+
+    /** Continue from a restored snapshot. */
+    public void resume(long tradeSequence, long lastTradePrice) {
+        this.tradeSequence = tradeSequence;
+        this.lastTradePrice = lastTradePrice;
+    }
+
+    private static long[] prices(List<PriceLevel> levels) {
+        long[] prices = new long[levels.size()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = levels.get(i).getPrice();
+        }
+        return prices;
+    }
+
+    private static long[] cumulative(List<PriceLevel> levels, long marketQty) {
+        long[] sums = new long[levels.size()];
+        long sum = marketQty;
+        for (int i = 0; i < sums.length; i++) {
+            PriceLevel level = levels.get(i);
+            sum += level.totalQuantity() + level.hiddenQuantity();
+            sums[i] = sum;
+        }
+        return sums;
+    }
+
+    /** True if price is strictly closer to reference than current. */
+    private static boolean closer(long price, long current, long reference) {
+        return reference != Order.NO_PRICE && Math.abs(price - reference) < Math.abs(current - reference);
+    }
+
+    /** Market orders first, then the best level if it is at or through price. */
+    private static PriceLevel auctionLevel(PriceLevel market, BookSide side, long price) {
+        if (!market.isEmpty()) return market;
+        PriceLevel best = side.bestLevel();
+        if (best == null) return null;
+        boolean eligible = side.getSide() == Side.BUY ? best.getPrice() >= price : best.getPrice() <= price;
+        return eligible ? best : null;
+    }
+
+    private static void settle(Order order, PriceLevel level, BookSide side, long fillQty,
+                               OrderIndex orderIndex, BookListener events) {
+        boolean inBook = order.hasLimitPrice();     // market orders wait outside the book sides
+        if (inBook) {
+            events.onOrderExecuted(order.getOrderId(), order.getSide(), order.getPrice(), fillQty);
+        }
+        if (!order.isActive()) {
+            level.removeFirst();
+            orderIndex.remove(order.getOrderId());
+            order.recycle();
+            if (inBook && level.isEmpty()) {
+                side.removeLevel(level.getPrice());
+            }
+        } else if (order.getVisibleQty() == 0) {
+            level.requeue(order);
+            events.onOrderAdded(order.getOrderId(), order.getSide(), order.getPrice(), order.getVisibleQty());
+        }
     }
 
     /**
@@ -73,8 +363,9 @@ public class MatchingEngine {
      * BUY crosses if incoming price >= resting ask price.
      * SELL crosses if incoming price <= resting bid price.
      */
-    private boolean priceMatches(Order incoming, BigDecimal restingPrice) {
-        int cmp = incoming.getPrice().compareTo(restingPrice);
-        return incoming.getSide() == Side.BUY ? cmp >= 0 : cmp <= 0;
+    private boolean priceMatches(Order incoming, long restingPrice) {
+        return incoming.getSide() == Side.BUY
+                ? incoming.getPrice() >= restingPrice
+                : incoming.getPrice() <= restingPrice;
     }
 }
@@ -0,0 +1,34 @@
+package com.orderbook.engine;
+
+import com.orderbook.model.Trade;
+
+import java.util.List;
+
+/**
+ * Execution sink invoked by MatchingEngine once per fill, with primitives only.
+ *
+ * Called synchronously on the matching thread, so implementations must be
+ * quick and must not touch the book. Nothing is allocated on the engine side;
+ * consumers decide whether to materialise Trade objects.
+ */
+@FunctionalInterface
+public interface TradeListener {
+
+    TradeListener NO_OP = (buyOrderId, sellOrderId, price, quantity, sequence) -> { };
+
+    /**
+     * @param price    execution price in ticks: the resting order's price in
+     *                 continuous matching, the equilibrium price in an uncross
+     * @param sequence per-book trade sequence, starting at 1
+     */
+    void onTrade(long buyOrderId, long sellOrderId, long price, long quantity, long sequence);
+
+    /**
+     * Adapter for the list-returning APIs: materialises a Trade per fill
+     * (pooled if enabled), with the book's trade sequence as its id.
+     */
+    static TradeListener collectingInto(List<Trade> trades) {
+        return (buyOrderId, sellOrderId, price, quantity, sequence) ->
+                trades.add(Trade.of(sequence, buyOrderId, sellOrderId, price, quantity));
+    }
+}
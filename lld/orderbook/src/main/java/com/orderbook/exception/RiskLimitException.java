@@ -0,0 +1,20 @@
+package com.orderbook.exception;
+
+/** An order refused by the pre-trade risk check. */
+public class RiskLimitException extends InvalidOrderException {
+
+    public enum Reason {
+        ORDER_QUANTITY, ORDER_NOTIONAL, PRICE_COLLAR, OPEN_QUANTITY, OPEN_NOTIONAL
+    }
+
+    private final Reason reason;
+
+    public RiskLimitException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,108 @@
+package com.orderbook.exchange;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring (Vyukov-style).
+ *
+ * Each slot carries a sequence number: a producer may write slot i when its
+ * sequence equals the producer's claimed position, and publishes by bumping it
+ * to position + 1. The consumer reads when sequence == head + 1 and hands the
+ * slot back by setting it to head + capacity. Producers contend only on a CAS
+ * of the tail counter — no locks anywhere.
+ *
+ * close() sets the top bit of the tail, so no claim can succeed after it, and
+ * the tail it replaced is the exact set of items that will ever arrive: the
+ * consumer drains until head reaches it, waiting out producers that claimed
+ * a slot but have not published it yet.
+ */
+final class CommandRing<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private static final long CLOSED = Long.MIN_VALUE;   // top bit of tail
+
+    private final AtomicLong tail = new AtomicLong();
+    private long head;   // consumer-owned
+
+    CommandRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two >= 2");
+        }
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** Try to enqueue. Returns false if the ring is full or closed. Safe from any thread. */
+    boolean offer(T item) {
+        long pos = tail.get();
+        while (true) {
+            if ((pos & CLOSED) != 0) {
+                return false;
+            }
+            int idx = (int) (pos & mask);
+            long diff = sequences.get(idx) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(idx, item);
+                    sequences.set(idx, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Enqueue, spinning while the ring is full (backpressure on the producer).
+     * Returns false, without enqueuing, once the ring is closed.
+     */
+    boolean put(T item) {
+        while (!offer(item)) {
+            if (isClosed()) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    /** Refuse further items; those already claimed will still be delivered. Safe from any thread. */
+    void close() {
+        tail.getAndUpdate(t -> t | CLOSED);
+    }
+
+    boolean isClosed() {
+        return (tail.get() & CLOSED) != 0;
+    }
+
+    /** Closed, and every claimed item has been polled. Consumer thread only. */
+    boolean isDrained() {
+        long t = tail.get();
+        return (t & CLOSED) != 0 && head == (t & ~CLOSED);
+    }
+
+    /** Dequeue or null if empty. Consumer thread only. */
+    T poll() {
+        int idx = (int) (head & mask);
+        if (sequences.get(idx) != head + 1) {
+            return null;
+        }
+        T item = slots.get(idx);
+        slots.lazySet(idx, null);
+        sequences.set(idx, head + mask + 1);
+        head++;
+        return item;
+    }
+}
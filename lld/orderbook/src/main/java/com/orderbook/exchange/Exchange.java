@@ -0,0 +1,227 @@
+package com.orderbook.exchange;
+
+import com.orderbook.book.OrderBook;
+import com.orderbook.exception.InvalidOrderException;
+import com.orderbook.model.Order;
+import com.orderbook.model.TickSize;
+import com.orderbook.model.Trade;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Multi-symbol front door: routes commands to single-writer matching shards.
+ *
+ * Symbols hash onto N shards. Each shard is one thread draining a lock-free
+ * MPSC ring, and it is the only thread that ever touches its books — so the
+ * matching path has no locks, and throughput scales with shard count.
+ *
+ * Lifecycle: list symbols → start() → submit commands → close().
+ * Results come back as futures completed on the shard thread. Each such
+ * command allocates its future, a closure and, for matching commands, a
+ * trade list; {@link #submit} takes a caller-owned command instead, so a
+ * shard fed that way runs garbage-free.
+ *
+ * To pin shards to cores, pass a ThreadFactory that applies CPU affinity
+ * (the JDK has no portable API for it).
+ */
+public class Exchange implements AutoCloseable {
+
+    public static final int DEFAULT_RING_CAPACITY = 1 << 14;
+
+    private final MatchingShard[] shards;
+    private final ThreadFactory threadFactory;
+    private final List<Thread> threads = new ArrayList<>();
+    private final Map<String, OrderBook> books = new HashMap<>();   // frozen after start()
+    private volatile boolean started;
+    private volatile boolean closed;
+
+    public Exchange(int shardCount) {
+        this(shardCount, DEFAULT_RING_CAPACITY, defaultThreadFactory());
+    }
+
+    public Exchange(int shardCount, int ringCapacity, ThreadFactory threadFactory) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shards = new MatchingShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new MatchingShard(ringCapacity);
+        }
+        this.threadFactory = threadFactory;
+    }
+
+    // ── Setup ──────────────────────────────────────────────────
+
+    public OrderBook listSymbol(String symbol, TickSize tickSize) {
+        return listSymbol(new OrderBook(symbol, tickSize));
+    }
+
+    /** Register a pre-built book (e.g. a price-ladder book). Only before start(). */
+    public OrderBook listSymbol(OrderBook book) {
+        if (started) {
+            throw new IllegalStateException("Symbols must be listed before start()");
+        }
+        if (books.putIfAbsent(book.getSymbol(), book) != null) {
+            throw new IllegalArgumentException("Symbol already listed: " + book.getSymbol());
+        }
+        return book;
+    }
+
+    public synchronized void start() {
+        if (closed) {
+            throw new IllegalStateException("Exchange is closed");
+        }
+        if (started) return;
+        for (MatchingShard shard : shards) {
+            Thread t = threadFactory.newThread(shard);
+            threads.add(t);
+            t.start();
+        }
+        started = true;
+    }
+
+    // ── Commands (any thread) ──────────────────────────────────
+
+    public CompletableFuture<List<Trade>> placeOrder(String symbol, Order order) {
+        return run(symbol, book -> book.placeOrder(order));
+    }
+
+    public CompletableFuture<Void> cancelOrder(String symbol, long orderId) {
+        return run(symbol, book -> {
+            book.cancelOrder(orderId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<Trade>> modifyOrder(String symbol, long orderId, BigDecimal newPrice, long newQty) {
+        return modifyOrder(symbol, orderId, bookFor(symbol).getTickSize().toTicks(newPrice), newQty);
+    }
+
+    public CompletableFuture<List<Trade>> modifyOrder(String symbol, long orderId, long newPriceTicks, long newQty) {
+        return run(symbol, book -> book.modifyOrder(orderId, newPriceTicks, newQty));
+    }
+
+    public CompletableFuture<Void> amendOrder(String symbol, long orderId, long newQty) {
+        return run(symbol, book -> {
+            book.amendOrder(orderId, newQty);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> startAuction(String symbol) {
+        return run(symbol, book -> {
+            book.startAuction();
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<Trade>> uncross(String symbol) {
+        return run(symbol, OrderBook::uncross);
+    }
+
+    /** Expire up to maxOrders GTD orders due by nowMillis; completes with the number expired. */
+    public CompletableFuture<Integer> expireOrders(String symbol, long nowMillis, int maxOrders) {
+        return run(symbol, book -> book.expireOrders(nowMillis, maxOrders));
+    }
+
+    /**
+     * Garbage-free path: run command on the symbol's shard thread, with no
+     * future or trade list. The command calls the book's listener-based
+     * methods itself — e.g. {@code book.placeOrder(order, fills)} with a
+     * TradeListener — and reports its own outcome, so command objects can be
+     * pooled and reused once they have run. Take the book from getBook(symbol).
+     *
+     * Returns false, without running command, once the exchange is closing.
+     */
+    public boolean submit(String symbol, Runnable command) {
+        bookFor(symbol);
+        return shardFor(symbol).submit(command);
+    }
+
+    // ── Routing ────────────────────────────────────────────────
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public int shardIndex(String symbol) {
+        return Math.floorMod(symbol.hashCode(), shards.length);
+    }
+
+    /**
+     * The book for a symbol. Its state is owned by the shard thread — only read
+     * it from that thread (inside a command) or after close().
+     */
+    public OrderBook getBook(String symbol) {
+        OrderBook book = books.get(symbol);
+        if (book == null) {
+            throw new InvalidOrderException("Unknown symbol: " + symbol);
+        }
+        return book;
+    }
+
+    private OrderBook bookFor(String symbol) {
+        if (!started || closed) {
+            throw new IllegalStateException("Exchange is not running");
+        }
+        return getBook(symbol);
+    }
+
+    private MatchingShard shardFor(String symbol) {
+        return shards[shardIndex(symbol)];
+    }
+
+    /** Run op against the symbol's book on its shard; the future carries its result or exception. */
+    private <T> CompletableFuture<T> run(String symbol, Function<OrderBook, T> op) {
+        OrderBook book = bookFor(symbol);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        boolean accepted = shardFor(symbol).submit(() -> {
+            try {
+                result.complete(op.apply(book));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        if (!accepted) {
+            result.completeExceptionally(new IllegalStateException("Exchange is not running"));
+        }
+        return result;
+    }
+
+    // ── Shutdown ───────────────────────────────────────────────
+
+    /**
+     * Stops accepting commands, lets shards drain their rings, and joins them.
+     * Every command accepted before close() runs; one submitted concurrently
+     * either makes it into the ring and runs, or is refused and its future
+     * fails with IllegalStateException — none is left pending.
+     */
+    @Override
+    public synchronized void close() throws InterruptedException {
+        if (closed) return;
+        closed = true;
+        for (MatchingShard shard : shards) {
+            shard.stop();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+
+    private static ThreadFactory defaultThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "match-shard-" + counter.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.orderbook.exchange;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One matching thread and its inbound ring.
+ *
+ * Every OrderBook assigned to this shard is touched only by this thread, so
+ * books need no synchronization: the ring is the single point of hand-off.
+ * When idle the loop spins briefly, then parks in short slices.
+ *
+ * stop() closes the ring; the thread exits once it has run every command
+ * that was accepted before that, so none is left behind unrun.
+ */
+final class MatchingShard implements Runnable {
+
+    private static final int SPINS_BEFORE_PARK = 10_000;
+    private static final long PARK_NANOS = 50_000;
+
+    private final CommandRing<Runnable> inbound;
+
+    MatchingShard(int ringCapacity) {
+        this.inbound = new CommandRing<>(ringCapacity);
+    }
+
+    /** False if the shard is stopping and command was not accepted. */
+    boolean submit(Runnable command) {
+        return inbound.put(command);
+    }
+
+    void stop() {
+        inbound.close();
+    }
+
+    @Override
+    public void run() {
+        int idle = 0;
+        while (true) {
+            Runnable command = inbound.poll();
+            if (command != null) {
+                command.run();
+                idle = 0;
+            } else if (inbound.isDrained()) {
+                break;
+            } else if (++idle < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.orderbook.journal;
+
+import com.orderbook.model.OrderType;
+import com.orderbook.model.Side;
+import com.orderbook.model.TimeInForce;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary layout shared by the journal writer and reader.
+ *
+ * File = 64-byte header + fixed 64-byte records. 64 divides the page size, so
+ * a record never straddles a page and a torn write can only lose whole records.
+ *
+ * Record layout (little-endian):
+ *   0  orderId        8
+ *   8  price (ticks)  8
+ *  16  quantity       8   AMEND: new remaining quantity
+ *  24  newOrderId     8   MODIFY: replacement id; PLACE: GTD expiry (epoch millis), else 0
+ *  32  type           1   1=PLACE 2=CANCEL 3=MODIFY 4=EXPIRE 5=AUCTION_START 6=UNCROSS
+ *                         7=AMEND
+ *  33  side           1   0=BUY 1=SELL
+ *  34  orderType      1   0=LIMIT 1=MARKET 2=STOP 3=STOP_LIMIT
+ *  35  timeInForce    1   0=GTC (IOC for MARKET) 1=IOC 2=FOK 3=GTD
+ *  36  displayQty     4   iceberg peak; 0 = fully displayed
+ *  40  accountId      4   PLACE only; 0 = none
+ *  44  (reserved)     4   0
+ *  48  triggerPrice   8   STOP / STOP_LIMIT only, else 0
+ *  56  checksum       8   over the record and its sequence; written last
+ *
+ * A record's sequence is its position: record n (from 1) starts at
+ * HEADER_SIZE + (n - 1) * RECORD_SIZE. The checksum is seeded with it, so it
+ * doubles as the commit marker — a record is there once its checksum matches,
+ * and an unwritten (zeroed) slot never does, which marks the end of the log. A
+ * MODIFY replacement inherits the original order's time in force and account.
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x4F424A31;   // "OBJ1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 64;
+
+    // The writer's exclusive lock covers one byte far past any data, so it marks the writer
+    // without getting in the way of readers on platforms where locks are mandatory
+    static final long WRITER_LOCK_POSITION = Long.MAX_VALUE - 1;
+
+    static final byte PLACE = 1;
+    static final byte CANCEL = 2;
+    static final byte MODIFY = 3;
+    static final byte EXPIRE = 4;
+    static final byte AUCTION_START = 5;
+    static final byte UNCROSS = 6;
+    static final byte AMEND = 7;
+
+    static final int OFF_ORDER_ID = 0;
+    static final int OFF_PRICE = 8;
+    static final int OFF_QUANTITY = 16;
+    static final int OFF_NEW_ORDER_ID = 24;
+    static final int OFF_EXPIRE_AT = 24;
+    static final int OFF_TYPE = 32;
+    static final int OFF_SIDE = 33;
+    static final int OFF_ORDER_TYPE = 34;
+    static final int OFF_TIME_IN_FORCE = 35;
+    static final int OFF_DISPLAY_QTY = 36;
+    static final int OFF_ACCOUNT = 40;
+    static final int OFF_TRIGGER_PRICE = 48;
+    static final int OFF_CHECKSUM = 56;
+
+    private JournalFormat() {
+    }
+
+    /** Check the format version in a journal header. */
+    static void checkVersion(ByteBuffer buf) throws IOException {
+        int version = buf.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported journal version " + version);
+        }
+    }
+
+    /** Offset of the record with this sequence. */
+    static long offset(long sequence) {
+        return HEADER_SIZE + (sequence - 1) * RECORD_SIZE;
+    }
+
+    /** Over the 56 bytes before the checksum, seeded with the sequence. Never 0 for an all-zero record. */
+    static long checksum(ByteBuffer buf, int pos, long sequence) {
+        long h = sequence;
+        for (int off = 0; off < OFF_CHECKSUM; off += 8) {
+            h = h * 31 + buf.getLong(pos + off);
+        }
+        return h;
+    }
+
+    /** Write the checksum of a record whose other fields are in place — this publishes it. */
+    static void sign(ByteBuffer buf, int pos, long sequence) {
+        buf.putLong(pos + OFF_CHECKSUM, checksum(buf, pos, sequence));
+    }
+
+    /** True if the record at pos is complete and is the one with the expected sequence. */
+    static boolean isValid(ByteBuffer buf, int pos, long expectedSequence) {
+        return pos + RECORD_SIZE <= buf.limit()
+                && buf.getLong(pos + OFF_CHECKSUM) == checksum(buf, pos, expectedSequence);
+    }
+
+    static byte encode(Side side) {
+        return (byte) (side == Side.BUY ? 0 : 1);
+    }
+
+    static Side decodeSide(byte b) {
+        return b == 0 ? Side.BUY : Side.SELL;
+    }
+
+    static byte encode(OrderType type) {
+        return switch (type) {
+            case LIMIT -> 0;
+            case MARKET -> 1;
+            case STOP -> 2;
+            case STOP_LIMIT -> 3;
+        };
+    }
+
+    static OrderType decodeOrderType(byte b) {
+        return switch (b) {
+            case 0 -> OrderType.LIMIT;
+            case 1 -> OrderType.MARKET;
+            case 2 -> OrderType.STOP;
+            case 3 -> OrderType.STOP_LIMIT;
+            default -> throw new IllegalStateException("Unknown order type " + b);
+        };
+    }
+
+    static byte encode(TimeInForce timeInForce) {
+        return switch (timeInForce) {
+            case GTC -> 0;
+            case IOC -> 1;
+            case FOK -> 2;
+            case GTD -> 3;
+        };
+    }
+
+    /** 0 is "the order type's default": IOC for a market order, GTC otherwise. */
+    static TimeInForce decodeTimeInForce(byte b, OrderType type) {
+        return switch (b) {
+            case 0 -> type == OrderType.MARKET ? TimeInForce.IOC : TimeInForce.GTC;
+            case 1 -> TimeInForce.IOC;
+            case 2 -> TimeInForce.FOK;
+            case 3 -> TimeInForce.GTD;
+            default -> throw new IllegalStateException("Unknown time in force " + b);
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.orderbook.journal;
+
+import com.orderbook.book.CommandJournal;
+import com.orderbook.book.OrderBook;
+import com.orderbook.book.RiskCheck;
+import com.orderbook.engine.TradeListener;
+import com.orderbook.model.Order;
+import com.orderbook.model.OrderType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.orderbook.journal.JournalFormat.*;
+
+/**
+ * Rebuilds an OrderBook by re-applying journaled commands in sequence order.
+ *
+ * Orders are recreated with their original ids (Order.restore), and the
+ * engine is deterministic, so replay reproduces bids, asks, the order index
+ * and every fill exactly. Reading stops at the first missing or torn record.
+ */
+public final class JournalReader {
+
+    private JournalReader() {
+    }
+
+    /** Replay the whole journal. Returns the last applied sequence (0 if none). */
+    public static long replay(Path path, OrderBook book) throws IOException {
+        return replay(path, book, 0);
+    }
+
+    /**
+     * Replay records with sequence > afterSequence — the tail after a snapshot.
+     * The book must not have a journal attached yet, or replay would re-record.
+     */
+    public static long replay(Path path, OrderBook book, long afterSequence) throws IOException {
+        if (book.getJournal() != CommandJournal.NO_OP) {
+            throw new IllegalStateException("Replay into a book before attaching its journal");
+        }
+        if (book.getRiskCheck() != RiskCheck.NO_OP) {
+            throw new IllegalStateException("Replay into a book before attaching its risk check");
+        }
+        if (!Files.exists(path)) {
+            return afterSequence;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.limit() < HEADER_SIZE || buf.getInt(0) != MAGIC) {
+                throw new IOException("Not an order book journal: " + path);
+            }
+
+            checkVersion(buf);
+            long sequence = 0;
+            int pos = HEADER_SIZE;
+            while (isValid(buf, pos, sequence + 1)) {
+                sequence++;
+                if (sequence > afterSequence) {
+                    apply(buf, pos, book, TradeListener.NO_OP);
+                }
+                pos += RECORD_SIZE;
+            }
+            return Math.max(sequence, afterSequence);
+        }
+    }
+
+    /** Re-apply the record at pos to book; trades it produces go to listener. */
+    static void apply(ByteBuffer buf, int pos, OrderBook book, TradeListener listener) {
+        long orderId = buf.getLong(pos + OFF_ORDER_ID);
+        long price = buf.getLong(pos + OFF_PRICE);
+        long quantity = buf.getLong(pos + OFF_QUANTITY);
+        long trigger = buf.getLong(pos + OFF_TRIGGER_PRICE);
+        long display = buf.getInt(pos + OFF_DISPLAY_QTY);
+
+        switch (buf.get(pos + OFF_TYPE)) {
+            case PLACE -> {
+                OrderType type = decodeOrderType(buf.get(pos + OFF_ORDER_TYPE));
+                Order order = Order.restore(orderId, decodeSide(buf.get(pos + OFF_SIDE)), type, price, trigger,
+                        quantity, display, decodeTimeInForce(buf.get(pos + OFF_TIME_IN_FORCE), type),
+                        buf.getLong(pos + OFF_EXPIRE_AT));
+                int account = buf.getInt(pos + OFF_ACCOUNT);
+                if (account != Order.NO_ACCOUNT) {
+                    order.forAccount(account);
+                }
+                book.placeOrder(order, listener);
+            }
+            case CANCEL -> book.cancelOrder(orderId);
+            case MODIFY -> {
+                Order existing = book.getOrder(orderId);
+                Order replacement = Order.restore(buf.getLong(pos + OFF_NEW_ORDER_ID), existing.getSide(),
+                        OrderType.LIMIT, price, Order.NO_PRICE, quantity, display,
+                        existing.getTimeInForce(), existing.getExpireAtMillis());
+                if (existing.getAccountId() != Order.NO_ACCOUNT) {
+                    replacement.forAccount(existing.getAccountId());
+                }
+                book.modifyOrder(orderId, replacement, listener);
+            }
+            case AMEND -> book.amendOrder(orderId, quantity);
+            case EXPIRE -> book.expireOrder(orderId);
+            case AUCTION_START -> book.startAuction();
+            case UNCROSS -> book.uncross(listener);
+            default -> throw new IllegalStateException("Unknown journal record type at offset " + pos);
+        }
+    }
+}
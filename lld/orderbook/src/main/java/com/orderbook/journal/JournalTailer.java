@@ -0,0 +1,137 @@
+package com.orderbook.journal;
+
+import com.orderbook.book.CommandJournal;
+import com.orderbook.book.OrderBook;
+import com.orderbook.book.RiskCheck;
+import com.orderbook.engine.TradeListener;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.orderbook.journal.JournalFormat.*;
+
+/**
+ * Follows a journal while another process (or thread) is still appending to
+ * it, applying each new record to a book as it appears: JournalReader for a
+ * live file.
+ *
+ * The file is mapped read-only; both sides map the same page-cache pages, so
+ * a record is visible here as soon as the writer stores it — no syscall per
+ * record, and nothing lost if the writer's process dies. A record counts once
+ * its checksum is in place and matches, so a half-written one is simply not
+ * there yet. The journal doubles its file to grow; the tailer
+ * remaps when it reaches the end of its mapping and the file has grown.
+ *
+ * The file may not exist yet; poll() returns 0 until the writer has created
+ * it and written the header. Not thread-safe: one thread polls.
+ *
+ * close() releases the file but keeps the position: a later poll() maps it
+ * again and carries on from the same record.
+ */
+public class JournalTailer implements AutoCloseable {
+
+    private final Path path;
+    private final long afterSequence;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private boolean opened;           // header read
+    private int position = HEADER_SIZE;
+    private long sequence;            // last record passed, applied or skipped
+
+    /** Follow path, skipping records up to afterSequence (already in the book, e.g. from a snapshot). */
+    public JournalTailer(Path path, long afterSequence) {
+        this.path = path;
+        this.afterSequence = afterSequence;
+    }
+
+    /**
+     * Apply up to limit new records to book, in sequence; trades go to listener.
+     * Returns the number applied, 0 if there is nothing new. Like replay, the
+     * book must have no journal or risk check attached.
+     */
+    public int poll(OrderBook book, TradeListener listener, int limit) throws IOException {
+        if (book.getJournal() != CommandJournal.NO_OP) {
+            throw new IllegalStateException("Tail into a book before attaching its journal");
+        }
+        if (book.getRiskCheck() != RiskCheck.NO_OP) {
+            throw new IllegalStateException("Tail into a book before attaching its risk check");
+        }
+        if (!opened && !open()) {
+            return 0;
+        }
+        int applied = 0;
+        while (applied < limit) {
+            if (position + RECORD_SIZE > buffer.limit() && !remap()) break;
+            if (!isValid(buffer, position, sequence + 1)) break;
+            sequence++;
+            if (sequence > afterSequence) {
+                JournalReader.apply(buffer, position, book, listener);
+                applied++;
+            }
+            position += RECORD_SIZE;
+        }
+        return applied;
+    }
+
+    /** Sequence of the last record applied or skipped. */
+    public long getLastSequence() {
+        return Math.max(sequence, afterSequence);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        opened = false;
+        if (channel != null) {
+            FileChannel open = channel;
+            channel = null;
+            open.close();
+        }
+    }
+
+    // ── Internals ──────────────────────────────────────────────
+
+    /** Map the file and read its header, once the writer has got that far. */
+    private boolean open() throws IOException {
+        if (channel == null) {
+            if (!Files.exists(path)) return false;
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+        if (buffer == null || buffer.limit() < HEADER_SIZE) {
+            if (channel.size() < HEADER_SIZE) return false;
+            map();
+        }
+        int magic = buffer.getInt(0);
+        if (magic == 0 || buffer.getInt(4) == 0) {
+            return false;                       // header not written yet
+        }
+        if (magic != MAGIC) {
+            throw new IOException("Not an order book journal: " + path);
+        }
+        checkVersion(buffer);
+        opened = true;
+        return true;
+    }
+
+    /** Pick up a file the writer has grown; false if it hasn't. */
+    private boolean remap() throws IOException {
+        if (channel.size() <= buffer.limit()) return false;
+        map();
+        return position + RECORD_SIZE <= buffer.limit();
+    }
+
+    private void map() throws IOException {
+        long size = Math.min(channel.size(), Integer.MAX_VALUE);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
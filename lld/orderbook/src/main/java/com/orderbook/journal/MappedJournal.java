@@ -0,0 +1,244 @@
+package com.orderbook.journal;
+
+import com.orderbook.book.CommandJournal;
+import com.orderbook.model.Order;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.orderbook.journal.JournalFormat.*;
+
+/**
+ * Append-only command journal written through a memory-mapped file.
+ *
+ * Recording is a handful of stores into the mapping — the data survives a
+ * process crash as soon as it is written, since the kernel owns the pages.
+ * commit() forces only the dirty range to disk, and is meant to run once per
+ * batch (group commit), so power-loss durability costs one msync per burst
+ * rather than one fsync per order.
+ *
+ * One writer per file: open() takes an exclusive lock on it, which the OS
+ * drops when the writer closes or its process dies. A hot standby watches
+ * for exactly that ({@link #isOpenForWriting}) before taking over the file.
+ *
+ * Not thread-safe: owned by the book's matching thread.
+ */
+public class MappedJournal implements CommandJournal, AutoCloseable {
+
+    public static final int DEFAULT_INITIAL_SIZE = 64 << 20;
+
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position;            // next write offset
+    private int committed;           // everything before this is forced
+    private long sequence;           // last written sequence
+
+    private MappedJournal(FileChannel channel, int initialSize, long knownSequence) throws IOException {
+        this.channel = channel;
+        boolean fresh = channel.size() == 0;
+        map((int) Math.max(initialSize, channel.size()));
+
+        if (fresh) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.force(0, HEADER_SIZE);
+        } else if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an order book journal");
+        }
+        checkVersion(buffer);
+
+        // Find the end of the valid log, from the last record the caller has already checked
+        position = HEADER_SIZE;
+        if (knownSequence > 0) {
+            int known = (int) offset(knownSequence);
+            if (!isValid(buffer, known, knownSequence)) {
+                throw new IOException("Journal has no valid record " + knownSequence);
+            }
+            sequence = knownSequence;
+            position = known + RECORD_SIZE;
+        }
+        while (isValid(buffer, position, sequence + 1)) {
+            sequence++;
+            position += RECORD_SIZE;
+        }
+        committed = position;
+    }
+
+    public static MappedJournal open(Path path) throws IOException {
+        return open(path, DEFAULT_INITIAL_SIZE);
+    }
+
+    /** Open for append, positioned after the last valid record. */
+    public static MappedJournal open(Path path, int initialSize) throws IOException {
+        return open(path, initialSize, 0);
+    }
+
+    /**
+     * Open for append where a reader (e.g. a JournalTailer) has already
+     * validated every record through lastSequence: the end of the log is
+     * looked for from there rather than from the start of the file.
+     */
+    public static MappedJournal resume(Path path, long lastSequence) throws IOException {
+        return open(path, DEFAULT_INITIAL_SIZE, lastSequence);
+    }
+
+    private static MappedJournal open(Path path, int initialSize, long knownSequence) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (tryLockWriter(channel) == null) {
+                throw new IOException("Journal " + path + " is already open for writing");
+            }
+            return new MappedJournal(channel, initialSize, knownSequence);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * True while some MappedJournal, in this process or another, has path open.
+     * Don't probe a journal this process writes from a different channel:
+     * closing the probe can drop the process's lock at the OS level.
+     */
+    public static boolean isOpenForWriting(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = tryLockWriter(channel);
+            if (lock == null) {
+                return true;
+            }
+            lock.release();
+            return false;
+        }
+    }
+
+    // ── CommandJournal ─────────────────────────────────────────
+
+    @Override
+    public void recordPlace(Order order) {
+        append(PLACE, order.getOrderId(), order, 0, 0);
+    }
+
+    @Override
+    public void recordExpire(long orderId) {
+        append(EXPIRE, orderId, null, 0, 0);
+    }
+
+    @Override
+    public void recordAuctionStart() {
+        append(AUCTION_START, 0, null, 0, 0);
+    }
+
+    @Override
+    public void recordUncross() {
+        append(UNCROSS, 0, null, 0, 0);
+    }
+
+    @Override
+    public void recordCancel(long orderId) {
+        append(CANCEL, orderId, null, 0, 0);
+    }
+
+    @Override
+    public void recordModify(long orderId, Order replacement) {
+        append(MODIFY, orderId, replacement, replacement.getOrderId(), 0);
+    }
+
+    @Override
+    public void recordAmend(long orderId, long newQty) {
+        append(AMEND, orderId, null, 0, newQty);
+    }
+
+    @Override
+    public void commit() {
+        if (position > committed) {
+            buffer.force(committed, position - committed);
+            committed = position;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        commit();
+        channel.close();
+    }
+
+    /** Sequence of the last record written (0 if the journal is empty). */
+    public long getLastSequence() {
+        return sequence;
+    }
+
+    // ── Internals ──────────────────────────────────────────────
+
+    /** quantity is used only when there is no order to take it from. */
+    private void append(byte type, long orderId, Order order, long newOrderId, long quantity) {
+        ensureCapacity();
+        int pos = position;
+        long seq = sequence + 1;
+
+        buffer.putLong(pos + OFF_ORDER_ID, orderId);
+        buffer.putLong(pos + OFF_PRICE, order != null && order.hasLimitPrice() ? order.getPrice() : 0);
+        buffer.putLong(pos + OFF_QUANTITY, order != null ? order.getRemainingQty() : quantity);
+        buffer.putLong(pos + OFF_NEW_ORDER_ID, newOrderId);
+        buffer.putLong(pos + OFF_TYPE, 0);
+        buffer.put(pos + OFF_TYPE, type);
+        buffer.putLong(pos + OFF_ACCOUNT, 0);
+        buffer.putLong(pos + OFF_TRIGGER_PRICE, 0);
+        if (order != null) {
+            buffer.put(pos + OFF_SIDE, encode(order.getSide()));
+            buffer.put(pos + OFF_ORDER_TYPE, encode(order.getType()));
+            buffer.put(pos + OFF_TIME_IN_FORCE, encode(order.getTimeInForce()));
+            if (type == PLACE) {
+                buffer.putLong(pos + OFF_EXPIRE_AT, order.getExpireAtMillis());
+                buffer.putInt(pos + OFF_ACCOUNT, (int) order.getAccountId());
+            }
+            buffer.putInt(pos + OFF_DISPLAY_QTY, (int) order.getDisplayQty());
+            if (order.isStop()) {
+                buffer.putLong(pos + OFF_TRIGGER_PRICE, order.getTriggerPrice());
+            }
+        }
+        sign(buffer, pos, seq);                    // publishes the record
+
+        sequence = seq;
+        position = pos + RECORD_SIZE;
+    }
+
+    /** The writer lock, or null if another writer holds it. */
+    private static FileLock tryLockWriter(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock(WRITER_LOCK_POSITION, 1, false);
+        } catch (OverlappingFileLockException e) {
+            return null;   // held through another channel in this JVM
+        }
+    }
+
+    private void ensureCapacity() {
+        if (position + RECORD_SIZE <= buffer.capacity()) return;
+        commit();
+        long newSize = (long) buffer.capacity() * 2;
+        if (newSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Journal full — roll to a new file");
+        }
+        try {
+            map((int) newSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void map(int size) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
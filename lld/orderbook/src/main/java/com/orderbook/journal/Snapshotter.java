@@ -0,0 +1,141 @@
+package com.orderbook.journal;
+
+import com.orderbook.book.BookSnapshot;
+import com.orderbook.book.OrderBook;
+import com.orderbook.book.SnapshotCapture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Periodic book snapshots so recovery is "load snapshot + replay tail".
+ *
+ * The matching thread only begins each snapshot (OrderBook.beginSnapshot:
+ * O(price levels), no orders copied). The background thread copies the
+ * levels, encodes, fsyncs and renames the file into place; the matching
+ * thread copies a level itself only if a command changes it before the
+ * background thread has got to it (copy on write, see SnapshotCapture).
+ *
+ * Files are named {@code <symbol>-<lastSequence>.snap}; the newest wins.
+ */
+public class Snapshotter implements AutoCloseable {
+
+    private static final String SUFFIX = ".snap";
+
+    private final Path directory;
+    private final long interval;
+    private final ExecutorService writer;
+    private long lastSnapshotSequence;   // matching-thread only
+    private SnapshotCapture lastCapture;
+
+    /** @param interval take a snapshot every this many accepted commands */
+    public Snapshotter(Path directory, long interval) throws IOException {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.interval = interval;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "snapshot-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Snapshot if interval commands have been applied since the last one and
+     * the last one has been copied. Matching thread only.
+     */
+    public Optional<CompletableFuture<Path>> maybeSnapshot(OrderBook book) {
+        if (book.getLastSequence() - lastSnapshotSequence < interval
+                || (lastCapture != null && !lastCapture.isCopied())) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot(book));
+    }
+
+    /** Begin a snapshot now (matching thread) and copy and write it in the background. */
+    public CompletableFuture<Path> snapshot(OrderBook book) {
+        SnapshotCapture capture = book.beginSnapshot();
+        lastCapture = capture;
+        lastSnapshotSequence = capture.getLastSequence();
+        return CompletableFuture.supplyAsync(() -> write(capture.complete()), writer);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    // ── Recovery ───────────────────────────────────────────────
+
+    /**
+     * Rebuild book (which must be empty) from the newest snapshot in directory,
+     * then replay journal records after it. Returns the last applied sequence.
+     */
+    public static long recover(Path directory, Path journal, OrderBook book) throws IOException {
+        Optional<Path> latest = latest(directory, book.getSymbol());
+        long fromSequence = 0;
+        if (latest.isPresent()) {
+            try (InputStream in = Files.newInputStream(latest.get())) {
+                BookSnapshot snap = BookSnapshot.readFrom(in);
+                book.restoreSnapshot(snap);
+                fromSequence = snap.getLastSequence();
+            }
+        }
+        return JournalReader.replay(journal, book, fromSequence);
+    }
+
+    public static Optional<Path> latest(Path directory, String symbol) throws IOException {
+        if (!Files.isDirectory(directory)) return Optional.empty();
+        String prefix = symbol + "-";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(SUFFIX) && sequenceOf(p, prefix) >= 0;
+                    })
+                    .max((a, b) -> Long.compare(sequenceOf(a, prefix), sequenceOf(b, prefix)));
+        }
+    }
+
+    // ── Internals ──────────────────────────────────────────────
+
+    private Path write(BookSnapshot snap) {
+        Path target = directory.resolve(snap.getSymbol() + "-" + snap.getLastSequence() + SUFFIX);
+        Path tmp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream out = Channels.newOutputStream(channel);
+                snap.writeTo(out);
+                channel.force(true);
+            }
+            // Readers never see a half-written snapshot
+            return Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long sequenceOf(Path file, String prefix) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.orderbook.loadgen;
+
+import com.orderbook.model.OrderType;
+import com.orderbook.model.Side;
+import com.orderbook.model.TimeInForce;
+import com.orderbook.pipeline.CommandType;
+
+/**
+ * One command of an order flow, as read from a file or generated.
+ *
+ * Mutable and reused: a {@link FlowSource} overwrites the caller's instance
+ * on every next(), so reading a flow allocates nothing per event.
+ *
+ * Orders are named by a flow reference chosen by whoever recorded the flow,
+ * not by book order ids (which the book assigns). CANCEL, MODIFY and AMEND
+ * target the order last placed under that reference; a modified order keeps it.
+ */
+public final class FlowEvent {
+
+    long timestampNanos;     // recorded time; only differences matter
+    CommandType action;
+    long ref;                // > 0
+    Side side;               // PLACE only
+    OrderType orderType;     // PLACE only: LIMIT or MARKET
+    TimeInForce timeInForce; // PLACE only: GTC, IOC or FOK
+    long price;              // ticks; PLACE limit and MODIFY
+    long quantity;           // PLACE, MODIFY; AMEND: new remaining quantity
+    long displayQty;         // PLACE iceberg slice, 0 otherwise
+
+    /**
+     * A new order. Flows carry no trigger price or expiry time, so only LIMIT
+     * and MARKET orders and GTC, IOC and FOK are accepted.
+     */
+    public FlowEvent place(long timestampNanos, long ref, Side side, OrderType orderType, TimeInForce timeInForce,
+                           long price, long quantity, long displayQty) {
+        if (orderType != OrderType.LIMIT && orderType != OrderType.MARKET) {
+            throw new IllegalArgumentException("Flows carry no trigger price: " + orderType + " is not supported");
+        }
+        if (timeInForce == TimeInForce.GTD) {
+            throw new IllegalArgumentException("Flows carry no expiry time: GTD is not supported");
+        }
+        return set(timestampNanos, CommandType.PLACE, ref, side, orderType, timeInForce, price, quantity, displayQty);
+    }
+
+    public FlowEvent cancel(long timestampNanos, long ref) {
+        return set(timestampNanos, CommandType.CANCEL, ref, null, null, null, 0, 0, 0);
+    }
+
+    public FlowEvent modify(long timestampNanos, long ref, long newPrice, long newQty) {
+        return set(timestampNanos, CommandType.MODIFY, ref, null, null, null, newPrice, newQty, 0);
+    }
+
+    public FlowEvent amend(long timestampNanos, long ref, long newQty) {
+        return set(timestampNanos, CommandType.AMEND, ref, null, null, null, 0, newQty, 0);
+    }
+
+    private FlowEvent set(long timestampNanos, CommandType action, long ref, Side side, OrderType orderType,
+                          TimeInForce timeInForce, long price, long quantity, long displayQty) {
+        if (ref <= 0) {
+            throw new IllegalArgumentException("Flow reference must be positive");
+        }
+        this.timestampNanos = timestampNanos;
+        this.action = action;
+        this.ref = ref;
+        this.side = side;
+        this.orderType = orderType;
+        this.timeInForce = timeInForce;
+        this.price = price;
+        this.quantity = quantity;
+        this.displayQty = displayQty;
+        return this;
+    }
+
+    public long getTimestampNanos()       { return timestampNanos; }
+    public CommandType getAction()        { return action; }
+    public long getRef()                  { return ref; }
+    public Side getSide()                 { return side; }
+    public OrderType getOrderType()       { return orderType; }
+    public TimeInForce getTimeInForce()   { return timeInForce; }
+    public long getPrice()                { return price; }
+    public long getQuantity()             { return quantity; }
+    public long getDisplayQty()           { return displayQty; }
+
+    @Override
+    public String toString() {
+        return switch (action) {
+            case PLACE -> String.format("%d PLACE #%d %s %s %s %d@%d%s", timestampNanos, ref, side, orderType,
+                    timeInForce, quantity, price, displayQty > 0 ? " show " + displayQty : "");
+            case CANCEL -> String.format("%d CANCEL #%d", timestampNanos, ref);
+            case MODIFY -> String.format("%d MODIFY #%d %d@%d", timestampNanos, ref, quantity, price);
+            case AMEND -> String.format("%d AMEND #%d %d", timestampNanos, ref, quantity);
+        };
+    }
+}
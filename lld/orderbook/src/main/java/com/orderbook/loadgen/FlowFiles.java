@@ -0,0 +1,270 @@
+package com.orderbook.loadgen;
+
+import com.orderbook.model.OrderType;
+import com.orderbook.model.Side;
+import com.orderbook.model.TimeInForce;
+import com.orderbook.pipeline.CommandType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reading and writing recorded order flow.
+ *
+ * CSV, one command per line ({@code #} starts a comment, blank fields may be
+ * left empty where unused):
+ * <pre>
+ *   timestamp_nanos,action,ref,side,type,price,quantity,display,tif
+ *   1000,PLACE,1,BUY,LIMIT,10050,100,0,GTC
+ *   1800,PLACE,2,SELL,MARKET,,40,,IOC
+ *   2500,MODIFY,1,,,10049,80,,
+ *   2900,AMEND,1,,,,60,,
+ *   3100,CANCEL,1,,,,,,
+ * </pre>
+ * Prices are ticks. Types are LIMIT and MARKET, time in force GTC, IOC or
+ * FOK: there are no trigger price or expiry columns, so a STOP, STOP_LIMIT
+ * or GTD placement is a parse error. Convenient to produce from other
+ * systems, but slow to parse — convert large captures to the binary form
+ * once.
+ *
+ * Binary: an 8-byte header ("OBF" + version) then fixed 40-byte
+ * little-endian records:
+ * <pre>
+ *   0  timestamp  8    24 quantity  8    36 side      1
+ *   8  ref        8    32 display   4    37 type      1
+ *   16 price      8                      38 tif       1
+ *                                        39 action    1
+ * </pre>
+ * Files ending in ".csv" are CSV; anything else is binary.
+ */
+public final class FlowFiles {
+
+    static final int MAGIC = 0x3146424F;          // "OBF1" little-endian
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 40;
+    private static final int BATCH_RECORDS = 4096;
+
+    private static final Side[] SIDES = Side.values();
+    private static final OrderType[] TYPES = OrderType.values();
+    private static final TimeInForce[] TIFS = TimeInForce.values();
+    private static final CommandType[] ACTIONS = CommandType.values();
+
+    private FlowFiles() {
+    }
+
+    /** Open a recorded flow, choosing the format by file extension. */
+    public static FlowSource open(Path path) throws IOException {
+        return isCsv(path) ? new CsvSource(path) : new BinarySource(path);
+    }
+
+    /**
+     * Copy up to maxEvents from source into path (format by extension).
+     * Returns the number of events written.
+     */
+    public static long write(Path path, FlowSource source, long maxEvents) throws IOException {
+        return isCsv(path) ? writeCsv(path, source, maxEvents) : writeBinary(path, source, maxEvents);
+    }
+
+    private static boolean isCsv(Path path) {
+        return path.getFileName().toString().toLowerCase().endsWith(".csv");
+    }
+
+    // ── CSV ────────────────────────────────────────────────────
+
+    private static long writeCsv(Path path, FlowSource source, long maxEvents) throws IOException {
+        FlowEvent e = new FlowEvent();
+        long written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            out.write("# timestamp_nanos,action,ref,side,type,price,quantity,display,tif");
+            out.newLine();
+            while (written < maxEvents && source.next(e)) {
+                StringBuilder line = new StringBuilder(64)
+                        .append(e.timestampNanos).append(',').append(e.action).append(',').append(e.ref).append(',');
+                switch (e.action) {
+                    case PLACE -> line.append(e.side).append(',').append(e.orderType).append(',')
+                            .append(e.orderType == OrderType.LIMIT ? Long.toString(e.price) : "").append(',')
+                            .append(e.quantity).append(',').append(e.displayQty).append(',').append(e.timeInForce);
+                    case MODIFY -> line.append(",,").append(e.price).append(',').append(e.quantity).append(",,");
+                    case AMEND -> line.append(",,,").append(e.quantity).append(",,");
+                    case CANCEL -> line.append(",,,,,");
+                }
+                out.write(line.toString());
+                out.newLine();
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private static final class CsvSource implements FlowSource {
+        private final BufferedReader in;
+        private long lineNumber;
+
+        CsvSource(Path path) throws IOException {
+            this.in = Files.newBufferedReader(path, StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public boolean next(FlowEvent event) throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("timestamp")) continue;
+                try {
+                    parse(line.split(",", -1), event);
+                    return true;
+                } catch (RuntimeException e) {
+                    throw new IOException("Bad flow record on line " + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+            return false;
+        }
+
+        private static void parse(String[] f, FlowEvent event) {
+            if (f.length < 3) {
+                throw new IllegalArgumentException("expected at least timestamp,action,ref");
+            }
+            long ts = Long.parseLong(f[0].strip());
+            long ref = Long.parseLong(f[2].strip());
+            switch (CommandType.valueOf(f[1].strip().toUpperCase())) {
+                case CANCEL -> event.cancel(ts, ref);
+                case MODIFY -> event.modify(ts, ref, number(f, 5), number(f, 6));
+                case AMEND -> event.amend(ts, ref, number(f, 6));
+                case PLACE -> {
+                    OrderType type = OrderType.valueOf(field(f, 4).toUpperCase());
+                    String tif = field(f, 8);
+                    event.place(ts, ref, Side.valueOf(field(f, 3).toUpperCase()), type,
+                            tif.isEmpty() ? (type == OrderType.MARKET ? TimeInForce.IOC : TimeInForce.GTC)
+                                    : TimeInForce.valueOf(tif.toUpperCase()),
+                            type == OrderType.LIMIT ? number(f, 5) : 0, number(f, 6),
+                            field(f, 7).isEmpty() ? 0 : number(f, 7));
+                }
+            }
+        }
+
+        private static String field(String[] f, int i) {
+            return i < f.length ? f[i].strip() : "";
+        }
+
+        private static long number(String[] f, int i) {
+            return Long.parseLong(field(f, i));
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    // ── Binary ─────────────────────────────────────────────────
+
+    private static long writeBinary(Path path, FlowSource source, long maxEvents) throws IOException {
+        FlowEvent e = new FlowEvent();
+        ByteBuffer buf = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long written = 0;
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buf.putInt(MAGIC).putInt(0);
+            while (written < maxEvents && source.next(e)) {
+                if (buf.remaining() < RECORD_SIZE) {
+                    drain(buf, out);
+                }
+                buf.putLong(e.timestampNanos).putLong(e.ref).putLong(e.price).putLong(e.quantity)
+                        .putInt((int) e.displayQty)
+                        .put(ordinal(e.side)).put(ordinal(e.orderType)).put(ordinal(e.timeInForce))
+                        .put((byte) e.action.ordinal());
+                written++;
+            }
+            drain(buf, out);
+            out.force(false);
+        }
+        return written;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? -1 : (byte) value.ordinal();
+    }
+
+    private static void drain(ByteBuffer buf, FileChannel out) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            out.write(buf);
+        }
+        buf.clear();
+    }
+
+    /** Reads whole batches of records into one direct buffer, so next() is a few field loads. */
+    private static final class BinarySource implements FlowSource {
+        private final FileChannel in;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private long recordNumber;
+
+        BinarySource(Path path) throws IOException {
+            this.in = FileChannel.open(path, StandardOpenOption.READ);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            fill(header);
+            if (header.position() < HEADER_SIZE || header.getInt(0) != MAGIC) {
+                in.close();
+                throw new IOException("Not a binary order flow file: " + path);
+            }
+            buf.limit(0);
+        }
+
+        @Override
+        public boolean next(FlowEvent event) throws IOException {
+            if (buf.remaining() < RECORD_SIZE && !refill()) {
+                return false;
+            }
+            long ts = buf.getLong();
+            long ref = buf.getLong();
+            long price = buf.getLong();
+            long quantity = buf.getLong();
+            long display = buf.getInt();
+            byte side = buf.get();
+            byte type = buf.get();
+            byte tif = buf.get();
+            byte action = buf.get();
+            recordNumber++;
+            try {
+                switch (ACTIONS[action]) {
+                    case PLACE -> event.place(ts, ref, SIDES[side], TYPES[type], TIFS[tif], price, quantity, display);
+                    case CANCEL -> event.cancel(ts, ref);
+                    case MODIFY -> event.modify(ts, ref, price, quantity);
+                    case AMEND -> event.amend(ts, ref, quantity);
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Bad flow record " + recordNumber + ": " + e.getMessage(), e);
+            }
+            return true;
+        }
+
+        private boolean refill() throws IOException {
+            buf.compact();
+            fill(buf);
+            buf.flip();
+            return buf.remaining() >= RECORD_SIZE;     // a torn trailing record is ignored
+        }
+
+        private void fill(ByteBuffer target) throws IOException {
+            int n = 0;
+            while (target.hasRemaining() && n >= 0) {
+                n = in.read(target);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
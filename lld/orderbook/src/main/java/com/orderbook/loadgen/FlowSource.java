@@ -0,0 +1,14 @@
+package com.orderbook.loadgen;
+
+import java.io.IOException;
+
+/** A stream of {@link FlowEvent}s — a recorded file or a generator. */
+public interface FlowSource extends AutoCloseable {
+
+    /** Overwrite event with the next command; false once the flow is exhausted. */
+    boolean next(FlowEvent event) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,99 @@
+package com.orderbook.loadgen;
+
+import com.orderbook.metrics.HistogramSnapshot;
+import com.orderbook.pipeline.CommandType;
+
+/**
+ * Result of one {@link LoadRunner} run, warm-up excluded. Latencies in nanos.
+ *
+ * Two throughputs: wall-clock (what the whole harness achieved, including
+ * reading the flow and any pacing waits) and book capacity (events divided
+ * by the time spent inside book calls) — the ceiling for this mix on one
+ * thread if the feed were free.
+ */
+public final class LoadReport {
+
+    private final long events;
+    private final long[] issued;
+    private final long rejected;
+    private final long missed;
+    private final long trades;
+    private final long tradedQty;
+    private final long elapsedNanos;
+    private final double speed;
+    private final HistogramSnapshot[] service;
+    private final HistogramSnapshot response;
+    private final int restingOrders;
+
+    LoadReport(long events, long[] issued, long rejected, long missed, long trades, long tradedQty,
+               long elapsedNanos, double speed, HistogramSnapshot[] service, HistogramSnapshot response,
+               int restingOrders) {
+        this.events = events;
+        this.issued = issued;
+        this.rejected = rejected;
+        this.missed = missed;
+        this.trades = trades;
+        this.tradedQty = tradedQty;
+        this.elapsedNanos = elapsedNanos;
+        this.speed = speed;
+        this.service = service;
+        this.response = response;
+        this.restingOrders = restingOrders;
+    }
+
+    public long getEvents()                 { return events; }
+    public long getIssued(CommandType type) { return issued[type.ordinal()]; }
+    /** Commands the book refused (validation, unknown order). */
+    public long getRejected()               { return rejected; }
+    /** Cancels and modifies of references that had already filled or gone. */
+    public long getMissed()                 { return missed; }
+    public long getTrades()                 { return trades; }
+    public long getTradedQuantity()         { return tradedQty; }
+    public long getElapsedNanos()           { return elapsedNanos; }
+    /** Orders resting in the book when the run ended. */
+    public int getRestingOrders()           { return restingOrders; }
+
+    /** Time inside the book call for one command type. */
+    public HistogramSnapshot serviceTime(CommandType type) {
+        return service[type.ordinal()];
+    }
+
+    /**
+     * Completion minus due time under recorded pacing; equals the service
+     * time when running as fast as possible.
+     */
+    public HistogramSnapshot responseTime() {
+        return response;
+    }
+
+    /** Events per second of wall-clock time. */
+    public double throughput() {
+        return elapsedNanos == 0 ? 0 : events * 1e9 / elapsedNanos;
+    }
+
+    /** Events per second of time spent inside the book. */
+    public double bookCapacity() {
+        double busy = 0;
+        for (HistogramSnapshot s : service) {
+            busy += s.getMean() * s.getCount();
+        }
+        return busy == 0 ? 0 : events * 1e9 / busy;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("events=%d (place=%d cancel=%d modify=%d amend=%d) rejected=%d missed=%d%n",
+                events, getIssued(CommandType.PLACE), getIssued(CommandType.CANCEL), getIssued(CommandType.MODIFY),
+                getIssued(CommandType.AMEND), rejected, missed));
+        sb.append(String.format("trades=%d qty=%d resting=%d elapsed=%.3fs pacing=%s%n",
+                trades, tradedQty, restingOrders, elapsedNanos / 1e9,
+                speed > 0 ? "recorded x" + speed : "max speed"));
+        sb.append(String.format("throughput=%,.0f/s book capacity=%,.0f/s%n", throughput(), bookCapacity()));
+        for (CommandType type : CommandType.values()) {
+            sb.append(String.format("  %-8s %s mean=%.0f%n", type, service[type.ordinal()], service[type.ordinal()].getMean()));
+        }
+        sb.append(String.format("  %-8s %s mean=%.0f", "response", response, response.getMean()));
+        return sb.toString();
+    }
+}
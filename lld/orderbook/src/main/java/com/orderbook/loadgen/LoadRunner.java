@@ -0,0 +1,239 @@
+package com.orderbook.loadgen;
+
+import com.orderbook.book.OrderBook;
+import com.orderbook.book.OrderIndex;
+import com.orderbook.engine.TradeListener;
+import com.orderbook.exception.InvalidOrderException;
+import com.orderbook.exception.OrderNotFoundException;
+import com.orderbook.metrics.Histogram;
+import com.orderbook.metrics.HistogramSnapshot;
+import com.orderbook.model.ObjectPool;
+import com.orderbook.model.Order;
+import com.orderbook.model.OrderType;
+import com.orderbook.pipeline.CommandType;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives an OrderBook from a {@link FlowSource} on the calling thread and
+ * measures it.
+ *
+ * Two pacing modes:
+ * - As fast as possible (the default): each command is issued the moment
+ *   the previous one returns. Latency = service time of the book call.
+ * - Recorded timing, {@link #paced(double)}: command i is due at
+ *   start + (t_i − t_0) / speed and is issued then. Latency is also measured
+ *   from the due time, not the issue time, so a stall that delays the
+ *   commands queued behind it shows up in their latency as well — timing
+ *   from issue alone would hide it (coordinated omission).
+ *
+ * Only the book call is inside the timed window; reading or generating the
+ * flow is not, though it does count against wall-clock throughput. The
+ * report gives both, so a slow source is visible rather than blamed on the
+ * book. The first warmup events run unmeasured, to let the JIT settle.
+ *
+ * A MODIFY that keeps the price and only lowers the quantity is sent as an
+ * in-place amend, as a gateway would, and reported under AMEND.
+ *
+ * Flow references are mapped to live Order objects, so the runner refuses
+ * to start with ObjectPool enabled: a recycled order reissued under a new
+ * id would be cancelled through its stale reference.
+ */
+public class LoadRunner {
+
+    private static final long PARK_THRESHOLD_NANOS = 100_000;
+
+    private final OrderBook book;
+    private final OrderIndex refs = new OrderIndex();    // flow ref → order placed under it
+    private final TradeListener counter = this::onTrade;
+    private TradeListener downstream = TradeListener.NO_OP;
+    private CommandType applied;                         // what the last event was sent to the book as
+    private double speed;                                // 0 = as fast as possible
+    private long warmupEvents;
+
+    private final Histogram[] service = new Histogram[CommandType.values().length];
+    private final Histogram response = new Histogram();
+    private long trades;
+    private long tradedQty;
+
+    public LoadRunner(OrderBook book) {
+        this.book = book;
+    }
+
+    /** Issue commands at their recorded times, compressed by speed (2.0 = twice as fast). */
+    public LoadRunner paced(double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Speed must be positive");
+        }
+        this.speed = speed;
+        return this;
+    }
+
+    /** Run the first events without recording them (JIT warm-up). */
+    public LoadRunner warmup(long events) {
+        if (events < 0) {
+            throw new IllegalArgumentException("Warm-up event count must not be negative");
+        }
+        this.warmupEvents = events;
+        return this;
+    }
+
+    /** Also hand every trade to listener, on the calling thread (e.g. a digest to check a replica against). */
+    public LoadRunner tradesTo(TradeListener listener) {
+        this.downstream = listener;
+        return this;
+    }
+
+    /** Apply up to maxEvents commands from source and report on the measured part. */
+    public LoadReport run(FlowSource source, long maxEvents) throws IOException {
+        if (ObjectPool.isEnabled()) {
+            throw new IllegalStateException("LoadRunner holds Order references; disable ObjectPool first");
+        }
+        for (int i = 0; i < service.length; i++) {
+            service[i] = new Histogram();
+        }
+        long[] issued = new long[service.length];
+        long rejected = 0;
+        long missed = 0;
+
+        FlowEvent event = new FlowEvent();
+        long events = 0;
+        long firstTimestamp = 0;
+        long startNanos = 0;
+        long measuredStart = 0;
+        long tradesAtStart = 0;
+        long qtyAtStart = 0;
+
+        while (events < maxEvents && source.next(event)) {
+            if (events == 0) {
+                firstTimestamp = event.timestampNanos;
+                startNanos = System.nanoTime();
+            }
+            boolean measured = events >= warmupEvents;
+            if (events == warmupEvents) {
+                measuredStart = System.nanoTime();
+                tradesAtStart = trades;
+                qtyAtStart = tradedQty;
+            }
+            events++;
+
+            long due = 0;
+            if (speed > 0) {
+                due = startNanos + (long) ((event.timestampNanos - firstTimestamp) / speed);
+                awaitUntil(due);
+            }
+
+            long begin = System.nanoTime();
+            Outcome outcome = apply(event);
+            long end = System.nanoTime();
+
+            if (!measured) continue;
+            int action = applied.ordinal();
+            issued[action]++;
+            switch (outcome) {
+                case REJECTED -> rejected++;
+                case MISSED -> missed++;
+                case APPLIED -> { }
+            }
+            service[action].record(end - begin);
+            response.record(end - (speed > 0 ? due : begin));
+        }
+
+        long measuredEvents = Math.max(0, events - warmupEvents);
+        long elapsed = measuredEvents == 0 ? 0 : System.nanoTime() - measuredStart;
+        return new LoadReport(measuredEvents, issued, rejected, missed, trades - tradesAtStart,
+                tradedQty - qtyAtStart, elapsed, speed, snapshots(), response.snapshot(), book.totalOrderCount());
+    }
+
+    private enum Outcome { APPLIED, REJECTED, MISSED }
+
+    private Outcome apply(FlowEvent e) {
+        applied = e.action;
+        try {
+            switch (e.action) {
+                case PLACE -> {
+                    Order order = newOrder(e);
+                    book.placeOrder(order, counter);
+                    if (order.isActive()) {
+                        refs.put(e.ref, order);
+                    }
+                    return Outcome.APPLIED;
+                }
+                case CANCEL -> {
+                    Order order = refs.remove(e.ref);
+                    if (order == null || !order.isActive()) return Outcome.MISSED;
+                    book.cancelOrder(order.getOrderId());
+                    return Outcome.APPLIED;
+                }
+                case MODIFY -> {
+                    Order existing = refs.get(e.ref);
+                    if (existing == null || !existing.isActive()) {
+                        refs.remove(e.ref);
+                        return Outcome.MISSED;
+                    }
+                    if (e.price == existing.getPrice() && e.quantity < existing.getRemainingQty()) {
+                        applied = CommandType.AMEND;
+                        book.amendOrder(existing.getOrderId(), e.quantity);
+                        return Outcome.APPLIED;
+                    }
+                    Order replacement = book.modifyOrder(existing.getOrderId(), e.price, e.quantity, counter);
+                    if (replacement.isActive()) {
+                        refs.put(e.ref, replacement);
+                    } else {
+                        refs.remove(e.ref);
+                    }
+                    return Outcome.APPLIED;
+                }
+                case AMEND -> {
+                    Order existing = refs.get(e.ref);
+                    if (existing == null || !existing.isActive()) {
+                        refs.remove(e.ref);
+                        return Outcome.MISSED;
+                    }
+                    book.amendOrder(existing.getOrderId(), e.quantity);
+                    return Outcome.APPLIED;
+                }
+            }
+        } catch (InvalidOrderException | OrderNotFoundException ex) {
+            return Outcome.REJECTED;
+        }
+        throw new IllegalStateException("Unknown flow action " + e.action);
+    }
+
+    private static Order newOrder(FlowEvent e) {
+        if (e.orderType == OrderType.MARKET) {
+            return Order.marketOrder(e.side, e.quantity, e.timeInForce);
+        }
+        if (e.displayQty > 0 && e.displayQty < e.quantity) {
+            return Order.icebergOrder(e.side, e.price, e.quantity, e.displayQty);
+        }
+        return Order.limitOrder(e.side, e.price, e.quantity, e.timeInForce);
+    }
+
+    private void onTrade(long buyOrderId, long sellOrderId, long price, long quantity, long sequence) {
+        trades++;
+        tradedQty += quantity;
+        downstream.onTrade(buyOrderId, sellOrderId, price, quantity, sequence);
+    }
+
+    private HistogramSnapshot[] snapshots() {
+        HistogramSnapshot[] copies = new HistogramSnapshot[service.length];
+        for (int i = 0; i < service.length; i++) {
+            copies[i] = service[i].snapshot();
+        }
+        return copies;
+    }
+
+    /** Park while far from due, then spin the last stretch for precision. */
+    private static void awaitUntil(long dueNanos) {
+        long remaining;
+        while ((remaining = dueNanos - System.nanoTime()) > 0) {
+            if (remaining > PARK_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - PARK_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.orderbook.loadgen;
+
+import com.orderbook.book.OrderBook;
+import com.orderbook.model.TickSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line for the load harness.
+ *
+ * <pre>
+ *   generate EVENTS FILE [flow options]     write a synthetic flow (.csv or binary)
+ *   run      EVENTS      [flow options] [book options]
+ *   replay   FILE        [--events N]   [book options]
+ *
+ *   flow:  --seed N  --mid TICKS  --cancel R  --modify R  --amend R  --mix MARKET,AGGRESSIVE,ICEBERG
+ *          --depth MEAN_TICKS  --volatility P  --qty MIN,MAX  --rate PER_SEC  --burst MULT,SHARE,LEN
+ *   book:  --ladder LEVELS  --warmup N  --paced SPEED
+ * </pre>
+ * e.g. {@code mvn -q exec:java -Dexec.mainClass=com.orderbook.loadgen.LoadTool
+ * -Dexec.args="run 5000000 --cancel 0.6 --burst 20,0.2,500 --warmup 500000"}
+ */
+public final class LoadTool {
+
+    private LoadTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            usage();
+            return;
+        }
+        Map<String, String> opts = options(args);
+        switch (args[0]) {
+            case "generate" -> {
+                long events = Long.parseLong(args[1]);
+                if (args.length < 3 || args[2].startsWith("--")) {
+                    usage();
+                    return;
+                }
+                Path out = Path.of(args[2]);
+                long written = FlowFiles.write(out, flow(events, opts), events);
+                System.out.printf("Wrote %d events to %s%n", written, out);
+            }
+            case "run" -> {
+                long events = Long.parseLong(args[1]);
+                System.out.println(runner(opts).run(flow(events, opts), events));
+            }
+            case "replay" -> {
+                long events = Long.parseLong(opts.getOrDefault("events", Long.toString(Long.MAX_VALUE)));
+                try (FlowSource source = FlowFiles.open(Path.of(args[1]))) {
+                    System.out.println(runner(opts).run(source, events));
+                }
+            }
+            default -> usage();
+        }
+    }
+
+    private static SyntheticFlow flow(long events, Map<String, String> o) {
+        SyntheticFlow flow = new SyntheticFlow(Long.parseLong(o.getOrDefault("seed", "42")),
+                Long.parseLong(o.getOrDefault("mid", "10000")), events);
+        if (o.containsKey("cancel")) flow.cancelRatio(Double.parseDouble(o.get("cancel")));
+        if (o.containsKey("modify")) flow.modifyRatio(Double.parseDouble(o.get("modify")));
+        if (o.containsKey("amend")) flow.amendRatio(Double.parseDouble(o.get("amend")));
+        if (o.containsKey("mix")) {
+            double[] m = numbers(o.get("mix"), 3);
+            flow.placementMix(m[0], m[1], m[2]);
+        }
+        if (o.containsKey("depth") || o.containsKey("volatility")) {
+            flow.prices(Double.parseDouble(o.getOrDefault("depth", "5")),
+                    Double.parseDouble(o.getOrDefault("volatility", "0.005")));
+        }
+        if (o.containsKey("qty")) {
+            double[] q = numbers(o.get("qty"), 2);
+            flow.quantities((long) q[0], (long) q[1]);
+        }
+        if (o.containsKey("rate")) flow.rate(Double.parseDouble(o.get("rate")));
+        if (o.containsKey("burst")) {
+            double[] b = numbers(o.get("burst"), 3);
+            flow.bursts(b[0], b[1], b[2]);
+        }
+        return flow;
+    }
+
+    private static LoadRunner runner(Map<String, String> o) {
+        OrderBook book = o.containsKey("ladder")
+                ? OrderBook.withPriceLadder("LOAD", TickSize.CENT, Integer.parseInt(o.get("ladder")))
+                : new OrderBook("LOAD");
+        LoadRunner runner = new LoadRunner(book).warmup(Long.parseLong(o.getOrDefault("warmup", "0")));
+        if (o.containsKey("paced")) {
+            runner.paced(Double.parseDouble(o.get("paced")));
+        }
+        return runner;
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) continue;
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+
+    private static double[] numbers(String csv, int count) {
+        String[] parts = csv.split(",");
+        if (parts.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " comma-separated values: " + csv);
+        }
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = Double.parseDouble(parts[i].strip());
+        }
+        return values;
+    }
+
+    private static void usage() {
+        System.out.println("""
+                usage: LoadTool generate EVENTS FILE [flow options]
+                       LoadTool run EVENTS [flow options] [book options]
+                       LoadTool replay FILE [--events N] [book options]
+                flow:  --seed N --mid TICKS --cancel R --modify R --amend R
+                       --mix MARKET,AGGRESSIVE,ICEBERG
+                       --depth MEAN_TICKS --volatility P --qty MIN,MAX --rate PER_SEC --burst MULT,SHARE,LEN
+                book:  --ladder LEVELS --warmup N --paced SPEED""");
+    }
+}
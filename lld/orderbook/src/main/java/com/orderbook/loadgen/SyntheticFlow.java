@@ -0,0 +1,250 @@
+package com.orderbook.loadgen;
+
+import com.orderbook.model.OrderType;
+import com.orderbook.model.Side;
+import com.orderbook.model.TimeInForce;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generator of realistic-looking order flow.
+ *
+ * Shape of the mix, all configurable through the fluent setters:
+ * - Cancels, modifies and amends (size cuts at the same price) target a
+ *   random live reference the generator has placed; the rest are
+ *   placements. The generator can't see fills, so some cancels hit orders
+ *   that have already traded — the runner counts those as misses, as a
+ *   venue would reject them.
+ * - Placements are market orders, marketable limits priced through the mid,
+ *   or passive limits whose distance from the mid is geometric with the given
+ *   mean: most flow at or near the touch, a thinning tail deeper in the book.
+ *   The mid takes a one-tick random-walk step with the given probability per
+ *   event, so the book keeps re-forming around a moving price.
+ * - Arrivals are Poisson at the base rate, modulated by bursts: a two-state
+ *   (calm / burst) chain where bursts run rate × multiplier for a geometric
+ *   number of events. The burst share is the fraction of events that arrive
+ *   in bursts, so average and peak load can be set independently.
+ *
+ * Same seed and settings, same flow — useful to compare book variants or to
+ * save with {@link FlowFiles#write} and replay elsewhere.
+ */
+public final class SyntheticFlow implements FlowSource {
+
+    private final SplittableRandom random;
+    private final long events;
+    private long mid;
+
+    private double cancelRatio = 0.40;
+    private double modifyRatio = 0.05;
+    private double amendRatio = 0.10;
+    private double marketRatio = 0.03;
+    private double aggressiveRatio = 0.10;
+    private double icebergRatio = 0.02;
+    private double meanDepthTicks = 5;
+    private double volatility = 0.005;
+    private long minQty = 1;
+    private long maxQty = 500;
+    private double ratePerSecond = 100_000;
+    private double burstMultiplier = 1;
+    private double burstShare = 0;
+    private double meanBurstEvents = 1;
+
+    private long generated;
+    private long nextRef = 1;
+    private double clockNanos;
+    private boolean inBurst;
+    private long[] live = new long[1024];     // ref << 1 | sell, for refs that may still rest; unordered
+    private long[] liveQty = new long[1024];  // quantity last sent for each, fills unseen
+    private int liveCount;
+
+    public SyntheticFlow(long seed, long midTicks, long events) {
+        if (midTicks <= 0 || events < 0) {
+            throw new IllegalArgumentException("Mid must be positive and the event count not negative");
+        }
+        this.random = new SplittableRandom(seed);
+        this.mid = midTicks;
+        this.events = events;
+    }
+
+    // ── Settings ───────────────────────────────────────────────
+
+    /** Share of events that cancel a live order. */
+    public SyntheticFlow cancelRatio(double ratio) {
+        this.cancelRatio = share(ratio);
+        return this;
+    }
+
+    /** Share of events that modify (cancel/replace) a live order. */
+    public SyntheticFlow modifyRatio(double ratio) {
+        this.modifyRatio = share(ratio);
+        return this;
+    }
+
+    /** Of the placements: market orders, limits crossing the mid, icebergs. */
+    public SyntheticFlow placementMix(double marketRatio, double aggressiveRatio, double icebergRatio) {
+        this.marketRatio = share(marketRatio);
+        this.aggressiveRatio = share(aggressiveRatio);
+        this.icebergRatio = share(icebergRatio);
+        return this;
+    }
+
+    /**
+     * Passive prices sit a geometric number of ticks behind the mid with this
+     * mean; the mid itself steps a tick with probability volatility per event.
+     */
+    public SyntheticFlow prices(double meanDepthTicks, double volatility) {
+        if (meanDepthTicks < 0) {
+            throw new IllegalArgumentException("Mean depth must not be negative");
+        }
+        this.meanDepthTicks = meanDepthTicks;
+        this.volatility = share(volatility);
+        return this;
+    }
+
+    /** Share of events that reduce a live order's quantity in place. */
+    public SyntheticFlow amendRatio(double ratio) {
+        this.amendRatio = share(ratio);
+        return this;
+    }
+
+    /** Placement quantities, uniform in [minQty, maxQty]. */
+    public SyntheticFlow quantities(long minQty, long maxQty) {
+        if (minQty <= 0 || maxQty < minQty) {
+            throw new IllegalArgumentException("Quantities must satisfy 0 < min <= max");
+        }
+        this.minQty = minQty;
+        this.maxQty = maxQty;
+        return this;
+    }
+
+    /** Calm arrival rate, events per second of recorded time. */
+    public SyntheticFlow rate(double eventsPerSecond) {
+        if (!(eventsPerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.ratePerSecond = eventsPerSecond;
+        return this;
+    }
+
+    /**
+     * Bursts at rate × multiplier carrying burstShare of all events, each
+     * lasting meanBurstEvents on average. A share of 0 gives plain Poisson.
+     */
+    public SyntheticFlow bursts(double multiplier, double burstShare, double meanBurstEvents) {
+        if (multiplier < 1 || burstShare < 0 || burstShare >= 1 || meanBurstEvents < 1) {
+            throw new IllegalArgumentException("Bursts need multiplier >= 1, 0 <= share < 1, mean length >= 1");
+        }
+        this.burstMultiplier = multiplier;
+        this.burstShare = burstShare;
+        this.meanBurstEvents = meanBurstEvents;
+        return this;
+    }
+
+    private static double share(double ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("Ratio must be in [0, 1]: " + ratio);
+        }
+        return ratio;
+    }
+
+    // ── Generation ─────────────────────────────────────────────
+
+    @Override
+    public boolean next(FlowEvent event) {
+        if (generated == events) {
+            return false;
+        }
+        generated++;
+        advanceClock();
+        if (random.nextDouble() < volatility) {
+            mid = Math.max(1, mid + (random.nextBoolean() ? 1 : -1));
+        }
+        long ts = (long) clockNanos;
+
+        double roll = random.nextDouble();
+        if (liveCount > 0 && roll < cancelRatio) {
+            event.cancel(ts, removeLive(random.nextInt(liveCount)) >>> 1);
+        } else if (liveCount > 0 && roll < cancelRatio + modifyRatio) {
+            int i = random.nextInt(liveCount);
+            long qty = quantity();
+            event.modify(ts, live[i] >>> 1, passivePrice((live[i] & 1) == 0 ? Side.BUY : Side.SELL), qty);
+            liveQty[i] = qty;
+        } else if (liveCount > 0 && roll < cancelRatio + modifyRatio + amendRatio) {
+            int i = random.nextInt(liveCount);
+            if (liveQty[i] > 1) {
+                liveQty[i] = 1 + random.nextLong(liveQty[i] - 1);
+                event.amend(ts, live[i] >>> 1, liveQty[i]);
+            } else {
+                event.cancel(ts, removeLive(i) >>> 1);     // nothing left to cut
+            }
+        } else {
+            place(event, ts);
+        }
+        return true;
+    }
+
+    private void place(FlowEvent event, long ts) {
+        long ref = nextRef++;
+        Side side = random.nextBoolean() ? Side.BUY : Side.SELL;
+        double kind = random.nextDouble();
+        if (kind < marketRatio) {
+            event.place(ts, ref, side, OrderType.MARKET, TimeInForce.IOC, 0, quantity(), 0);
+            return;
+        }
+        long qty = quantity();
+        if (kind < marketRatio + aggressiveRatio) {
+            long through = 1 + geometric(meanDepthTicks);
+            long price = side == Side.BUY ? mid + through : Math.max(1, mid - through);
+            event.place(ts, ref, side, OrderType.LIMIT, TimeInForce.GTC, price, qty, 0);
+        } else if (kind < marketRatio + aggressiveRatio + icebergRatio && qty > 1) {
+            event.place(ts, ref, side, OrderType.LIMIT, TimeInForce.GTC, passivePrice(side), qty,
+                    Math.max(1, qty / 10));
+        } else {
+            event.place(ts, ref, side, OrderType.LIMIT, TimeInForce.GTC, passivePrice(side), qty, 0);
+        }
+        addLive(ref << 1 | (side == Side.SELL ? 1 : 0), qty);
+    }
+
+    private long passivePrice(Side side) {
+        long depth = geometric(meanDepthTicks);
+        return side == Side.BUY ? Math.max(1, mid - 1 - depth) : mid + 1 + depth;
+    }
+
+    private long quantity() {
+        return minQty == maxQty ? minQty : minQty + random.nextLong(maxQty - minQty + 1);
+    }
+
+    /** Geometric on {0, 1, 2, ...} with the given mean. */
+    private long geometric(double mean) {
+        if (mean <= 0) return 0;
+        double p = 1 / (1 + mean);
+        return (long) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    private void advanceClock() {
+        if (burstShare > 0) {
+            double leaveBurst = 1 / meanBurstEvents;
+            double enterBurst = Math.min(1, burstShare * leaveBurst / (1 - burstShare));
+            inBurst = random.nextDouble() < (inBurst ? 1 - leaveBurst : enterBurst);
+        }
+        double rate = inBurst ? ratePerSecond * burstMultiplier : ratePerSecond;
+        clockNanos += -Math.log(1 - random.nextDouble()) / rate * 1e9;
+    }
+
+    private void addLive(long entry, long qty) {
+        if (liveCount == live.length) {
+            live = Arrays.copyOf(live, liveCount * 2);
+            liveQty = Arrays.copyOf(liveQty, liveCount * 2);
+        }
+        live[liveCount] = entry;
+        liveQty[liveCount++] = qty;
+    }
+
+    private long removeLive(int i) {
+        long entry = live[i];
+        live[i] = live[--liveCount];
+        liveQty[i] = liveQty[liveCount];
+        return entry;
+    }
+}
@@ -0,0 +1,279 @@
+package com.orderbook.marketdata;
+
+import com.orderbook.book.OrderBook;
+import com.orderbook.book.PriceLevel;
+import com.orderbook.model.Order;
+import com.orderbook.model.Side;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Top-of-book and top-N depth that any number of threads may read while the
+ * book is matching — the book's own getBestBid/getBidDepth are for the
+ * matching thread only.
+ *
+ * Published by a seqlock. At the end of each command the matching thread
+ * bumps the version to odd, overwrites the levels in place and bumps it back
+ * to even; it never waits for readers. A reader copies what it needs between
+ * two reads of the version and retries if the version moved or was odd, so
+ * every read is a consistent image as of one command — a best bid and ask
+ * from the same instant, never a crossed spread stitched from two — with no
+ * lock on either side and no allocation on the read side. The writer copies
+ * levels from the book straight into its arrays, building no lists; only a
+ * TreeBookSide's map iterator remains. Readers never write shared state;
+ * the writer still pays a cache miss for lines a reader has pulled away, so
+ * a reader that polls at its own pace interferes far less than one spinning
+ * on the view.
+ *
+ * The matching thread updates only the levels its command changed, from the
+ * publisher's per-batch dirty set, and a command that changes nothing inside
+ * the view writes nothing at all — so the sequence is that of the last
+ * command that changed the view. Quantities are displayed quantities, as in
+ * the L2 feed.
+ *
+ * <pre>
+ *   BookView view = md.publishView(10);     // md = the book's MarketDataPublisher
+ *   long spread = view.spread();             // any thread
+ *   int n = view.copyLevels(Side.BUY, prices, qty, orders);
+ * </pre>
+ */
+public final class BookView {
+
+    private final int depth;
+    private final AtomicLong version = new AtomicLong();   // odd while the matching thread writes
+
+    // Written by the matching thread between version bumps; read racily, validated by version
+    private long sequence;
+    private final long[] bidPrices;
+    private final long[] bidQty;
+    private final int[] bidOrders;
+    private final long[] askPrices;
+    private final long[] askQty;
+    private final int[] askOrders;
+    private int bidLevels;
+    private int askLevels;
+
+    private boolean primed;                                 // matching thread: first publish copies everything
+
+    BookView(int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("View depth must be positive");
+        }
+        this.depth = depth;
+        this.bidPrices = new long[depth];
+        this.bidQty = new long[depth];
+        this.bidOrders = new int[depth];
+        this.askPrices = new long[depth];
+        this.askQty = new long[depth];
+        this.askOrders = new int[depth];
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    // ── Readers (any thread) ───────────────────────────────────
+
+    /** Sequence of the last command that changed the view; 0 before the first. */
+    public long getSequence() {
+        while (true) {
+            long v = version.get();
+            if ((v & 1) == 0) {
+                long s = sequence;
+                VarHandle.acquireFence();
+                if (version.get() == v) return s;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Best bid in ticks, or {@link Order#NO_PRICE}. */
+    public long bestBid() {
+        return best(Side.BUY);
+    }
+
+    /** Best ask in ticks, or {@link Order#NO_PRICE}. */
+    public long bestAsk() {
+        return best(Side.SELL);
+    }
+
+    /** Ask minus bid in ticks, both from the same command; {@link Order#NO_PRICE} if a side is empty. */
+    public long spread() {
+        while (true) {
+            long v = version.get();
+            if ((v & 1) == 0) {
+                long bid = bidLevels > 0 ? bidPrices[0] : Order.NO_PRICE;
+                long ask = askLevels > 0 ? askPrices[0] : Order.NO_PRICE;
+                VarHandle.acquireFence();
+                if (version.get() == v) {
+                    return bid == Order.NO_PRICE || ask == Order.NO_PRICE ? Order.NO_PRICE : ask - bid;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Copy up to prices.length of side's top levels, best first, into the
+     * caller's arrays (which must be equally long). Returns how many levels
+     * were copied. Allocation-free, for gateway threads.
+     */
+    public int copyLevels(Side side, long[] prices, long[] quantities, int[] orders) {
+        if (quantities.length < prices.length || orders.length < prices.length) {
+            throw new IllegalArgumentException("Quantity and order arrays must be as long as the price array");
+        }
+        boolean buy = side == Side.BUY;
+        long[] srcPrices = buy ? bidPrices : askPrices;
+        long[] srcQty = buy ? bidQty : askQty;
+        int[] srcOrders = buy ? bidOrders : askOrders;
+        while (true) {
+            long v = version.get();
+            if ((v & 1) == 0) {
+                int n = Math.min(buy ? bidLevels : askLevels, prices.length);
+                System.arraycopy(srcPrices, 0, prices, 0, n);
+                System.arraycopy(srcQty, 0, quantities, 0, n);
+                System.arraycopy(srcOrders, 0, orders, 0, n);
+                VarHandle.acquireFence();
+                if (version.get() == v) return n;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Both sides and the sequence, as one immutable image. */
+    public DepthSnapshot snapshot() {
+        long[] bp = new long[depth];
+        long[] bq = new long[depth];
+        int[] bo = new int[depth];
+        long[] ap = new long[depth];
+        long[] aq = new long[depth];
+        int[] ao = new int[depth];
+        while (true) {
+            long v = version.get();
+            if ((v & 1) == 0) {
+                long s = sequence;
+                int bids = bidLevels;
+                int asks = askLevels;
+                System.arraycopy(bidPrices, 0, bp, 0, bids);
+                System.arraycopy(bidQty, 0, bq, 0, bids);
+                System.arraycopy(bidOrders, 0, bo, 0, bids);
+                System.arraycopy(askPrices, 0, ap, 0, asks);
+                System.arraycopy(askQty, 0, aq, 0, asks);
+                System.arraycopy(askOrders, 0, ao, 0, asks);
+                VarHandle.acquireFence();
+                if (version.get() == v) {
+                    return DepthSnapshot.of(s, bp, bq, bo, bids, ap, aq, ao, asks);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // ── Writer (matching thread) ───────────────────────────────
+
+    /**
+     * Apply the command that ended at sequence. The dirty keys are the levels
+     * that changed in it (see MarketDataPublisher.key); each is read from the
+     * book in its final state and updated, inserted or removed in place. Only
+     * a level leaving a full side needs that side re-copied from the book, to
+     * pull up the next one; that walks the book side into the arrays directly.
+     */
+    void publish(OrderBook book, long sequence, long[] dirtyKeys, int dirtyCount) {
+        if (primed && !touches(dirtyKeys, dirtyCount)) return;
+
+        long v = version.get() + 1;
+        version.setRelease(v);
+        VarHandle.storeStoreFence();        // the odd version is visible before any level changes
+        this.sequence = sequence;
+        if (!primed) {
+            bidLevels = book.copyDepth(Side.BUY, bidPrices, bidQty, bidOrders);
+            askLevels = book.copyDepth(Side.SELL, askPrices, askQty, askOrders);
+            primed = true;
+        } else {
+            boolean refillBids = false;
+            boolean refillAsks = false;
+            for (int i = 0; i < dirtyCount; i++) {
+                long key = dirtyKeys[i];
+                Side side = MarketDataPublisher.sideOf(key);
+                long price = MarketDataPublisher.priceOf(key);
+                if (side == Side.BUY ? refillBids : refillAsks) continue;
+                if (!apply(side, price, book.getLevel(side, price))) {
+                    if (side == Side.BUY) refillBids = true; else refillAsks = true;
+                }
+            }
+            if (refillBids) bidLevels = book.copyDepth(Side.BUY, bidPrices, bidQty, bidOrders);
+            if (refillAsks) askLevels = book.copyDepth(Side.SELL, askPrices, askQty, askOrders);
+        }
+        version.setRelease(v + 1);
+    }
+
+    /** Whether any changed level is, or now belongs, inside the view. */
+    private boolean touches(long[] dirtyKeys, int dirtyCount) {
+        for (int i = 0; i < dirtyCount; i++) {
+            long key = dirtyKeys[i];
+            if (key > 0 ? bidLevels < depth || key >= bidPrices[depth - 1]
+                        : askLevels < depth || -key <= askPrices[depth - 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bring one level of the view in line with the book's level at price
+     * (null if gone). False if the side must be re-copied instead.
+     */
+    private boolean apply(Side side, long price, PriceLevel level) {
+        boolean buy = side == Side.BUY;
+        long[] prices = buy ? bidPrices : askPrices;
+        long[] qty = buy ? bidQty : askQty;
+        int[] orders = buy ? bidOrders : askOrders;
+        int count = buy ? bidLevels : askLevels;
+
+        // Best first: find price, or where it would go
+        int i = 0;
+        while (i < count && (buy ? prices[i] > price : prices[i] < price)) i++;
+        boolean present = i < count && prices[i] == price;
+
+        if (level == null) {
+            if (!present) return true;             // outside the view, or came and went in one command
+            if (count == depth) return false;      // the next level down is not in the view
+            System.arraycopy(prices, i + 1, prices, i, count - i - 1);
+            System.arraycopy(qty, i + 1, qty, i, count - i - 1);
+            System.arraycopy(orders, i + 1, orders, i, count - i - 1);
+            count--;
+        } else if (present) {
+            qty[i] = level.totalQuantity();
+            orders[i] = level.orderCount();
+            return true;
+        } else {
+            if (i == depth) return true;           // new level below a full view
+            int moved = Math.min(count, depth - 1) - i;
+            System.arraycopy(prices, i, prices, i + 1, moved);
+            System.arraycopy(qty, i, qty, i + 1, moved);
+            System.arraycopy(orders, i, orders, i + 1, moved);
+            prices[i] = price;
+            qty[i] = level.totalQuantity();
+            orders[i] = level.orderCount();
+            count = Math.min(count + 1, depth);
+        }
+        if (buy) bidLevels = count; else askLevels = count;
+        return true;
+    }
+
+    private long best(Side side) {
+        boolean buy = side == Side.BUY;
+        while (true) {
+            long v = version.get();
+            if ((v & 1) == 0) {
+                long price = buy
+                        ? (bidLevels > 0 ? bidPrices[0] : Order.NO_PRICE)
+                        : (askLevels > 0 ? askPrices[0] : Order.NO_PRICE);
+                VarHandle.acquireFence();
+                if (version.get() == v) return price;
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.orderbook.marketdata;
+
+import com.orderbook.book.OrderBook;
+import com.orderbook.book.PriceLevel;
+import com.orderbook.model.Side;
+
+import java.util.List;
+
+/**
+ * L2 image: displayed levels on both sides, best first, as of a command
+ * sequence — every level for a refresh, the top N for a {@link BookView}
+ * read. Immutable once captured.
+ */
+public final class DepthSnapshot {
+
+    private final long sequence;
+    private final long[] bidPrices;
+    private final long[] bidQty;
+    private final int[] bidOrders;
+    private final long[] askPrices;
+    private final long[] askQty;
+    private final int[] askOrders;
+
+    private DepthSnapshot(long sequence, int bids, int asks) {
+        this.sequence = sequence;
+        this.bidPrices = new long[bids];
+        this.bidQty = new long[bids];
+        this.bidOrders = new int[bids];
+        this.askPrices = new long[asks];
+        this.askQty = new long[asks];
+        this.askOrders = new int[asks];
+    }
+
+    /** O(levels). Matching thread only. */
+    static DepthSnapshot capture(OrderBook book) {
+        List<PriceLevel> bids = book.getBidDepth(Integer.MAX_VALUE);
+        List<PriceLevel> asks = book.getAskDepth(Integer.MAX_VALUE);
+        DepthSnapshot snap = new DepthSnapshot(book.getLastSequence(), bids.size(), asks.size());
+        copy(bids, snap.bidPrices, snap.bidQty, snap.bidOrders);
+        copy(asks, snap.askPrices, snap.askQty, snap.askOrders);
+        return snap;
+    }
+
+    /** The first bids/asks entries of each side's arrays (a BookView read). */
+    static DepthSnapshot of(long sequence, long[] bidPrices, long[] bidQty, int[] bidOrders, int bids,
+                            long[] askPrices, long[] askQty, int[] askOrders, int asks) {
+        DepthSnapshot snap = new DepthSnapshot(sequence, bids, asks);
+        System.arraycopy(bidPrices, 0, snap.bidPrices, 0, bids);
+        System.arraycopy(bidQty, 0, snap.bidQty, 0, bids);
+        System.arraycopy(bidOrders, 0, snap.bidOrders, 0, bids);
+        System.arraycopy(askPrices, 0, snap.askPrices, 0, asks);
+        System.arraycopy(askQty, 0, snap.askQty, 0, asks);
+        System.arraycopy(askOrders, 0, snap.askOrders, 0, asks);
+        return snap;
+    }
+
+    private static void copy(List<PriceLevel> levels, long[] prices, long[] qty, int[] orders) {
+        for (int i = 0; i < prices.length; i++) {
+            PriceLevel level = levels.get(i);
+            prices[i] = level.getPrice();
+            qty[i] = level.totalQuantity();
+            orders[i] = level.orderCount();
+        }
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int levelCount(Side side) {
+        return side == Side.BUY ? bidPrices.length : askPrices.length;
+    }
+
+    /** Price in ticks of the i-th best level on side. */
+    public long price(Side side, int i) {
+        return side == Side.BUY ? bidPrices[i] : askPrices[i];
+    }
+
+    /** Displayed quantity — iceberg reserve is never published. */
+    public long quantity(Side side, int i) {
+        return side == Side.BUY ? bidQty[i] : askQty[i];
+    }
+
+    public int orderCount(Side side, int i) {
+        return side == Side.BUY ? bidOrders[i] : askOrders[i];
+    }
+}
@@ -0,0 +1,19 @@
+package com.orderbook.marketdata;
+
+import com.orderbook.model.Side;
+
+/** Consumer callbacks for an L2 {@link LevelSubscription}, invoked on the polling thread. */
+public interface LevelHandler {
+
+    /** Replace all local depth with this image; incremental updates continue from it. */
+    void onRefresh(DepthSnapshot snapshot);
+
+    /**
+     * Latest state of one level. Several changes to a level since the last
+     * poll arrive as one update; orderCount 0 means the level is gone.
+     */
+    void onLevel(Side side, long price, long quantity, int orderCount);
+
+    /** Local depth now matches the book as of this command sequence. */
+    void onBatchEnd(long sequence);
+}
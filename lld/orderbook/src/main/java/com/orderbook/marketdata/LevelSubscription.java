@@ -0,0 +1,114 @@
+package com.orderbook.marketdata;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An L2 subscriber's queue, conflated by level.
+ *
+ * Pending updates are keyed by side and price: a level that changes again
+ * before the subscriber polls overwrites its pending update in place, so a
+ * slow subscriber sees the latest state of each level it missed — never a
+ * stale intermediate one — and its backlog is bounded by the number of
+ * levels, not the message rate. Updates keep the order in which their level
+ * first changed.
+ *
+ * The publisher writes under the lock; {@link #poll} swaps the pending map out
+ * and delivers outside it, so a slow handler never blocks matching. Poll from
+ * one thread at a time.
+ */
+public final class LevelSubscription {
+
+    private LinkedHashMap<Long, LevelUpdate> pending = new LinkedHashMap<>();
+    private LinkedHashMap<Long, LevelUpdate> draining = new LinkedHashMap<>();
+    private DepthSnapshot refresh;
+    private boolean stale = true;       // needs a refresh before updates mean anything
+    private long sequence;              // book sequence the pending state is current to
+    private long delivered;             // consumer side: last sequence handed to the handler
+    private long conflated;
+
+    LevelSubscription() {
+    }
+
+    /**
+     * Deliver any refresh, then the latest state of every level changed since
+     * the last poll, then the sequence they are current to. Returns the number
+     * of level updates delivered.
+     */
+    public int poll(LevelHandler handler) {
+        DepthSnapshot snapshot;
+        long upTo;
+        synchronized (this) {
+            snapshot = refresh;
+            refresh = null;
+            LinkedHashMap<Long, LevelUpdate> swap = pending;
+            pending = draining;
+            draining = swap;
+            upTo = sequence;
+        }
+        if (snapshot != null) {
+            handler.onRefresh(snapshot);
+        }
+        for (Map.Entry<Long, LevelUpdate> e : draining.entrySet()) {
+            long key = e.getKey();
+            LevelUpdate update = e.getValue();
+            handler.onLevel(MarketDataPublisher.sideOf(key), MarketDataPublisher.priceOf(key),
+                    update.quantity, update.orderCount);
+        }
+        int count = draining.size();
+        draining.clear();
+        if (upTo != delivered) {
+            delivered = upTo;
+            handler.onBatchEnd(upTo);
+        }
+        return count;
+    }
+
+    /** Ask for a full refresh at the next batch end. */
+    public synchronized void requestRefresh() {
+        stale = true;
+    }
+
+    /** Updates that replaced an undelivered update for the same level. */
+    public synchronized long getConflatedCount() {
+        return conflated;
+    }
+
+    // ── Publisher side (matching thread) ───────────────────────
+
+    synchronized boolean needsRefresh() {
+        return stale;
+    }
+
+    synchronized void refresh(DepthSnapshot snapshot) {
+        refresh = snapshot;
+        pending.clear();
+        stale = false;
+        sequence = snapshot.getSequence();
+    }
+
+    synchronized void update(long[] keys, long[] quantities, int[] orderCounts, int count, long upTo) {
+        if (stale) return;
+        for (int i = 0; i < count; i++) {
+            LevelUpdate update = pending.get(keys[i]);
+            if (update == null) {
+                pending.put(keys[i], new LevelUpdate(quantities[i], orderCounts[i]));
+            } else {
+                update.quantity = quantities[i];
+                update.orderCount = orderCounts[i];
+                conflated++;
+            }
+        }
+        sequence = upTo;
+    }
+
+    private static final class LevelUpdate {
+        long quantity;
+        int orderCount;
+
+        LevelUpdate(long quantity, int orderCount) {
+            this.quantity = quantity;
+            this.orderCount = orderCount;
+        }
+    }
+}
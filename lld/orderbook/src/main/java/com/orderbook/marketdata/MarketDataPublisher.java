@@ -0,0 +1,253 @@
+package com.orderbook.marketdata;
+
+import com.orderbook.book.BookListener;
+import com.orderbook.book.OrderBook;
+import com.orderbook.book.PriceLevel;
+import com.orderbook.model.Side;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Push-style market data for one OrderBook: incremental L2 level updates,
+ * L3 order events and periodic full refreshes.
+ *
+ * Installed as the book's BookListener, so it sees every order event as the
+ * book mutates. During a batch it only notes which levels changed (and
+ * buffers order events if anyone wants L3); at the batch end it reads the
+ * final state of those levels from the book and hands each subscriber one
+ * update per level. Publish cost is proportional to what changed, never to
+ * the size of the book — except for refreshes, which are O(levels) for L2
+ * and O(orders) for L3 and happen every refreshInterval commands, when a
+ * subscriber joins, and when an L3 subscriber overflows.
+ *
+ * Subscribers poll from their own threads; see {@link LevelSubscription}
+ * (conflated) and {@link OrderSubscription} (bounded, resynchronised by
+ * snapshot). Threads that only want the current top of the book read a
+ * {@link BookView} instead — no queue at all. Everything else runs on the
+ * matching thread.
+ *
+ * <pre>
+ *   MarketDataPublisher md = new MarketDataPublisher(book, 10_000);
+ *   book.setBookListener(md);
+ *   LevelSubscription depth = md.subscribeLevels();
+ *   ...
+ *   depth.poll(handler);   // any thread
+ * </pre>
+ */
+public class MarketDataPublisher implements BookListener {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;   // Fibonacci hashing for the dirty set
+
+    private final OrderBook book;
+    private final long refreshInterval;
+    private final List<LevelSubscription> levelSubscribers = new CopyOnWriteArrayList<>();
+    private final List<OrderSubscription> orderSubscribers = new CopyOnWriteArrayList<>();
+    private final List<BookView> views = new CopyOnWriteArrayList<>();
+    private final OrderEvents batch = new OrderEvents(256);
+    private long lastRefreshSequence;
+
+    // Levels changed in the current batch: key = +price for bids, -price for asks
+    private long[] dirtyKeys = new long[64];
+    private long[] dirtyQty = new long[64];
+    private int[] dirtyOrders = new int[64];
+    private int dirtyCount;
+
+    // The same keys, open addressing with linear probing (0 = empty), at most half full;
+    // dirtySlots[i] is where dirtyKeys[i] sits, so the batch end clears only those slots
+    private long[] dirtySet = new long[128];
+    private int[] dirtySlots = new int[64];
+
+    /** @param refreshInterval send every subscriber a full refresh every this many commands */
+    public MarketDataPublisher(OrderBook book, long refreshInterval) {
+        if (refreshInterval <= 0) {
+            throw new IllegalArgumentException("Refresh interval must be positive");
+        }
+        this.book = book;
+        this.refreshInterval = refreshInterval;
+    }
+
+    // ── Subscriptions (any thread) ─────────────────────────────
+
+    /** Conflated L2 depth. The first poll after the next batch end starts with a full refresh. */
+    public LevelSubscription subscribeLevels() {
+        LevelSubscription subscription = new LevelSubscription();
+        levelSubscribers.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Every order event. Falling more than capacity events behind drops the
+     * backlog and resynchronises with a fresh OrderSnapshot.
+     */
+    public OrderSubscription subscribeOrders(int capacity) {
+        OrderSubscription subscription = new OrderSubscription(capacity);
+        orderSubscribers.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * The top levels of each side, republished after every command for any
+     * thread to read (see {@link BookView}). Filled in at the next batch end.
+     */
+    public BookView publishView(int levels) {
+        BookView view = new BookView(levels);
+        views.add(view);
+        return view;
+    }
+
+    public void unsubscribe(BookView view) {
+        views.remove(view);
+    }
+
+    public void unsubscribe(LevelSubscription subscription) {
+        levelSubscribers.remove(subscription);
+    }
+
+    public void unsubscribe(OrderSubscription subscription) {
+        orderSubscribers.remove(subscription);
+    }
+
+    // ── BookListener (matching thread) ─────────────────────────
+
+    @Override
+    public void onOrderAdded(long orderId, Side side, long price, long quantity) {
+        changed(OrderEvents.ADD, orderId, side, price, quantity);
+    }
+
+    @Override
+    public void onOrderExecuted(long orderId, Side side, long price, long quantity) {
+        changed(OrderEvents.EXECUTE, orderId, side, price, quantity);
+    }
+
+    @Override
+    public void onOrderReduced(long orderId, Side side, long price, long quantity) {
+        changed(OrderEvents.REDUCE, orderId, side, price, quantity);
+    }
+
+    @Override
+    public void onOrderDeleted(long orderId, Side side, long price) {
+        changed(OrderEvents.DELETE, orderId, side, price, 0);
+    }
+
+    @Override
+    public void onBatchEnd(long sequence) {
+        boolean refreshAll = sequence - lastRefreshSequence >= refreshInterval;
+        if (refreshAll) {
+            lastRefreshSequence = sequence;
+        }
+        for (BookView view : views) {
+            view.publish(book, sequence, dirtyKeys, dirtyCount);
+        }
+        publishLevels(sequence, refreshAll);
+        publishOrders(sequence, refreshAll);
+    }
+
+    // ── Internals ──────────────────────────────────────────────
+
+    private void changed(byte type, long orderId, Side side, long price, long quantity) {
+        if (!levelSubscribers.isEmpty() || !views.isEmpty()) {
+            markDirty(key(side, price));
+        }
+        if (!orderSubscribers.isEmpty()) {
+            batch.add(type, orderId, side, price, quantity);
+        }
+    }
+
+    private void markDirty(long key) {
+        // Fills at one level arrive back to back, so the last entry is the usual hit
+        if (dirtyCount > 0 && dirtyKeys[dirtyCount - 1] == key) return;
+        int mask = dirtySet.length - 1;
+        int i = slot(key, mask);
+        while (dirtySet[i] != 0) {
+            if (dirtySet[i] == key) return;
+            i = (i + 1) & mask;
+        }
+        if (dirtyCount == dirtyKeys.length) {
+            growDirty();
+            markDirty(key);
+            return;
+        }
+        dirtySet[i] = key;
+        dirtySlots[dirtyCount] = i;
+        dirtyKeys[dirtyCount++] = key;
+    }
+
+    private void growDirty() {
+        int capacity = dirtyKeys.length * 2;
+        dirtyKeys = Arrays.copyOf(dirtyKeys, capacity);
+        dirtyQty = Arrays.copyOf(dirtyQty, capacity);
+        dirtyOrders = Arrays.copyOf(dirtyOrders, capacity);
+        dirtySlots = new int[capacity];
+        dirtySet = new long[capacity * 2];
+        int mask = dirtySet.length - 1;
+        for (int j = 0; j < dirtyCount; j++) {
+            int i = slot(dirtyKeys[j], mask);
+            while (dirtySet[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            dirtySet[i] = dirtyKeys[j];
+            dirtySlots[j] = i;
+        }
+    }
+
+    private void clearDirty() {
+        for (int i = 0; i < dirtyCount; i++) {
+            dirtySet[dirtySlots[i]] = 0;
+        }
+        dirtyCount = 0;
+    }
+
+    private static int slot(long key, int mask) {
+        return (int) ((key * GOLDEN) >>> 32) & mask;
+    }
+
+    private void publishLevels(long sequence, boolean refreshAll) {
+        if (!levelSubscribers.isEmpty()) {
+            // Read each changed level once, in its final state for this batch
+            for (int i = 0; i < dirtyCount; i++) {
+                PriceLevel level = book.getLevel(sideOf(dirtyKeys[i]), priceOf(dirtyKeys[i]));
+                dirtyQty[i] = level != null ? level.totalQuantity() : 0;
+                dirtyOrders[i] = level != null ? level.orderCount() : 0;
+            }
+            DepthSnapshot depth = null;
+            for (LevelSubscription subscription : levelSubscribers) {
+                if (refreshAll || subscription.needsRefresh()) {
+                    if (depth == null) depth = DepthSnapshot.capture(book);
+                    subscription.refresh(depth);
+                } else {
+                    subscription.update(dirtyKeys, dirtyQty, dirtyOrders, dirtyCount, sequence);
+                }
+            }
+        }
+        clearDirty();
+    }
+
+    private void publishOrders(long sequence, boolean refreshAll) {
+        if (!orderSubscribers.isEmpty()) {
+            batch.add(OrderEvents.BATCH_END, 0, null, 0, sequence);
+            OrderSnapshot image = null;
+            for (OrderSubscription subscription : orderSubscribers) {
+                subscription.publish(batch);
+                if (refreshAll || subscription.needsRefresh()) {
+                    if (image == null) image = OrderSnapshot.capture(book);
+                    subscription.refresh(image);
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    static long key(Side side, long price) {
+        return side == Side.BUY ? price : -price;     // resting prices are always positive
+    }
+
+    static Side sideOf(long key) {
+        return key > 0 ? Side.BUY : Side.SELL;
+    }
+
+    static long priceOf(long key) {
+        return Math.abs(key);
+    }
+}
@@ -0,0 +1,83 @@
+package com.orderbook.marketdata;
+
+import com.orderbook.model.Side;
+
+import java.util.Arrays;
+
+/** Growable parallel-array buffer of L3 events; no object per event. */
+final class OrderEvents {
+
+    static final byte ADD = 0;
+    static final byte EXECUTE = 1;
+    static final byte DELETE = 2;
+    static final byte BATCH_END = 3;     // quantity carries the sequence
+    static final byte REDUCE = 4;
+
+    private byte[] types;
+    private long[] orderIds;
+    private Side[] sides;
+    private long[] prices;
+    private long[] quantities;
+    private int size;
+
+    OrderEvents(int initialCapacity) {
+        types = new byte[initialCapacity];
+        orderIds = new long[initialCapacity];
+        sides = new Side[initialCapacity];
+        prices = new long[initialCapacity];
+        quantities = new long[initialCapacity];
+    }
+
+    void add(byte type, long orderId, Side side, long price, long quantity) {
+        if (size == types.length) {
+            grow(size * 2);
+        }
+        types[size] = type;
+        orderIds[size] = orderId;
+        sides[size] = side;
+        prices[size] = price;
+        quantities[size] = quantity;
+        size++;
+    }
+
+    void addAll(OrderEvents other) {
+        if (size + other.size > types.length) {
+            grow(Math.max(size + other.size, size * 2));
+        }
+        System.arraycopy(other.types, 0, types, size, other.size);
+        System.arraycopy(other.orderIds, 0, orderIds, size, other.size);
+        System.arraycopy(other.sides, 0, sides, size, other.size);
+        System.arraycopy(other.prices, 0, prices, size, other.size);
+        System.arraycopy(other.quantities, 0, quantities, size, other.size);
+        size += other.size;
+    }
+
+    void deliver(OrderHandler handler) {
+        for (int i = 0; i < size; i++) {
+            switch (types[i]) {
+                case ADD -> handler.onOrderAdded(orderIds[i], sides[i], prices[i], quantities[i]);
+                case EXECUTE -> handler.onOrderExecuted(orderIds[i], sides[i], prices[i], quantities[i]);
+                case DELETE -> handler.onOrderDeleted(orderIds[i], sides[i], prices[i]);
+                case REDUCE -> handler.onOrderReduced(orderIds[i], sides[i], prices[i], quantities[i]);
+                default -> handler.onBatchEnd(quantities[i]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(sides, 0, size, null);
+        size = 0;
+    }
+
+    private void grow(int capacity) {
+        types = Arrays.copyOf(types, capacity);
+        orderIds = Arrays.copyOf(orderIds, capacity);
+        sides = Arrays.copyOf(sides, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+    }
+}
@@ -0,0 +1,15 @@
+package com.orderbook.marketdata;
+
+import com.orderbook.book.BookListener;
+
+/**
+ * Consumer callbacks for an L3 {@link OrderSubscription}, invoked on the
+ * polling thread: the book's own order events, in order, with the same
+ * batch boundaries — plus a full refresh after subscribing or after falling
+ * too far behind.
+ */
+public interface OrderHandler extends BookListener {
+
+    /** Replace all local orders with this image; events continue from it. */
+    void onRefresh(OrderSnapshot snapshot);
+}
@@ -0,0 +1,67 @@
+package com.orderbook.marketdata;
+
+import com.orderbook.book.OrderBook;
+import com.orderbook.book.PriceLevel;
+import com.orderbook.model.Order;
+import com.orderbook.model.Side;
+
+import java.util.List;
+
+/**
+ * Full L3 refresh: every resting order with its displayed quantity, bids best
+ * to worst then asks, FIFO within each level — replaying it as adds in array
+ * order rebuilds the queues exactly. Immutable once captured.
+ */
+public final class OrderSnapshot {
+
+    private final long sequence;
+    private final long[] orderIds;
+    private final Side[] sides;
+    private final long[] prices;
+    private final long[] quantities;
+
+    private OrderSnapshot(long sequence, int count) {
+        this.sequence = sequence;
+        this.orderIds = new long[count];
+        this.sides = new Side[count];
+        this.prices = new long[count];
+        this.quantities = new long[count];
+    }
+
+    /** O(resting orders). Matching thread only. */
+    static OrderSnapshot capture(OrderBook book) {
+        List<PriceLevel> bids = book.getBidDepth(Integer.MAX_VALUE);
+        List<PriceLevel> asks = book.getAskDepth(Integer.MAX_VALUE);
+        int count = 0;
+        for (PriceLevel level : bids) count += level.orderCount();
+        for (PriceLevel level : asks) count += level.orderCount();
+
+        OrderSnapshot snap = new OrderSnapshot(book.getLastSequence(), count);
+        int i = 0;
+        for (Side side : Side.values()) {
+            for (PriceLevel level : side == Side.BUY ? bids : asks) {
+                for (Order o : level) {
+                    snap.orderIds[i] = o.getOrderId();
+                    snap.sides[i] = side;
+                    snap.prices[i] = o.getPrice();
+                    snap.quantities[i] = o.getVisibleQty();
+                    i++;
+                }
+            }
+        }
+        return snap;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int orderCount() {
+        return orderIds.length;
+    }
+
+    public long orderId(int i)   { return orderIds[i]; }
+    public Side side(int i)      { return sides[i]; }
+    public long price(int i)     { return prices[i]; }
+    public long quantity(int i)  { return quantities[i]; }
+}
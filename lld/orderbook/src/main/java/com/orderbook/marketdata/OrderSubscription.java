@@ -0,0 +1,86 @@
+package com.orderbook.marketdata;
+
+/**
+ * An L3 subscriber's queue: every order event, unconflated, in book order.
+ *
+ * Order events can't be merged without losing queue position, so a slow
+ * subscriber is bounded instead: once more than capacity events are waiting
+ * the backlog is dropped and the next poll starts with a fresh
+ * {@link OrderSnapshot} — the usual gap-then-snapshot recovery of an L3 feed.
+ *
+ * The publisher appends whole batches under the lock; {@link #poll} swaps the
+ * buffer out and delivers outside it, so a slow handler never blocks matching.
+ * Poll from one thread at a time.
+ */
+public final class OrderSubscription {
+
+    private final int capacity;
+    private OrderEvents pending;
+    private OrderEvents draining;
+    private OrderSnapshot refresh;
+    private boolean stale = true;       // needs a refresh before events mean anything
+    private long gaps;
+
+    OrderSubscription(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.pending = new OrderEvents(Math.min(capacity, 1024));
+        this.draining = new OrderEvents(Math.min(capacity, 1024));
+    }
+
+    /** Deliver any refresh, then every event since the last poll. Returns events delivered. */
+    public int poll(OrderHandler handler) {
+        OrderSnapshot snapshot;
+        synchronized (this) {
+            snapshot = refresh;
+            refresh = null;
+            OrderEvents swap = pending;
+            pending = draining;
+            draining = swap;
+        }
+        if (snapshot != null) {
+            handler.onRefresh(snapshot);
+        }
+        int delivered = draining.size();
+        draining.deliver(handler);
+        draining.clear();
+        return delivered;
+    }
+
+    /** Ask for a full refresh at the next batch end, e.g. after the consumer lost its state. */
+    public synchronized void requestRefresh() {
+        stale = true;
+    }
+
+    /** Times this subscriber fell more than capacity events behind and was resynchronised. */
+    public synchronized long getGapCount() {
+        return gaps;
+    }
+
+    // ── Publisher side (matching thread) ───────────────────────
+
+    synchronized boolean needsRefresh() {
+        return stale;
+    }
+
+    synchronized void refresh(OrderSnapshot snapshot) {
+        refresh = snapshot;
+        pending.clear();
+        stale = false;
+    }
+
+    /** Append one batch (ending in its BATCH_END), or mark the subscriber stale if it won't fit. */
+    synchronized void publish(OrderEvents batch) {
+        if (stale) return;
+        if (pending.size() + batch.size() > capacity) {
+            stale = true;
+            gaps++;
+            refresh = null;
+            pending.clear();
+            return;
+        }
+        pending.addAll(batch);
+    }
+}
@@ -0,0 +1,70 @@
+package com.orderbook.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size log-linear histogram in the style of HdrHistogram.
+ *
+ * Values below 2^SUB_BITS get a bucket each; above that, every power of two
+ * is split into 2^SUB_BITS linear sub-buckets, so any recorded value is
+ * reported to within 1/128 (< 0.8%) of itself. record() is an index
+ * computation and one array increment — no allocation, no locks.
+ *
+ * Single writer: only the owning (matching) thread records. Counts are
+ * published with release stores, so {@link #snapshot()} from any other
+ * thread sees every bucket at some recent value without stalling the writer.
+ */
+public class Histogram {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_MAGNITUDE = 39;
+    /** Values above this (~18 minutes in nanos) are clamped into the last bucket. */
+    public static final long MAX_VALUE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+    static final int BUCKETS = (MAX_MAGNITUDE - SUB_BITS + 2) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong sum = new AtomicLong();
+
+    public void record(long value) {
+        long v = Math.max(0, Math.min(value, MAX_VALUE));
+        int idx = indexOf(v);
+        counts.setRelease(idx, counts.getPlain(idx) + 1);
+        sum.setRelease(sum.getPlain() + v);
+    }
+
+    /** Copy of the current counts. Safe to call from any thread. */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.getAcquire(i);
+        }
+        return new HistogramSnapshot(copy, sum.getAcquire());
+    }
+
+    // ── Bucket arithmetic ──────────────────────────────────────
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BITS;
+        int top = (int) (value >>> shift);              // in [SUB_COUNT, 2 * SUB_COUNT)
+        return (shift + 1) * SUB_COUNT + (top - SUB_COUNT);
+    }
+
+    /** Largest value that maps to bucket idx. */
+    static long highestValueIn(int idx) {
+        if (idx < SUB_COUNT) return idx;
+        int shift = (idx >> SUB_BITS) - 1;
+        long top = SUB_COUNT + (idx & (SUB_COUNT - 1));
+        return ((top + 1) << shift) - 1;
+    }
+
+    /** Smallest value that maps to bucket idx. */
+    static long lowestValueIn(int idx) {
+        if (idx < SUB_COUNT) return idx;
+        int shift = (idx >> SUB_BITS) - 1;
+        return (long) (SUB_COUNT + (idx & (SUB_COUNT - 1))) << shift;
+    }
+}
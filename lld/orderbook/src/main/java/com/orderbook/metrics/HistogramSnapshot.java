@@ -0,0 +1,74 @@
+package com.orderbook.metrics;
+
+/**
+ * Immutable copy of a {@link Histogram}. Percentiles report the highest value
+ * in the matching bucket, so they never understate a latency.
+ */
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+
+    HistogramSnapshot(long[] counts, long sum) {
+        this.counts = counts;
+        this.sum = sum;
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        this.count = total;
+    }
+
+    /** Activity between an earlier snapshot of the same histogram and this one. */
+    public HistogramSnapshot since(HistogramSnapshot earlier) {
+        long[] delta = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            delta[i] = counts[i] - earlier.counts[i];
+        }
+        return new HistogramSnapshot(delta, sum - earlier.sum);
+    }
+
+    /** @param percentile in [0, 100]; 0 when nothing was recorded */
+    public long valueAtPercentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Histogram.highestValueIn(i);
+        }
+        return getMax();
+    }
+
+    public long p50()  { return valueAtPercentile(50); }
+    public long p99()  { return valueAtPercentile(99); }
+    public long p999() { return valueAtPercentile(99.9); }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public long getMin() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) return Histogram.lowestValueIn(i);
+        }
+        return 0;
+    }
+
+    public long getMax() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) return Histogram.highestValueIn(i);
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%d p99=%d p99.9=%d max=%d", count, p50(), p99(), p999(), getMax());
+    }
+}
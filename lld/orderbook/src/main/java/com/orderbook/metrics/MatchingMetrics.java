@@ -0,0 +1,84 @@
+package com.orderbook.metrics;
+
+import com.orderbook.book.BookMetrics;
+import com.orderbook.model.Order;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Always-on latency recording for one OrderBook.
+ *
+ * Per placement: three clock reads and two histogram increments. Placements
+ * are split by {@link PlaceOutcome}, so a rise in sweep latency is not
+ * averaged away by the resting flow that dominates volume.
+ *
+ * Recorded on the matching thread; {@link #snapshot()} may be called from
+ * any thread (e.g. a metrics scraper) without blocking matching.
+ *
+ * <pre>
+ *   MatchingMetrics metrics = new MatchingMetrics();
+ *   book.setMetrics(metrics);
+ *   ...
+ *   MetricsSnapshot now = metrics.snapshot();
+ *   now.since(previous).placeLatency(PlaceOutcome.SWEPT).p999();
+ * </pre>
+ */
+public class MatchingMetrics implements BookMetrics {
+
+    private static final PlaceOutcome[] OUTCOMES = PlaceOutcome.values();
+
+    private final Histogram[] placeLatency = new Histogram[OUTCOMES.length];
+    private final Histogram matchLatency = new Histogram();
+    private final Histogram cancelLatency = new Histogram();
+    private final Histogram sweepDepth = new Histogram();     // levels touched per SWEPT placement
+    private final AtomicLong trades = new AtomicLong();
+    private final AtomicLong levelsTouched = new AtomicLong();
+
+    public MatchingMetrics() {
+        for (int i = 0; i < placeLatency.length; i++) {
+            placeLatency[i] = new Histogram();
+        }
+    }
+
+    @Override
+    public long now() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void onExecute(Order order, int levels, long fills, long startNanos, long matchedNanos) {
+        long end = System.nanoTime();
+        PlaceOutcome outcome = classify(order, levels);
+        placeLatency[outcome.ordinal()].record(end - startNanos);
+        matchLatency.record(matchedNanos - startNanos);
+        if (outcome == PlaceOutcome.SWEPT) {
+            sweepDepth.record(levels);
+        }
+        if (fills > 0) {
+            trades.setRelease(trades.getPlain() + fills);
+            levelsTouched.setRelease(levelsTouched.getPlain() + levels);
+        }
+    }
+
+    @Override
+    public void onCancel(long startNanos) {
+        cancelLatency.record(System.nanoTime() - startNanos);
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<PlaceOutcome, HistogramSnapshot> byOutcome = new EnumMap<>(PlaceOutcome.class);
+        for (PlaceOutcome outcome : OUTCOMES) {
+            byOutcome.put(outcome, placeLatency[outcome.ordinal()].snapshot());
+        }
+        return new MetricsSnapshot(byOutcome, matchLatency.snapshot(), cancelLatency.snapshot(),
+                sweepDepth.snapshot(), trades.getAcquire(), levelsTouched.getAcquire());
+    }
+
+    private static PlaceOutcome classify(Order order, int levels) {
+        if (levels > 1) return PlaceOutcome.SWEPT;
+        if (order.getFilledQty() == 0) return PlaceOutcome.RESTED;
+        return order.getRemainingQty() == 0 ? PlaceOutcome.FULLY_FILLED : PlaceOutcome.PARTIALLY_FILLED;
+    }
+}
@@ -0,0 +1,82 @@
+package com.orderbook.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/** Point-in-time copy of {@link MatchingMetrics}. Latencies are in nanoseconds. */
+public final class MetricsSnapshot {
+
+    private final Map<PlaceOutcome, HistogramSnapshot> placeLatency;
+    private final HistogramSnapshot matchLatency;
+    private final HistogramSnapshot cancelLatency;
+    private final HistogramSnapshot sweepDepth;
+    private final long trades;
+    private final long levelsTouched;
+
+    MetricsSnapshot(Map<PlaceOutcome, HistogramSnapshot> placeLatency, HistogramSnapshot matchLatency,
+                    HistogramSnapshot cancelLatency, HistogramSnapshot sweepDepth,
+                    long trades, long levelsTouched) {
+        this.placeLatency = placeLatency;
+        this.matchLatency = matchLatency;
+        this.cancelLatency = cancelLatency;
+        this.sweepDepth = sweepDepth;
+        this.trades = trades;
+        this.levelsTouched = levelsTouched;
+    }
+
+    /** Activity since an earlier snapshot — for per-interval p99s rather than since-startup ones. */
+    public MetricsSnapshot since(MetricsSnapshot earlier) {
+        Map<PlaceOutcome, HistogramSnapshot> delta = new EnumMap<>(PlaceOutcome.class);
+        for (Map.Entry<PlaceOutcome, HistogramSnapshot> e : placeLatency.entrySet()) {
+            delta.put(e.getKey(), e.getValue().since(earlier.placeLatency.get(e.getKey())));
+        }
+        return new MetricsSnapshot(delta, matchLatency.since(earlier.matchLatency),
+                cancelLatency.since(earlier.cancelLatency), sweepDepth.since(earlier.sweepDepth),
+                trades - earlier.trades, levelsTouched - earlier.levelsTouched);
+    }
+
+    /** Whole placement: matching plus resting the remainder. */
+    public HistogramSnapshot placeLatency(PlaceOutcome outcome) {
+        return placeLatency.get(outcome);
+    }
+
+    /** MatchingEngine.match alone, across all placements. */
+    public HistogramSnapshot getMatchLatency() {
+        return matchLatency;
+    }
+
+    public HistogramSnapshot getCancelLatency() {
+        return cancelLatency;
+    }
+
+    /** Distribution of levels touched by SWEPT placements. */
+    public HistogramSnapshot getSweepDepth() {
+        return sweepDepth;
+    }
+
+    public long getTrades() {
+        return trades;
+    }
+
+    public long getLevelsTouched() {
+        return levelsTouched;
+    }
+
+    /** Average resting orders filled per level an aggressive order touched. */
+    public double getOrdersPerLevel() {
+        return levelsTouched == 0 ? 0 : (double) trades / levelsTouched;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<PlaceOutcome, HistogramSnapshot> e : placeLatency.entrySet()) {
+            sb.append(String.format("place %-16s %s%n", e.getKey(), e.getValue()));
+        }
+        sb.append(String.format("match %-16s %s%n", "", matchLatency));
+        sb.append(String.format("cancel %-15s %s%n", "", cancelLatency));
+        sb.append(String.format("trades=%d levelsTouched=%d ordersPerLevel=%.2f sweepDepth.p99=%d",
+                trades, levelsTouched, getOrdersPerLevel(), sweepDepth.p99()));
+        return sb.toString();
+    }
+}
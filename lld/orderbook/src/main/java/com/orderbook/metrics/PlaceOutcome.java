@@ -0,0 +1,13 @@
+package com.orderbook.metrics;
+
+/** How a placement ended, for splitting latency by the work it did. */
+public enum PlaceOutcome {
+    /** No fill — a limit order that rested, an IOC or market order with nothing to match, or a killed FOK. */
+    RESTED,
+    /** Filled at a single level, with quantity left over. */
+    PARTIALLY_FILLED,
+    /** Completely filled at a single level. */
+    FULLY_FILLED,
+    /** Traded through two or more levels, whatever the final fill state. */
+    SWEPT
+}
@@ -0,0 +1,60 @@
+package com.orderbook.model;
+
+/**
+ * Working-order totals for one account: what its live orders could still
+ * trade. An order attached to an Exposure ({@link Order#attachExposure})
+ * keeps it current itself — every fill, cancel, expiry and reduction takes
+ * its share back out — so a pre-trade check reads a few longs instead of
+ * walking the account's orders.
+ *
+ * Notional counts limit-priced orders at their limit (ticks × quantity).
+ * Market and stop-market orders have no price to count, so they add
+ * quantity only. Single writer: the book's matching thread.
+ */
+public final class Exposure {
+
+    private final long accountId;
+    private long openBuyQty;
+    private long openSellQty;
+    private long openNotional;       // ticks × quantity, both sides
+    private int openOrders;
+
+    public Exposure(long accountId) {
+        this.accountId = accountId;
+    }
+
+    void add(Order order, long qty) {
+        if (order.getSide() == Side.BUY) {
+            openBuyQty += qty;
+        } else {
+            openSellQty += qty;
+        }
+        if (order.hasLimitPrice()) {
+            openNotional += order.getPrice() * qty;
+        }
+    }
+
+    void orderOpened() {
+        openOrders++;
+    }
+
+    void orderClosed() {
+        openOrders--;
+    }
+
+    public long getAccountId()     { return accountId; }
+    public long getOpenBuyQty()    { return openBuyQty; }
+    public long getOpenSellQty()   { return openSellQty; }
+    public long getOpenNotional()  { return openNotional; }
+    public int getOpenOrders()     { return openOrders; }
+
+    public long getOpenQty(Side side) {
+        return side == Side.BUY ? openBuyQty : openSellQty;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Exposure{account=%d, buy=%d, sell=%d, notional=%d, orders=%d}",
+                accountId, openBuyQty, openSellQty, openNotional, openOrders);
+    }
+}
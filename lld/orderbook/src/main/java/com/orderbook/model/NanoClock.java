@@ -0,0 +1,37 @@
+package com.orderbook.model;
+
+import java.time.Instant;
+
+/**
+ * Epoch-nanosecond timestamps without allocation.
+ *
+ * The wall clock is read once, when the class loads; after that a timestamp
+ * is that base plus the elapsed System.nanoTime(). One monotonic read and an
+ * add instead of an Instant per order and per trade. The price is that NTP
+ * corrections made after startup are not picked up — fine for sequencing
+ * and latency, not for regulatory time stamping.
+ */
+public final class NanoClock {
+
+    private static final long BASE_EPOCH_NANOS;
+    private static final long BASE_NANO_TIME;
+
+    static {
+        Instant wall = Instant.now();
+        BASE_NANO_TIME = System.nanoTime();
+        BASE_EPOCH_NANOS = wall.getEpochSecond() * 1_000_000_000L + wall.getNano();
+    }
+
+    private NanoClock() {
+    }
+
+    /** Nanoseconds since the epoch. */
+    public static long now() {
+        return BASE_EPOCH_NANOS + (System.nanoTime() - BASE_NANO_TIME);
+    }
+
+    /** Materialise a timestamp from {@link #now()} — allocates, so keep it off the matching path. */
+    public static Instant toInstant(long epochNanos) {
+        return Instant.ofEpochSecond(0, epochNanos);
+    }
+}
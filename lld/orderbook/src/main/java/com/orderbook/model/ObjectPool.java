@@ -0,0 +1,104 @@
+package com.orderbook.model;
+
+/**
+ * Opt-in recycling of Order and Trade instances through per-thread free lists.
+ *
+ * Off by default: the factories allocate and recycle() does nothing. Once
+ * enabled, {@code Order} factories and {@link Trade#of} pop from the calling
+ * thread's free list and recycle() pushes onto it, so a thread that both
+ * creates and retires objects — the match stage of a CommandPipeline —
+ * settles into steady state with no allocation at all. The lists are
+ * intrusive (no nodes, no locks) and capped per thread; anything recycled
+ * past the cap is left to the GC.
+ *
+ * Ownership while pooling:
+ * - An order the book took in (rested, parked stop, market order waiting for
+ *   an uncross) belongs to the book, which recycles it when it leaves —
+ *   filled, cancelled, expired or replaced. Don't hold on to it past the
+ *   command that placed it.
+ * - An order that is {@code !isActive()} once placeOrder returns, or was
+ *   rejected, stays with the caller: recycle it when done reading it.
+ * - Trades returned by the list APIs belong to the caller likewise.
+ *
+ * Objects recycled on a different thread than they were taken on simply
+ * migrate to that thread's list. Switch modes only while no orders are live.
+ */
+public final class ObjectPool {
+
+    /** Free objects kept per thread and type before recycling falls back to the GC. */
+    public static final int MAX_FREE_PER_THREAD = 1 << 16;
+
+    private static final ThreadLocal<FreeLists> FREE = ThreadLocal.withInitial(FreeLists::new);
+    private static volatile boolean enabled;
+
+    private ObjectPool() {
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Free orders held by the calling thread. */
+    public static int freeOrders() {
+        return FREE.get().orderCount;
+    }
+
+    /** Free trades held by the calling thread. */
+    public static int freeTrades() {
+        return FREE.get().tradeCount;
+    }
+
+    static FreeLists local() {
+        return FREE.get();
+    }
+
+    /** One thread's free lists, linked through the objects themselves. */
+    static final class FreeLists {
+        private Order orders;
+        private int orderCount;
+        private Trade trades;
+        private int tradeCount;
+
+        Order takeOrder() {
+            Order order = orders;
+            if (order != null) {
+                orders = order.getNext();
+                order.setNext(null);
+                orderCount--;
+            }
+            return order;
+        }
+
+        void putOrder(Order order) {
+            if (orderCount == MAX_FREE_PER_THREAD) return;
+            order.setNext(orders);
+            orders = order;
+            orderCount++;
+        }
+
+        Trade takeTrade() {
+            Trade trade = trades;
+            if (trade != null) {
+                trades = trade.nextFree;
+                trade.nextFree = null;
+                tradeCount--;
+            }
+            return trade;
+        }
+
+        void putTrade(Trade trade) {
+            if (tradeCount == MAX_FREE_PER_THREAD) return;
+            trade.nextFree = trades;
+            trades = trade;
+            tradeCount++;
+        }
+    }
+}
@@ -1,52 +1,248 @@
 package com.orderbook.model;
 
+import com.orderbook.book.PriceLevel;
 import com.orderbook.exception.InvalidOrderException;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Identity (id, side, type, prices, quantity, time in force) is fixed from
+ * creation until the order is recycled; only fill state and queue links
+ * change. Identity fields are not final so that {@link ObjectPool} can reissue
+ * a retired instance — outside pooled mode every factory call allocates.
+ */
 public class Order {
 
+    /** Price sentinel for MARKET orders and empty book sides. */
+    public static final long NO_PRICE = Long.MIN_VALUE;
+
+    /** Expiry sentinel for everything except GTD. */
+    public static final long NO_EXPIRY = 0;
+
+    /** Account sentinel: the order takes no part in self-trade prevention. */
+    public static final long NO_ACCOUNT = 0;
+
     private static final AtomicLong ID_GEN = new AtomicLong(1);
 
-    private final long orderId;
-    private final Side side;
-    private final OrderType type;
-    private final BigDecimal price;   // null for MARKET orders
-    private final long originalQty;
+    private long orderId;
+    private Side side;
+    private OrderType type;
+    private long price;               // in ticks; NO_PRICE for MARKET and STOP orders
+    private long triggerPrice;        // in ticks; NO_PRICE unless STOP / STOP_LIMIT
+    private long originalQty;         // less any reduce() — fills never change it
+    private long displayQty;          // iceberg peak; 0 = fully displayed
+    private TimeInForce timeInForce;
+    private long expireAtMillis;      // GTD only; NO_EXPIRY otherwise
+    private long accountId;           // owner for self-trade prevention; NO_ACCOUNT if none
+    private Exposure exposure;        // account totals this order counts against while working; null if none
+    private long visibleQty;          // iceberg only: what is left of the current slice
     private long filledQty;
     private OrderStatus status;
-    private final Instant timestamp;
+    private long timestampNanos;      // NanoClock epoch nanos
+    private boolean free;             // sitting on an ObjectPool free list
+
+    // Intrusive FIFO links — owned and maintained by PriceLevel while resting
+    private PriceLevel level;
+    private Order prev;
+    private Order next;
+
+    private Order() {
+    }
+
+    private static Order create(Side side, OrderType type, long price, long triggerPrice, long quantity,
+                                long displayQty, TimeInForce timeInForce, long expireAtMillis) {
+        return create(ID_GEN.getAndIncrement(), side, type, price, triggerPrice, quantity, displayQty,
+                timeInForce, expireAtMillis);
+    }
+
+    /** A recycled instance in pooled mode, a new one otherwise. */
+    private static Order create(long orderId, Side side, OrderType type, long price, long triggerPrice,
+                                long quantity, long displayQty, TimeInForce timeInForce, long expireAtMillis) {
+        Order order = ObjectPool.isEnabled() ? ObjectPool.local().takeOrder() : null;
+        if (order == null) {
+            order = new Order();
+        }
+        order.init(orderId, side, type, price, triggerPrice, quantity, displayQty, timeInForce, expireAtMillis);
+        return order;
+    }
 
-    private Order(Side side, OrderType type, BigDecimal price, long quantity) {
-        this.orderId = ID_GEN.getAndIncrement();
+    private void init(long orderId, Side side, OrderType type, long price, long triggerPrice,
+                      long quantity, long displayQty, TimeInForce timeInForce, long expireAtMillis) {
+        this.orderId = orderId;
         this.side = side;
         this.type = type;
         this.price = price;
+        this.triggerPrice = triggerPrice;
         this.originalQty = quantity;
+        this.displayQty = displayQty;
+        this.visibleQty = Math.min(displayQty, quantity);
+        this.timeInForce = timeInForce;
+        this.expireAtMillis = expireAtMillis;
+        this.accountId = NO_ACCOUNT;
+        this.exposure = null;
         this.filledQty = 0;
         this.status = OrderStatus.NEW;
-        this.timestamp = Instant.now();
+        this.timestampNanos = NanoClock.now();
+        this.free = false;
     }
 
     // ── Factory methods ────────────────────────────────────────
 
-    public static Order limitOrder(Side side, BigDecimal price, long quantity) {
-        if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
+    public static Order limitOrder(Side side, long priceTicks, long quantity) {
+        return limitOrder(side, priceTicks, quantity, TimeInForce.GTC);
+    }
+
+    /** GTC, IOC or FOK limit order. GTD needs an expiry — use {@link #goodTillDate}. */
+    public static Order limitOrder(Side side, long priceTicks, long quantity, TimeInForce timeInForce) {
+        if (timeInForce == TimeInForce.GTD) {
+            throw new InvalidOrderException("GTD orders need an expiry time");
+        }
+        return limit(side, priceTicks, quantity, timeInForce, NO_EXPIRY);
+    }
+
+    /** Limit order that expires at expireAtMillis (epoch millis). Day orders use the session close. */
+    public static Order goodTillDate(Side side, long priceTicks, long quantity, long expireAtMillis) {
+        if (expireAtMillis <= 0) {
+            throw new InvalidOrderException("GTD expiry must be a positive epoch-millis time");
+        }
+        return limit(side, priceTicks, quantity, TimeInForce.GTD, expireAtMillis);
+    }
+
+    private static Order limit(Side side, long priceTicks, long quantity, TimeInForce timeInForce, long expireAt) {
+        if (priceTicks <= 0) {
             throw new InvalidOrderException("Limit order requires a positive price");
         }
         if (quantity <= 0) {
             throw new InvalidOrderException("Quantity must be positive");
         }
-        return new Order(side, OrderType.LIMIT, price, quantity);
+        return create(side, OrderType.LIMIT, priceTicks, NO_PRICE, quantity, 0, timeInForce, expireAt);
+    }
+
+    /** API-edge convenience: converts a decimal price using the symbol's tick size. */
+    public static Order limitOrder(Side side, BigDecimal price, long quantity, TickSize tickSize) {
+        if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidOrderException("Limit order requires a positive price");
+        }
+        return limitOrder(side, tickSize.toTicks(price), quantity);
     }
 
     public static Order marketOrder(Side side, long quantity) {
+        return marketOrder(side, quantity, TimeInForce.IOC);
+    }
+
+    /** Market orders never rest, so only IOC (the default) and FOK make sense. */
+    public static Order marketOrder(Side side, long quantity, TimeInForce timeInForce) {
+        if (timeInForce != TimeInForce.IOC && timeInForce != TimeInForce.FOK) {
+            throw new InvalidOrderException("Market orders must be IOC or FOK");
+        }
+        if (quantity <= 0) {
+            throw new InvalidOrderException("Quantity must be positive");
+        }
+        return create(side, OrderType.MARKET, NO_PRICE, NO_PRICE, quantity, 0, timeInForce, NO_EXPIRY);
+    }
+
+    /**
+     * Limit order that shows at most displayQty in the book. Each time the
+     * displayed slice is filled, the next slice rejoins the back of the queue.
+     */
+    public static Order icebergOrder(Side side, long priceTicks, long quantity, long displayQty) {
+        if (priceTicks <= 0) {
+            throw new InvalidOrderException("Limit order requires a positive price");
+        }
+        validateIceberg(quantity, displayQty);
+        return create(side, OrderType.LIMIT, priceTicks, NO_PRICE, quantity, displayQty, TimeInForce.GTC, NO_EXPIRY);
+    }
+
+    /** Market order released once a trade prints at or through triggerTicks. */
+    public static Order stopOrder(Side side, long triggerTicks, long quantity) {
+        if (triggerTicks <= 0) {
+            throw new InvalidOrderException("Stop order requires a positive trigger price");
+        }
         if (quantity <= 0) {
             throw new InvalidOrderException("Quantity must be positive");
         }
-        return new Order(side, OrderType.MARKET, null, quantity);
+        return create(side, OrderType.STOP, NO_PRICE, triggerTicks, quantity, 0, TimeInForce.GTC, NO_EXPIRY);
+    }
+
+    /** Limit order at limitTicks released once a trade prints at or through triggerTicks. */
+    public static Order stopLimitOrder(Side side, long triggerTicks, long limitTicks, long quantity) {
+        if (triggerTicks <= 0) {
+            throw new InvalidOrderException("Stop order requires a positive trigger price");
+        }
+        if (limitTicks <= 0) {
+            throw new InvalidOrderException("Limit order requires a positive price");
+        }
+        if (quantity <= 0) {
+            throw new InvalidOrderException("Quantity must be positive");
+        }
+        return create(side, OrderType.STOP_LIMIT, limitTicks, triggerTicks, quantity, 0, TimeInForce.GTC, NO_EXPIRY);
+    }
+
+    /**
+     * Recreate an order with a known id (journal replay, replication).
+     * Advances the id generator past it so new orders never collide.
+     */
+    public static Order restore(long orderId, Side side, OrderType type, long priceTicks, long quantity) {
+        return restore(orderId, side, type, priceTicks, NO_PRICE, quantity, 0,
+                type == OrderType.MARKET ? TimeInForce.IOC : TimeInForce.GTC, NO_EXPIRY);
+    }
+
+    /** Full form of {@link #restore(long, Side, OrderType, long, long)} for stops, icebergs and time in force. */
+    public static Order restore(long orderId, Side side, OrderType type, long priceTicks, long triggerTicks,
+                                long quantity, long displayQty, TimeInForce timeInForce, long expireAtMillis) {
+        if (orderId <= 0) {
+            throw new InvalidOrderException("Order id must be positive");
+        }
+        boolean limitPriced = type == OrderType.LIMIT || type == OrderType.STOP_LIMIT;
+        boolean triggered = type == OrderType.STOP || type == OrderType.STOP_LIMIT;
+        if (limitPriced && priceTicks <= 0) {
+            throw new InvalidOrderException("Limit order requires a positive price");
+        }
+        if (triggered && triggerTicks <= 0) {
+            throw new InvalidOrderException("Stop order requires a positive trigger price");
+        }
+        if (quantity <= 0) {
+            throw new InvalidOrderException("Quantity must be positive");
+        }
+        // A reduced or amended iceberg may have no reserve left, so display >= quantity is allowed here
+        if (displayQty < 0 || displayQty > Integer.MAX_VALUE) {
+            throw new InvalidOrderException("Display quantity must be positive and fit in 32 bits");
+        }
+        if ((timeInForce == TimeInForce.GTD) != (expireAtMillis > 0)) {
+            throw new InvalidOrderException("Only GTD orders carry an expiry time");
+        }
+        ID_GEN.accumulateAndGet(orderId + 1, Math::max);
+        return create(orderId, side, type, limitPriced ? priceTicks : NO_PRICE,
+                triggered ? triggerTicks : NO_PRICE, quantity, displayQty, timeInForce, expireAtMillis);
+    }
+
+    /**
+     * Tag this order with the account (participant) that owns it, before it is
+     * placed. Orders of the same account never trade with each other when the
+     * book has self-trade prevention on.
+     */
+    public Order forAccount(long accountId) {
+        // Account ids travel as an int in the journal
+        if (accountId <= 0 || accountId > Integer.MAX_VALUE) {
+            throw new InvalidOrderException("Account id must be positive and fit in 32 bits");
+        }
+        if (status != OrderStatus.NEW || level != null) {
+            throw new InvalidOrderException("Account can only be set before the order is placed");
+        }
+        this.accountId = accountId;
+        return this;
+    }
+
+    private static void validateIceberg(long quantity, long displayQty) {
+        if (quantity <= 0) {
+            throw new InvalidOrderException("Quantity must be positive");
+        }
+        // Display size travels as an int in the journal
+        if (displayQty <= 0 || displayQty >= quantity || displayQty > Integer.MAX_VALUE) {
+            throw new InvalidOrderException("Display quantity must be positive and below the order quantity");
+        }
     }
 
     // ── Lifecycle ──────────────────────────────────────────────
@@ -57,7 +253,32 @@ public class Order {
                     "Invalid fill qty " + qty + " for remaining " + getRemainingQty());
         }
         this.filledQty += qty;
+        if (displayQty > 0) {
+            visibleQty = Math.max(0, visibleQty - qty);
+        }
         this.status = (filledQty == originalQty) ? OrderStatus.FILLED : OrderStatus.PARTIALLY_FILLED;
+        release(qty);
+    }
+
+    /**
+     * Take qty off the unfilled quantity without a trade (self-trade
+     * decrement). An iceberg's slice shrinks only if less than it remains.
+     * The order is cancelled once nothing is left. Resting orders go through
+     * {@link PriceLevel#reduce} so the level totals stay in step.
+     */
+    public void reduce(long qty) {
+        if (qty <= 0 || qty > getRemainingQty()) {
+            throw new InvalidOrderException(
+                    "Invalid reduction " + qty + " for remaining " + getRemainingQty());
+        }
+        this.originalQty -= qty;
+        if (displayQty > 0) {
+            visibleQty = Math.min(visibleQty, getRemainingQty());
+        }
+        if (getRemainingQty() == 0) {
+            this.status = OrderStatus.CANCELLED;
+        }
+        release(qty);
     }
 
     public void cancel() {
@@ -65,6 +286,70 @@ public class Order {
             throw new InvalidOrderException("Cannot cancel a fully filled order");
         }
         this.status = OrderStatus.CANCELLED;
+        release(getRemainingQty());
+    }
+
+    /** GTD expiry reached — like cancel, but recorded as EXPIRED. */
+    public void expire() {
+        if (status == OrderStatus.FILLED) {
+            throw new InvalidOrderException("Cannot expire a fully filled order");
+        }
+        this.status = OrderStatus.EXPIRED;
+        release(getRemainingQty());
+    }
+
+    /**
+     * Count this order's unfilled quantity against an account's working totals
+     * from now until it is done; see {@link Exposure}. Once per order.
+     */
+    public void attachExposure(Exposure exposure) {
+        if (this.exposure != null) {
+            throw new IllegalStateException("Order " + orderId + " already counts against an exposure");
+        }
+        if (!isActive()) {
+            throw new IllegalStateException("Order " + orderId + " is no longer working");
+        }
+        this.exposure = exposure;
+        exposure.add(this, getRemainingQty());
+        exposure.orderOpened();
+    }
+
+    /** qty stopped working (filled, reduced or the rest cancelled); detach once nothing is left. */
+    private void release(long qty) {
+        if (exposure == null) return;
+        exposure.add(this, -qty);
+        if (!isActive()) {
+            exposure.orderClosed();
+            exposure = null;
+        }
+    }
+
+    /**
+     * Hand a finished or rejected order back to the calling thread's free
+     * list. No-op unless {@link ObjectPool} is enabled, and for an order that
+     * is already free: an order that rested and was filled by a stop its own
+     * placement fired has been recycled by the book before the caller sees
+     * it inactive. See ObjectPool for who may call this.
+     */
+    public void recycle() {
+        if (!ObjectPool.isEnabled() || free) return;
+        if (level != null) {
+            throw new IllegalStateException("Order " + orderId + " is still in the book");
+        }
+        free = true;
+        ObjectPool.local().putOrder(this);
+    }
+
+    /** Show the next iceberg slice — after the current one is used up, or before an iceberg first rests. */
+    public void replenish() {
+        visibleQty = Math.min(displayQty, getRemainingQty());
+    }
+
+    /** Snapshot restore only: reinstate a partly consumed iceberg slice. */
+    public void restoreVisibleQty(long qty) {
+        if (displayQty > 0) {
+            visibleQty = qty;
+        }
     }
 
     // ── Queries ────────────────────────────────────────────────
@@ -73,6 +358,24 @@ public class Order {
         return originalQty - filledQty;
     }
 
+    /** Quantity shown in the book: the current slice for icebergs, everything otherwise. */
+    public long getVisibleQty() {
+        return displayQty > 0 ? visibleQty : getRemainingQty();
+    }
+
+    public boolean isIceberg() {
+        return displayQty > 0;
+    }
+
+    public boolean isStop() {
+        return type == OrderType.STOP || type == OrderType.STOP_LIMIT;
+    }
+
+    /** True for LIMIT and STOP_LIMIT — the engine must respect price, and remainders may rest. */
+    public boolean hasLimitPrice() {
+        return price != NO_PRICE;
+    }
+
     public boolean isActive() {
         return status == OrderStatus.NEW || status == OrderStatus.PARTIALLY_FILLED;
     }
@@ -82,17 +385,38 @@ public class Order {
     public long getOrderId()       { return orderId; }
     public Side getSide()          { return side; }
     public OrderType getType()     { return type; }
-    public BigDecimal getPrice()   { return price; }
+    public long getPrice()         { return price; }
+    public long getTriggerPrice()  { return triggerPrice; }
     public long getOriginalQty()   { return originalQty; }
+    public long getDisplayQty()    { return displayQty; }
+    public TimeInForce getTimeInForce() { return timeInForce; }
+    public long getExpireAtMillis() { return expireAtMillis; }
+    public long getAccountId()     { return accountId; }
+    public Exposure getExposure()  { return exposure; }
     public long getFilledQty()     { return filledQty; }
     public OrderStatus getStatus() { return status; }
-    public Instant getTimestamp()   { return timestamp; }
+    public long getTimestampNanos() { return timestampNanos; }
+    public Instant getTimestamp()   { return NanoClock.toInstant(timestampNanos); }
+
+    // ── Queue links (PriceLevel use only) ──────────────────────
+
+    /** Level this order is resting in, or null if not in the book. */
+    public PriceLevel getLevel()   { return level; }
+    public Order getPrev()         { return prev; }
+    public Order getNext()         { return next; }
+
+    public void setLevel(PriceLevel level) { this.level = level; }
+    public void setPrev(Order prev)        { this.prev = prev; }
+    public void setNext(Order next)        { this.next = next; }
 
     @Override
     public String toString() {
-        return String.format("Order{id=%d, %s %s, price=%s, qty=%d/%d, %s}",
-                orderId, side, type,
-                price != null ? price.toPlainString() : "MKT",
-                filledQty, originalQty, status);
+        return String.format("Order{id=%d, %s %s %s, price=%s%s, qty=%d/%d%s, %s}",
+                orderId, side, type, timeInForce,
+                price != NO_PRICE ? Long.toString(price) : "MKT",
+                triggerPrice != NO_PRICE ? ", trigger=" + triggerPrice : "",
+                filledQty, originalQty,
+                displayQty > 0 ? ", display=" + displayQty : "",
+                status);
     }
 }
@@ -1,5 +1,5 @@
 package com.orderbook.model;
 
 public enum OrderStatus {
-    NEW, PARTIALLY_FILLED, FILLED, CANCELLED
+    NEW, PARTIALLY_FILLED, FILLED, CANCELLED, EXPIRED
 }
@@ -1,5 +1,10 @@
 package com.orderbook.model;
 
 public enum OrderType {
-    LIMIT, MARKET
+    LIMIT,
+    MARKET,
+    /** Held in the trigger book; becomes a MARKET order when the trigger price trades. */
+    STOP,
+    /** Held in the trigger book; becomes a LIMIT order at its price when the trigger price trades. */
+    STOP_LIMIT
 }
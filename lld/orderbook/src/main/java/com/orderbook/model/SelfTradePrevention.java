@@ -0,0 +1,18 @@
+package com.orderbook.model;
+
+/**
+ * What the engine does when an incoming order would trade with a resting
+ * order of the same account. Orders without an account never self-trade.
+ */
+public enum SelfTradePrevention {
+    /** Off — same-account orders trade like any others. */
+    NONE,
+    /** Cancel the rest of the incoming order; the resting order keeps its place. */
+    CANCEL_NEWEST,
+    /** Cancel the resting order and keep matching the incoming one. */
+    CANCEL_OLDEST,
+    /** Cancel both. */
+    CANCEL_BOTH,
+    /** Take the smaller remaining quantity off both without a trade; whichever reaches zero is cancelled. */
+    DECREMENT
+}
@@ -0,0 +1,62 @@
+package com.orderbook.model;
+
+import com.orderbook.exception.InvalidOrderException;
+
+import java.math.BigDecimal;
+
+/**
+ * Minimum price increment for a symbol.
+ *
+ * Prices inside the book and engine are plain {@code long} tick counts
+ * (150.25 with a 0.01 tick → 15025). BigDecimal only appears at the API edge,
+ * where this class converts in both directions.
+ */
+public final class TickSize {
+
+    /** One cent — the default for US equities. */
+    public static final TickSize CENT = of("0.01");
+
+    private final BigDecimal increment;
+
+    private TickSize(BigDecimal increment) {
+        this.increment = increment;
+    }
+
+    public static TickSize of(String increment) {
+        return of(new BigDecimal(increment));
+    }
+
+    public static TickSize of(BigDecimal increment) {
+        if (increment == null || increment.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidOrderException("Tick size must be positive");
+        }
+        return new TickSize(increment);
+    }
+
+    /** Convert a decimal price to ticks. Rejects prices that are not on the tick grid. */
+    public long toTicks(BigDecimal price) {
+        if (price.remainder(increment).signum() != 0) {
+            throw new InvalidOrderException(
+                    "Price " + price.toPlainString() + " is not a multiple of tick size " + increment.toPlainString());
+        }
+        try {
+            return price.divide(increment).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new InvalidOrderException("Price out of range: " + price.toPlainString());
+        }
+    }
+
+    /** Convert ticks back to a decimal price for display or external APIs. */
+    public BigDecimal toPrice(long ticks) {
+        return increment.multiply(BigDecimal.valueOf(ticks));
+    }
+
+    public BigDecimal getIncrement() {
+        return increment;
+    }
+
+    @Override
+    public String toString() {
+        return "TickSize{" + increment.toPlainString() + "}";
+    }
+}
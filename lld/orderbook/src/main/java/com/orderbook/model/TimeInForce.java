@@ -0,0 +1,18 @@
+package com.orderbook.model;
+
+/** How long an order's unfilled quantity may stay in the book. */
+public enum TimeInForce {
+    /** Good till cancelled — the default for limit and stop orders. */
+    GTC,
+    /** Immediate or cancel — fill what crosses now, cancel the rest. Implied for market orders. */
+    IOC,
+    /** Fill or kill — fill the whole quantity now or do nothing. */
+    FOK,
+    /** Good till date/time — rests until its expiry time, then expires. Day orders are GTD to the close. */
+    GTD;
+
+    /** Whether an unfilled remainder may rest in the book. */
+    public boolean canRest() {
+        return this == GTC || this == GTD;
+    }
+}
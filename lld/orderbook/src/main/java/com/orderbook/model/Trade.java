@@ -1,39 +1,83 @@
 package com.orderbook.model;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Record of one fill. Immutable to its readers; the fields are only rewritten
+ * when a recycled instance is reissued by {@link #of} in pooled mode.
+ *
+ * Trades built from a TradeListener callback carry the book's trade sequence
+ * as their id, so they match what every listener (and a replaying replica)
+ * saw; the forms without an id draw one from a process-wide counter.
+ */
 public final class Trade {
 
     private static final AtomicLong ID_GEN = new AtomicLong(1);
 
-    private final long tradeId;
-    private final long buyOrderId;
-    private final long sellOrderId;
-    private final BigDecimal price;
-    private final long quantity;
-    private final Instant timestamp;
+    private long tradeId;
+    private long buyOrderId;
+    private long sellOrderId;
+    private long price;         // in ticks
+    private long quantity;
+    private long timestampNanos;
+    private boolean free;       // sitting on a free list
+    Trade nextFree;             // ObjectPool free-list link
 
-    public Trade(long buyOrderId, long sellOrderId, BigDecimal price, long quantity) {
-        this.tradeId = ID_GEN.getAndIncrement();
+    public Trade(long buyOrderId, long sellOrderId, long price, long quantity) {
+        this(ID_GEN.getAndIncrement(), buyOrderId, sellOrderId, price, quantity);
+    }
+
+    public Trade(long tradeId, long buyOrderId, long sellOrderId, long price, long quantity) {
+        init(tradeId, buyOrderId, sellOrderId, price, quantity);
+    }
+
+    /** Like the constructor, but reuses a recycled instance when {@link ObjectPool} is enabled. */
+    public static Trade of(long buyOrderId, long sellOrderId, long price, long quantity) {
+        return of(ID_GEN.getAndIncrement(), buyOrderId, sellOrderId, price, quantity);
+    }
+
+    /** As above, with the id given — normally the book's trade sequence. */
+    public static Trade of(long tradeId, long buyOrderId, long sellOrderId, long price, long quantity) {
+        Trade trade = ObjectPool.isEnabled() ? ObjectPool.local().takeTrade() : null;
+        if (trade == null) {
+            return new Trade(tradeId, buyOrderId, sellOrderId, price, quantity);
+        }
+        trade.init(tradeId, buyOrderId, sellOrderId, price, quantity);
+        return trade;
+    }
+
+    private void init(long tradeId, long buyOrderId, long sellOrderId, long price, long quantity) {
+        this.tradeId = tradeId;
         this.buyOrderId = buyOrderId;
         this.sellOrderId = sellOrderId;
         this.price = price;
         this.quantity = quantity;
-        this.timestamp = Instant.now();
+        this.timestampNanos = NanoClock.now();
+        this.free = false;
+    }
+
+    /** Hand this trade back once consumed. No-op unless pooling is enabled. */
+    public void recycle() {
+        if (!ObjectPool.isEnabled()) return;
+        if (free) {
+            throw new IllegalStateException("Trade " + tradeId + " was already recycled");
+        }
+        free = true;
+        ObjectPool.local().putTrade(this);
     }
 
     public long getTradeId()     { return tradeId; }
     public long getBuyOrderId()  { return buyOrderId; }
     public long getSellOrderId() { return sellOrderId; }
-    public BigDecimal getPrice() { return price; }
+    public long getPrice()       { return price; }
     public long getQuantity()    { return quantity; }
-    public Instant getTimestamp() { return timestamp; }
+    public long getTimestampNanos() { return timestampNanos; }
+    public Instant getTimestamp() { return NanoClock.toInstant(timestampNanos); }
 
     @Override
     public String toString() {
-        return String.format("Trade{id=%d, buy=%d, sell=%d, price=%s, qty=%d}",
-                tradeId, buyOrderId, sellOrderId, price.toPlainString(), quantity);
+        return String.format("Trade{id=%d, buy=%d, sell=%d, price=%d, qty=%d}",
+                tradeId, buyOrderId, sellOrderId, price, quantity);
     }
 }
@@ -0,0 +1,15 @@
+package com.orderbook.pipeline;
+
+/**
+ * One stage of the pipeline. Called on the stage's own thread, in sequence order.
+ *
+ * endOfBatch is true for the last command currently available — the natural
+ * point to flush (e.g. a publisher send).
+ */
+@FunctionalInterface
+public interface CommandHandler {
+
+    CommandHandler NO_OP = (command, sequence, endOfBatch) -> { };
+
+    void onCommand(OrderCommand command, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,271 @@
+package com.orderbook.pipeline;
+
+import com.orderbook.book.OrderBook;
+import com.orderbook.engine.TradeListener;
+import com.orderbook.exception.InvalidOrderException;
+import com.orderbook.exception.OrderNotFoundException;
+import com.orderbook.model.Order;
+import com.orderbook.model.OrderType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Disruptor-style command pipeline in front of a single OrderBook.
+ *
+ *   producers ──claim/publish──▶ [ ring of OrderCommand slots ]
+ *                                   │
+ *                 pre-match stage ──┤  (thread 1, gated on publish cursor)
+ *                 match stage ──────┤  (thread 2, gated on pre-match, sole owner of the book)
+ *                 publish stage ────┘  (thread 3, gated on match; frees slots for producers)
+ *
+ * Slots are allocated once and reused, and fills go straight to a
+ * TradeListener on the match thread, so steady-state traffic creates no
+ * command, result or trade objects — nor orders, with ObjectPool enabled,
+ * since the match thread both creates and retires them. Each stage processes
+ * everything available in one batch and is told which command ends it, so
+ * the publisher can flush once per burst.
+ *
+ * The match stage is where commands become durable: the book records each
+ * accepted command in its CommandJournal, and the stage commits once at the
+ * end of every batch, before publish sees any of it. The pre-match handler
+ * sees commands before the book does and journals nothing — use it for
+ * gateway work such as logging raw input or enriching commands.
+ *
+ * A command the book refuses (invalid, unknown order, over a risk limit) is
+ * rejected and the pipeline moves on. Any other failure — the journal
+ * above all — halts the pipeline: matching on without a write-ahead log
+ * would acknowledge commands that recovery cannot reproduce.
+ *
+ * Producer protocol:
+ * <pre>
+ *   long seq = pipeline.next();
+ *   pipeline.get(seq).placeLimit(Side.BUY, 15000, 100);
+ *   pipeline.publish(seq);
+ * </pre>
+ */
+public class CommandPipeline implements AutoCloseable {
+
+    private static final int SPINS_BEFORE_PARK = 10_000;
+    private static final long PARK_NANOS = 50_000;
+
+    private final OrderBook book;
+    private final TradeListener executions;
+    private final TradeListener countingListener = this::onTrade;
+    private final OrderCommand[] ring;
+    private final int mask;
+    private final Sequencer sequencer;
+    private final Stage[] stages;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+    private volatile RuntimeException failure;
+    private int tradesInCommand;                 // match-thread only
+
+    public CommandPipeline(OrderBook book, int bufferSize, CommandHandler preMatch, CommandHandler publisher) {
+        this(book, bufferSize, preMatch, TradeListener.NO_OP, publisher);
+    }
+
+    /**
+     * @param preMatch   called on its own thread for every command before the
+     *                   match stage sees it
+     * @param executions called on the match thread for every fill, before the
+     *                   command reaches the publish stage
+     */
+    public CommandPipeline(OrderBook book, int bufferSize, CommandHandler preMatch,
+                           TradeListener executions, CommandHandler publisher) {
+        if (bufferSize < 2 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of two >= 2");
+        }
+        this.book = book;
+        this.executions = executions;
+        this.ring = new OrderCommand[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            ring[i] = new OrderCommand();
+        }
+        this.mask = bufferSize - 1;
+        this.sequencer = new Sequencer(bufferSize);
+
+        Stage preMatchStage = new Stage("pre-match", preMatch, null);
+        Stage matchStage = new Stage("match", this::match, preMatchStage.sequence);
+        Stage publishStage = new Stage("publish", publisher, matchStage.sequence);
+        this.stages = new Stage[] { preMatchStage, matchStage, publishStage };
+        sequencer.setGatingSequence(publishStage.sequence);
+    }
+
+    // ── Lifecycle ──────────────────────────────────────────────
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        for (Stage stage : stages) {
+            Thread t = new Thread(stage, book.getSymbol() + "-" + stage.name);
+            t.setDaemon(true);
+            threads.add(t);
+            t.start();
+        }
+    }
+
+    /** Waits for every claimed command to clear the publish stage, then stops the stages. */
+    @Override
+    public synchronized void close() throws InterruptedException {
+        if (!running) return;
+        Stage last = stages[stages.length - 1];
+        while (failure == null && last.sequence.get() < sequencer.claimed()) {
+            Thread.sleep(1);
+        }
+        running = false;
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+
+    // ── Producer API (any thread) ──────────────────────────────
+
+    /** Claim the next slot. Spins while the ring is full. */
+    public long next() {
+        return next(1);
+    }
+
+    /** Claim n consecutive slots for a batch; returns the highest sequence (lowest = hi - n + 1). */
+    public long next(int n) {
+        if (n < 1 || n > ring.length) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + ring.length);
+        }
+        checkHealthy();
+        return sequencer.next(n, this::awaitCapacity);
+    }
+
+    public OrderCommand get(long sequence) {
+        return ring[(int) (sequence & mask)];
+    }
+
+    public void publish(long sequence) {
+        sequencer.publish(sequence, sequence);
+    }
+
+    public void publish(long lo, long hi) {
+        sequencer.publish(lo, hi);
+    }
+
+    public OrderBook getBook() {
+        return book;
+    }
+
+    // ── Match stage ────────────────────────────────────────────
+
+    private void match(OrderCommand command, long sequence, boolean endOfBatch) {
+        tradesInCommand = 0;
+        try {
+            switch (command.getType()) {
+                case PLACE -> {
+                    Order order = (command.getOrderType() == OrderType.LIMIT)
+                            ? Order.limitOrder(command.getSide(), command.getPrice(), command.getQuantity())
+                            : Order.marketOrder(command.getSide(), command.getQuantity());
+                    try {
+                        book.placeOrder(order, countingListener);
+                    } catch (RuntimeException e) {
+                        order.recycle();    // rejected — never reached the book
+                        throw e;
+                    }
+                    command.accept(order.getOrderId(), order.getFilledQty(), tradesInCommand);
+                    release(order);
+                }
+                case CANCEL -> {
+                    book.cancelOrder(command.getOrderId());
+                    command.accept(command.getOrderId(), 0, 0);
+                }
+                case MODIFY -> {
+                    // The book builds the replacement, keeping iceberg display, GTD expiry and account
+                    Order replacement = book.modifyOrder(command.getOrderId(), command.getPrice(),
+                            command.getQuantity(), countingListener);
+                    command.accept(replacement.getOrderId(), replacement.getFilledQty(), tradesInCommand);
+                    release(replacement);
+                }
+                case AMEND -> {
+                    book.amendOrder(command.getOrderId(), command.getQuantity());
+                    command.accept(command.getOrderId(), 0, 0);
+                }
+            }
+        } catch (InvalidOrderException | OrderNotFoundException e) {
+            // Refused by the book (RiskLimitException included); anything else halts the stage
+            command.reject(e.getMessage());
+        }
+        if (endOfBatch) {
+            // Group commit: the whole batch becomes durable before publish acks any of it
+            book.getJournal().commit();
+        }
+    }
+
+    /** An order inactive after its command is ours to recycle; a live one now belongs to the book. */
+    private static void release(Order order) {
+        if (!order.isActive()) {
+            order.recycle();
+        }
+    }
+
+    private void onTrade(long buyOrderId, long sellOrderId, long price, long quantity, long sequence) {
+        tradesInCommand++;
+        executions.onTrade(buyOrderId, sellOrderId, price, quantity, sequence);
+    }
+
+    // ── Internals ──────────────────────────────────────────────
+
+    private void awaitCapacity() {
+        checkHealthy();
+        Thread.onSpinWait();
+    }
+
+    private void checkHealthy() {
+        if (failure != null) {
+            throw new IllegalStateException("Pipeline halted", failure);
+        }
+    }
+
+    /** A consumer thread: processes [own + 1, upstream] in one batch, then advances its sequence. */
+    private final class Stage implements Runnable {
+
+        private final String name;
+        private final CommandHandler handler;
+        private final AtomicLong upstream;                    // null → gate on the publish cursor
+        private final AtomicLong sequence = new AtomicLong(-1);
+
+        Stage(String name, CommandHandler handler, AtomicLong upstream) {
+            this.name = name;
+            this.handler = handler;
+            this.upstream = upstream;
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while (running) {
+                long available = (upstream == null)
+                        ? sequencer.highestPublished(next)
+                        : upstream.get();
+                if (available < next) {
+                    if (++idle < SPINS_BEFORE_PARK) {
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(PARK_NANOS);
+                    }
+                    continue;
+                }
+                try {
+                    for (long s = next; s <= available; s++) {
+                        handler.onCommand(get(s), s, s == available);
+                    }
+                } catch (RuntimeException e) {
+                    // A failing journal, book or publisher must halt the pipeline, not skip commands
+                    failure = e;
+                    return;
+                }
+                sequence.set(available);
+                next = available + 1;
+                idle = 0;
+            }
+        }
+    }
+}
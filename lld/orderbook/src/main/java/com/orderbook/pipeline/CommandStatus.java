@@ -0,0 +1,5 @@
+package com.orderbook.pipeline;
+
+public enum CommandStatus {
+    PENDING, ACCEPTED, REJECTED
+}
@@ -0,0 +1,5 @@
+package com.orderbook.pipeline;
+
+public enum CommandType {
+    PLACE, CANCEL, MODIFY, AMEND
+}
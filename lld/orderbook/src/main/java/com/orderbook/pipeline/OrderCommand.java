@@ -0,0 +1,106 @@
+package com.orderbook.pipeline;
+
+import com.orderbook.model.OrderType;
+import com.orderbook.model.Side;
+
+/**
+ * Pre-allocated, reusable ring slot: request fields written by the producer,
+ * result fields written by the match stage.
+ *
+ * A producer claims a sequence, fills the slot through one of the request
+ * methods (which also reset the result), and publishes. Downstream stages
+ * read it; the slot is recycled once the publish stage has passed it.
+ */
+public final class OrderCommand {
+
+    // ── Request ────────────────────────────────────────────────
+    private CommandType type;
+    private Side side;
+    private OrderType orderType;
+    private long price;          // ticks
+    private long quantity;
+    private long orderId;        // target of CANCEL / MODIFY / AMEND
+
+    // ── Result ─────────────────────────────────────────────────
+    private CommandStatus status;
+    private long resultOrderId;  // id assigned by PLACE / MODIFY
+    private long filledQty;
+    private int tradeCount;
+    private String rejectReason;
+
+    OrderCommand() {
+    }
+
+    // ── Request setup (producer) ───────────────────────────────
+
+    public OrderCommand placeLimit(Side side, long priceTicks, long quantity) {
+        return set(CommandType.PLACE, side, OrderType.LIMIT, priceTicks, quantity, 0);
+    }
+
+    public OrderCommand placeMarket(Side side, long quantity) {
+        return set(CommandType.PLACE, side, OrderType.MARKET, 0, quantity, 0);
+    }
+
+    public OrderCommand cancel(long orderId) {
+        return set(CommandType.CANCEL, null, null, 0, 0, orderId);
+    }
+
+    public OrderCommand modify(long orderId, long newPriceTicks, long newQty) {
+        return set(CommandType.MODIFY, null, OrderType.LIMIT, newPriceTicks, newQty, orderId);
+    }
+
+    /** Reduce a resting order in place, keeping its queue position; see OrderBook.amendOrder. */
+    public OrderCommand amend(long orderId, long newQty) {
+        return set(CommandType.AMEND, null, null, 0, newQty, orderId);
+    }
+
+    private OrderCommand set(CommandType type, Side side, OrderType orderType,
+                             long price, long quantity, long orderId) {
+        this.type = type;
+        this.side = side;
+        this.orderType = orderType;
+        this.price = price;
+        this.quantity = quantity;
+        this.orderId = orderId;
+        this.status = CommandStatus.PENDING;
+        this.resultOrderId = 0;
+        this.filledQty = 0;
+        this.tradeCount = 0;
+        this.rejectReason = null;
+        return this;
+    }
+
+    // ── Result (match stage) ───────────────────────────────────
+
+    void accept(long resultOrderId, long filledQty, int tradeCount) {
+        this.status = CommandStatus.ACCEPTED;
+        this.resultOrderId = resultOrderId;
+        this.filledQty = filledQty;
+        this.tradeCount = tradeCount;
+    }
+
+    void reject(String reason) {
+        this.status = CommandStatus.REJECTED;
+        this.rejectReason = reason;
+    }
+
+    // ── Getters ────────────────────────────────────────────────
+
+    public CommandType getType()       { return type; }
+    public Side getSide()              { return side; }
+    public OrderType getOrderType()    { return orderType; }
+    public long getPrice()             { return price; }
+    public long getQuantity()          { return quantity; }
+    public long getOrderId()           { return orderId; }
+    public CommandStatus getStatus()   { return status; }
+    public long getResultOrderId()     { return resultOrderId; }
+    public long getFilledQty()         { return filledQty; }
+    public int getTradeCount()         { return tradeCount; }
+    public String getRejectReason()    { return rejectReason; }
+
+    @Override
+    public String toString() {
+        return String.format("OrderCommand{%s, side=%s, price=%d, qty=%d, orderId=%d, %s}",
+                type, side, price, quantity, orderId, status);
+    }
+}
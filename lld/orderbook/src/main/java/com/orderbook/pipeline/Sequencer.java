@@ -0,0 +1,70 @@
+package com.orderbook.pipeline;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multi-producer sequence claiming, Disruptor style.
+ *
+ * Producers claim with a single getAndAdd on the cursor (no lock, no CAS
+ * retry loop), then wait only if they would lap the slowest stage. Because
+ * claims can be published out of order, each slot records the "lap" it was
+ * last published for; consumers find the highest contiguous published
+ * sequence by checking those flags.
+ */
+final class Sequencer {
+
+    private final int bufferSize;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicLong cursor = new AtomicLong(-1);    // highest claimed
+    private final AtomicIntegerArray published;
+    private AtomicLong gatingSequence;                       // last stage — set before start
+
+    Sequencer(int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.published = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    void setGatingSequence(AtomicLong gatingSequence) {
+        this.gatingSequence = gatingSequence;
+    }
+
+    /** Claim n sequences; returns the highest. Spins while the ring is full. */
+    long next(int n, Runnable onWait) {
+        long hi = cursor.getAndAdd(n) + n;
+        long wrapPoint = hi - bufferSize;
+        while (wrapPoint > gatingSequence.get()) {
+            onWait.run();
+        }
+        return hi;
+    }
+
+    void publish(long lo, long hi) {
+        for (long s = lo; s <= hi; s++) {
+            published.set((int) (s & mask), (int) (s >>> indexShift));
+        }
+    }
+
+    boolean isPublished(long sequence) {
+        return published.get((int) (sequence & mask)) == (int) (sequence >>> indexShift);
+    }
+
+    /** Highest sequence in [lo, claimed] such that everything up to it is published. */
+    long highestPublished(long lo) {
+        long hi = cursor.get();
+        for (long s = lo; s <= hi; s++) {
+            if (!isPublished(s)) return s - 1;
+        }
+        return hi;
+    }
+
+    long claimed() {
+        return cursor.get();
+    }
+}
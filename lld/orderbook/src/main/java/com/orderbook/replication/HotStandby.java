@@ -0,0 +1,200 @@
+package com.orderbook.replication;
+
+import com.orderbook.book.OrderBook;
+import com.orderbook.engine.TradeListener;
+import com.orderbook.journal.JournalTailer;
+import com.orderbook.journal.MappedJournal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps a set of books hot on a standby by following the journals their
+ * primary writes, and takes the books over when the primary is gone.
+ *
+ * The journal is already the sequenced command log, and the engine is
+ * deterministic, so replication is just replay that never stops: each
+ * standby book applies the primary's commands in order through its own
+ * OrderBook and MatchingEngine, and produces the same trades (ids, prices,
+ * quantities, trade sequence) and the same book. Commands travel through the
+ * shared page cache of the memory-mapped journal ({@link JournalTailer}), so
+ * the primary does no extra work per command and the standby sees each one
+ * as soon as it is written — testable as two JVMs on one box.
+ *
+ * Failover: the primary holds each MappedJournal's writer lock, which the OS
+ * releases when its process exits or dies. Once every journal is free, the
+ * standby drains what is left, opens the journals for append itself and
+ * attaches them — the books are current, so taking over costs milliseconds
+ * instead of a full replay. The lock also keeps a primary that comes back
+ * from writing to a journal that now has a new owner.
+ *
+ * <pre>
+ *   HotStandby standby = new HotStandby()
+ *           .follow(dir.resolve("AAPL.journal"), new OrderBook("AAPL"))
+ *           .follow(dir.resolve("MSFT.journal"), new OrderBook("MSFT"));
+ *   standby.awaitFailover(TimeUnit.MILLISECONDS.toNanos(1));   // books now journaled and live
+ * </pre>
+ *
+ * Books may start from a snapshot; records up to their getLastSequence() are
+ * skipped. Book configuration that is not journaled (tick size, ladder,
+ * self-trade prevention) must match the primary's; risk checks and market
+ * data publishers are attached after promotion. Until then the standby
+ * thread owns the books, as the matching thread does on the primary.
+ */
+public class HotStandby implements AutoCloseable {
+
+    private static final int BATCH = 256;       // records per book per pass, so a busy book can't starve the rest
+    private static final int SPINS_BEFORE_PARK = 10_000;
+    private static final long PARK_NANOS = 50_000;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private boolean promoted;
+
+    private static final class Replica {
+        final OrderBook book;
+        final TradeListener listener;
+        final JournalTailer tailer;
+        MappedJournal journal;                  // set on promotion
+
+        Replica(OrderBook book, TradeListener listener, JournalTailer tailer) {
+            this.book = book;
+            this.listener = listener;
+            this.tailer = tailer;
+        }
+    }
+
+    public HotStandby follow(Path journal, OrderBook book) {
+        return follow(journal, book, TradeListener.NO_OP);
+    }
+
+    /** Keep book current from journal; trades the replayed commands produce go to listener. */
+    public HotStandby follow(Path journal, OrderBook book, TradeListener listener) {
+        if (promoted) {
+            throw new IllegalStateException("Standby has already been promoted");
+        }
+        replicas.add(new Replica(book, listener, new JournalTailer(journal, book.getLastSequence())));
+        return this;
+    }
+
+    /** One pass over every book: apply what the primary has written since. Returns records applied. */
+    public int poll() throws IOException {
+        int applied = 0;
+        for (Replica r : replicas) {
+            applied += r.tailer.poll(r.book, r.listener, BATCH);
+        }
+        return applied;
+    }
+
+    /**
+     * True while any journal is still open for writing — or does not exist
+     * yet, which means the primary has not started rather than that it is gone.
+     */
+    public boolean isPrimaryActive() throws IOException {
+        for (Replica r : replicas) {
+            Path path = r.tailer.getPath();
+            if (!Files.exists(path) || MappedJournal.isOpenForWriting(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Apply the rest of each journal, then open it for append and attach it:
+     * from here the books take commands and journal them as the primary did.
+     * Refused while the primary still holds any of the journals.
+     *
+     * All or nothing: every journal is drained, opened and checked before any
+     * is attached. If one fails, the ones already opened are closed again, no
+     * book gets a journal, and the standby is left following — poll() reopens
+     * the tailers — so promote() can be retried.
+     */
+    public void promote() throws IOException {
+        if (promoted) {
+            throw new IllegalStateException("Standby has already been promoted");
+        }
+        if (isPrimaryActive()) {
+            throw new IllegalStateException("The primary still has its journals open");
+        }
+        List<MappedJournal> opened = new ArrayList<>(replicas.size());
+        try {
+            for (Replica r : replicas) {
+                while (r.tailer.poll(r.book, r.listener, Integer.MAX_VALUE) > 0) {
+                    // drain
+                }
+                // Close the read side first: closing a channel can drop this process's lock on the file
+                r.tailer.close();
+                MappedJournal journal = MappedJournal.resume(r.tailer.getPath(), r.tailer.getLastSequence());
+                opened.add(journal);
+                if (journal.getLastSequence() != r.book.getLastSequence()) {
+                    throw new IllegalStateException(r.book.getSymbol() + " is at sequence "
+                            + r.book.getLastSequence() + " but its journal ends at " + journal.getLastSequence());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            for (MappedJournal journal : opened) {
+                try {
+                    journal.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica r = replicas.get(i);
+            r.journal = opened.get(i);
+            r.book.setJournal(r.journal);
+        }
+        promoted = true;
+    }
+
+    /**
+     * Follow the primary until it is gone, then promote. The primary's
+     * liveness is checked every checkIntervalNanos while there is nothing to
+     * apply. Returns the takeover time: nanos from finding the primary gone
+     * to the books being live.
+     */
+    public long awaitFailover(long checkIntervalNanos) throws IOException {
+        long nextCheck = System.nanoTime();
+        int idle = 0;
+        while (true) {
+            if (poll() > 0) {
+                idle = 0;
+                continue;
+            }
+            long now = System.nanoTime();
+            if (now - nextCheck >= 0) {
+                if (!isPrimaryActive()) {
+                    promote();
+                    return System.nanoTime() - now;
+                }
+                nextCheck = now + checkIntervalNanos;
+            }
+            if (++idle < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(Math.min(PARK_NANOS, checkIntervalNanos));
+            }
+        }
+    }
+
+    public boolean isPromoted() {
+        return promoted;
+    }
+
+    /** Close the tailers, and after promotion the journals (committing them). */
+    @Override
+    public void close() throws IOException {
+        for (Replica r : replicas) {
+            r.tailer.close();
+            if (r.journal != null) {
+                r.journal.close();
+            }
+        }
+    }
+}
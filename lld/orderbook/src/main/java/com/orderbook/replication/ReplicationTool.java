@@ -0,0 +1,141 @@
+package com.orderbook.replication;
+
+import com.orderbook.book.OrderBook;
+import com.orderbook.journal.MappedJournal;
+import com.orderbook.loadgen.LoadRunner;
+import com.orderbook.loadgen.SyntheticFlow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary and standby as two processes on one box, for trying failover.
+ *
+ * <pre>
+ *   primary DIR EVENTS [--books N] [--rate PER_SEC] [--paced SPEED] [--hold MILLIS]
+ *   standby DIR        [--books N] [--check MICROS]
+ * </pre>
+ * The primary journals books B0..B(N-1) to DIR/B&lt;i&gt;.journal, each fed a
+ * seeded synthetic flow by its own thread, prints one line per book, holds
+ * the journals open for --hold ms and exits. The standby follows the same
+ * journals, takes over once the primary is gone and prints the same lines:
+ * identical lines mean identical trades and books. Kill the primary (kill -9)
+ * mid-run to fail over from a crash.
+ * <pre>
+ *   java -cp target/classes com.orderbook.replication.ReplicationTool standby /tmp/repl --books 4 &amp;
+ *   java -cp target/classes com.orderbook.replication.ReplicationTool primary /tmp/repl 2000000 --books 4 --paced 1
+ * </pre>
+ */
+public final class ReplicationTool {
+
+    private ReplicationTool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || (args[0].equals("primary") && (args.length < 3 || args[2].startsWith("--")))) {
+            usage();
+            return;
+        }
+        Map<String, String> opts = options(args);
+        Path dir = Path.of(args[1]);
+        int books = Integer.parseInt(opts.getOrDefault("books", "1"));
+        switch (args[0]) {
+            case "primary" -> primary(dir, books, Long.parseLong(args[2]), opts);
+            case "standby" -> standby(dir, books, Long.parseLong(opts.getOrDefault("check", "1000")));
+            default -> usage();
+        }
+    }
+
+    private static void primary(Path dir, int count, long events, Map<String, String> opts) throws Exception {
+        Files.createDirectories(dir);
+        OrderBook[] books = new OrderBook[count];
+        MappedJournal[] journals = new MappedJournal[count];
+        TradeDigest[] digests = new TradeDigest[count];
+        Thread[] threads = new Thread[count];
+        for (int i = 0; i < count; i++) {
+            books[i] = new OrderBook(symbol(i));
+            journals[i] = MappedJournal.open(journal(dir, i));
+            if (journals[i].getLastSequence() > 0) {
+                throw new IllegalStateException(journal(dir, i) + " is not empty; start from a clean directory");
+            }
+            books[i].setJournal(journals[i]);
+            digests[i] = new TradeDigest();
+
+            LoadRunner runner = new LoadRunner(books[i]).tradesTo(digests[i]);
+            if (opts.containsKey("paced")) runner.paced(Double.parseDouble(opts.get("paced")));
+            SyntheticFlow flow = new SyntheticFlow(i + 1, 10_000, events);
+            if (opts.containsKey("rate")) flow.rate(Double.parseDouble(opts.get("rate")));
+            threads[i] = new Thread(() -> {
+                try {
+                    runner.run(flow, events);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, symbol(i));
+            threads[i].start();
+        }
+        for (int i = 0; i < count; i++) {
+            threads[i].join();
+            System.out.println(describe(books[i], digests[i]));
+        }
+        Thread.sleep(Long.parseLong(opts.getOrDefault("hold", "0")));
+        for (MappedJournal journal : journals) {
+            journal.close();
+        }
+    }
+
+    private static void standby(Path dir, int count, long checkMicros) throws IOException {
+        OrderBook[] books = new OrderBook[count];
+        TradeDigest[] digests = new TradeDigest[count];
+        try (HotStandby standby = new HotStandby()) {
+            for (int i = 0; i < count; i++) {
+                books[i] = new OrderBook(symbol(i));
+                digests[i] = new TradeDigest();
+                standby.follow(journal(dir, i), books[i], digests[i]);
+            }
+            System.out.printf("Following %d book(s) in %s%n", count, dir);
+            long takeover = standby.awaitFailover(TimeUnit.MICROSECONDS.toNanos(checkMicros));
+            for (int i = 0; i < count; i++) {
+                System.out.println(describe(books[i], digests[i]));
+            }
+            System.out.printf("Promoted %d µs after finding the primary gone (checked every %d µs)%n",
+                    TimeUnit.NANOSECONDS.toMicros(takeover), checkMicros);
+        }
+    }
+
+    private static String symbol(int i) {
+        return "B" + i;
+    }
+
+    private static Path journal(Path dir, int i) {
+        return dir.resolve(symbol(i) + ".journal");
+    }
+
+    private static String describe(OrderBook book, TradeDigest digest) {
+        return String.format("%s sequence=%d orders=%d bid=%d ask=%d %s", book.getSymbol(), book.getLastSequence(),
+                book.totalOrderCount(), book.getBestBidTicks(), book.getBestAskTicks(), digest);
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) continue;
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+
+    private static void usage() {
+        System.out.println("""
+                usage: ReplicationTool primary DIR EVENTS [--books N] [--rate PER_SEC] [--paced SPEED] [--hold MILLIS]
+                       ReplicationTool standby DIR        [--books N] [--check MICROS]""");
+    }
+}
@@ -0,0 +1,37 @@
+package com.orderbook.replication;
+
+import com.orderbook.engine.TradeListener;
+
+/**
+ * Running fingerprint of a trade stream: a count and a 64-bit hash folded
+ * over every field of every trade, in order. Two books that produced the
+ * same digest produced the same trades, in the same order — a cheap way to
+ * check a replica against its primary without shipping the trades.
+ */
+public final class TradeDigest implements TradeListener {
+
+    private static final long PRIME = 0x100000001B3L;
+
+    private long count;
+    private long hash = 0xCBF29CE484222325L;
+
+    @Override
+    public void onTrade(long buyOrderId, long sellOrderId, long price, long quantity, long sequence) {
+        long h = hash;
+        h = (h ^ buyOrderId) * PRIME;
+        h = (h ^ sellOrderId) * PRIME;
+        h = (h ^ price) * PRIME;
+        h = (h ^ quantity) * PRIME;
+        h = (h ^ sequence) * PRIME;
+        hash = h ^ (h >>> 29);
+        count++;
+    }
+
+    public long getCount() { return count; }
+    public long getHash()  { return hash; }
+
+    @Override
+    public String toString() {
+        return String.format("%d trades, digest %016x", count, hash);
+    }
+}
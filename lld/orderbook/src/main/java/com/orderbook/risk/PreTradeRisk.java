@@ -0,0 +1,231 @@
+package com.orderbook.risk;
+
+import com.orderbook.book.OrderBook;
+import com.orderbook.book.RiskCheck;
+import com.orderbook.exception.RiskLimitException;
+import com.orderbook.exception.RiskLimitException.Reason;
+import com.orderbook.model.Exposure;
+import com.orderbook.model.Order;
+import com.orderbook.model.Side;
+
+/**
+ * Inline pre-trade risk for one OrderBook: order size, order notional, a
+ * price collar around the touch, and per-account open quantity and
+ * notional.
+ *
+ * The check runs on the matching thread inside placeOrder/modifyOrder, so
+ * there is no extra hop; it costs one account lookup (open addressing on
+ * the account id) and a handful of compares. Account totals are an
+ * {@link Exposure} per account that accepted orders keep current themselves
+ * as they fill, shrink, cancel or expire — no walk over an account's orders,
+ * no per-order state here.
+ *
+ * Orders without an account get the order-level checks under the default
+ * limits only. A modify is judged as a swap: the replacement's exposure
+ * replaces the cancelled order's, so shrinking a position is never refused
+ * for being over a limit it is moving towards.
+ *
+ * <pre>
+ *   PreTradeRisk risk = new PreTradeRisk(RiskLimits.NONE.withMaxOrderQty(10_000).withPriceCollar(50));
+ *   risk.setAccountLimits(42, RiskLimits.NONE.withMaxOpenQty(50_000));
+ *   book.setRiskCheck(risk);      // after recovery; picks up working orders
+ * </pre>
+ *
+ * Not thread-safe: owned by the book's matching thread, like the book.
+ */
+public class PreTradeRisk implements RiskCheck {
+
+    private static final long EMPTY = Order.NO_ACCOUNT;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final RiskLimits defaults;
+    private final long[] rejects = new long[Reason.values().length];
+
+    // account id → limits + exposure; added by setAccountLimits or the first accepted
+    // order, never by a rejected one; accounts are few and never removed
+    private long[] accounts = new long[64];
+    private RiskLimits[] limits = new RiskLimits[64];
+    private Exposure[] exposures = new Exposure[64];
+    private int accountCount;
+
+    public PreTradeRisk(RiskLimits defaults) {
+        this.defaults = defaults;
+    }
+
+    /** Limits for one account in place of the defaults. */
+    public void setAccountLimits(long accountId, RiskLimits accountLimits) {
+        if (accountId == Order.NO_ACCOUNT) {
+            throw new IllegalArgumentException("Orders without an account use the default limits");
+        }
+        limits[slotFor(accountId)] = accountLimits;
+    }
+
+    public RiskLimits getLimits(long accountId) {
+        int slot = find(accountId);
+        return slot < 0 ? defaults : limits[slot];
+    }
+
+    /** Working totals of an account, or null if it has not been seen. */
+    public Exposure getExposure(long accountId) {
+        int slot = find(accountId);
+        return slot < 0 ? null : exposures[slot];
+    }
+
+    public long getRejectCount(Reason reason) {
+        return rejects[reason.ordinal()];
+    }
+
+    // ── RiskCheck ──────────────────────────────────────────────
+
+    @Override
+    public void check(Order order, Order replaces, OrderBook book) {
+        long account = order.getAccountId();
+        int slot = find(account);        // no insert: only an accepted order adds its account
+        RiskLimits l = slot < 0 ? defaults : limits[slot];
+
+        long qty = order.getRemainingQty();
+        if (qty > l.getMaxOrderQty()) {
+            reject(Reason.ORDER_QUANTITY, "Order quantity " + qty + " exceeds the limit of " + l.getMaxOrderQty());
+        }
+
+        long touch = farTouch(order.getSide(), book);
+        long price = order.hasLimitPrice() ? order.getPrice() : touch;
+        if (order.hasLimitPrice() && !order.isStop() && touch != Order.NO_PRICE
+                && l.getCollarTicks() != RiskLimits.UNLIMITED) {
+            // Compared as distances: touch ± collar can overflow for a wide collar
+            boolean outside = order.getSide() == Side.BUY
+                    ? price - touch > l.getCollarTicks()
+                    : touch - price > l.getCollarTicks();
+            if (outside) {
+                reject(Reason.PRICE_COLLAR, "Price " + price + " is more than " + l.getCollarTicks()
+                        + " ticks through the reference price " + touch);
+            }
+        }
+
+        long notional = 0;
+        if (price != Order.NO_PRICE) {
+            try {
+                notional = Math.multiplyExact(price, qty);
+            } catch (ArithmeticException e) {
+                reject(Reason.ORDER_NOTIONAL, "Order notional " + price + " x " + qty + " overflows a long");
+            }
+        }
+        if (notional > l.getMaxOrderNotional()) {
+            reject(Reason.ORDER_NOTIONAL, "Order notional " + notional + " exceeds the limit of "
+                    + l.getMaxOrderNotional());
+        }
+        if (account == Order.NO_ACCOUNT) return;
+
+        // An account not seen yet has nothing working
+        Exposure exposure = slot < 0 ? null : exposures[slot];
+        long workingQty = exposure != null ? exposure.getOpenQty(order.getSide()) : 0;
+        long workingNotional = exposure != null ? exposure.getOpenNotional() : 0;
+        long openQty = workingQty + qty;
+        long openNotional = 0;
+        try {
+            openNotional = Math.addExact(workingNotional, notional);
+        } catch (ArithmeticException e) {
+            reject(Reason.OPEN_NOTIONAL, "Account " + account + " open notional overflows a long");
+        }
+        if (exposure != null && replaces != null && replaces.getExposure() == exposure) {
+            openQty -= replaces.getRemainingQty();
+            if (replaces.hasLimitPrice()) {
+                openNotional -= replaces.getPrice() * replaces.getRemainingQty();
+            }
+        }
+        // Over a limit only counts against a change that adds to it
+        if (openQty > l.getMaxOpenQty() && openQty > workingQty) {
+            reject(Reason.OPEN_QUANTITY, "Account " + account + " would have " + openQty + " working on the "
+                    + order.getSide() + " side, over the limit of " + l.getMaxOpenQty());
+        }
+        if (openNotional > l.getMaxOpenNotional() && openNotional > workingNotional) {
+            reject(Reason.OPEN_NOTIONAL, "Account " + account + " would have " + openNotional
+                    + " notional working, over the limit of " + l.getMaxOpenNotional());
+        }
+    }
+
+    /** The order is in the journal: count it against its account from now on. */
+    @Override
+    public void onAccept(Order order) {
+        if (order.getAccountId() != Order.NO_ACCOUNT) {
+            order.attachExposure(exposures[slotFor(order.getAccountId())]);
+        }
+    }
+
+    /** Count the account orders already working in book (e.g. after recovery) against their accounts. */
+    @Override
+    public void onAttach(OrderBook book) {
+        book.forEachWorkingOrder(order -> {
+            if (order.getAccountId() != Order.NO_ACCOUNT && order.getExposure() == null) {
+                order.attachExposure(exposures[slotFor(order.getAccountId())]);
+            }
+        });
+    }
+
+    // ── Internals ──────────────────────────────────────────────
+
+    /** Opposite best, else the last trade; NO_PRICE if the book has neither. */
+    private static long farTouch(Side side, OrderBook book) {
+        long touch = side == Side.BUY ? book.getBestAskTicks() : book.getBestBidTicks();
+        return touch != Order.NO_PRICE ? touch : book.getLastTradePrice();
+    }
+
+    private void reject(Reason reason, String message) {
+        rejects[reason.ordinal()]++;
+        throw new RiskLimitException(reason, message);
+    }
+
+    private int find(long accountId) {
+        if (accountId == EMPTY) return -1;
+        int mask = accounts.length - 1;
+        for (int i = hash(accountId, mask); ; i = (i + 1) & mask) {
+            if (accounts[i] == accountId) return i;
+            if (accounts[i] == EMPTY) return -1;
+        }
+    }
+
+    /** Slot of accountId, adding it (default limits, empty exposure) on first sight. */
+    private int slotFor(long accountId) {
+        int mask = accounts.length - 1;
+        int i = hash(accountId, mask);
+        while (accounts[i] != accountId) {
+            if (accounts[i] == EMPTY) {
+                if ((accountCount + 1) * 2 > accounts.length) {
+                    grow();
+                    return slotFor(accountId);
+                }
+                accounts[i] = accountId;
+                limits[i] = defaults;
+                exposures[i] = new Exposure(accountId);
+                accountCount++;
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private static int hash(long accountId, int mask) {
+        return (int) ((accountId * GOLDEN) >>> 32) & mask;
+    }
+
+    private void grow() {
+        long[] oldAccounts = accounts;
+        RiskLimits[] oldLimits = limits;
+        Exposure[] oldExposures = exposures;
+        accounts = new long[oldAccounts.length * 2];
+        limits = new RiskLimits[accounts.length];
+        exposures = new Exposure[accounts.length];
+        int mask = accounts.length - 1;
+        for (int j = 0; j < oldAccounts.length; j++) {
+            if (oldAccounts[j] == EMPTY) continue;
+            int i = hash(oldAccounts[j], mask);
+            while (accounts[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            accounts[i] = oldAccounts[j];
+            limits[i] = oldLimits[j];
+            exposures[i] = oldExposures[j];
+        }
+    }
+}
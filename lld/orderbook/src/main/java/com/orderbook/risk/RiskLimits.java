@@ -0,0 +1,88 @@
+package com.orderbook.risk;
+
+/**
+ * Pre-trade limits for one account (or the default for all). Immutable;
+ * each with* method returns a copy with one limit changed:
+ * <pre>
+ *   RiskLimits.NONE.withMaxOrderQty(10_000).withPriceCollar(50).withMaxOpenNotional(5_000_000_000L)
+ * </pre>
+ * Quantities are in shares/contracts, prices in ticks, notionals in
+ * ticks × quantity.
+ */
+public final class RiskLimits {
+
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    /** Nothing enforced. */
+    public static final RiskLimits NONE = new RiskLimits(UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED);
+
+    private final long maxOrderQty;
+    private final long maxOrderNotional;
+    private final long collarTicks;
+    private final long maxOpenQty;
+    private final long maxOpenNotional;
+
+    private RiskLimits(long maxOrderQty, long maxOrderNotional, long collarTicks,
+                       long maxOpenQty, long maxOpenNotional) {
+        this.maxOrderQty = maxOrderQty;
+        this.maxOrderNotional = maxOrderNotional;
+        this.collarTicks = collarTicks;
+        this.maxOpenQty = maxOpenQty;
+        this.maxOpenNotional = maxOpenNotional;
+    }
+
+    /** Largest quantity a single order may carry. */
+    public RiskLimits withMaxOrderQty(long qty) {
+        return new RiskLimits(positive(qty), maxOrderNotional, collarTicks, maxOpenQty, maxOpenNotional);
+    }
+
+    /** Largest price × quantity of a single order (market orders at the far touch). */
+    public RiskLimits withMaxOrderNotional(long notional) {
+        return new RiskLimits(maxOrderQty, positive(notional), collarTicks, maxOpenQty, maxOpenNotional);
+    }
+
+    /**
+     * How far a limit order may reach through the opposite best (or the last
+     * trade, if that side is empty): a buy above ask + ticks, or a sell below
+     * bid − ticks, is refused. 0 allows no price improvement past the touch.
+     */
+    public RiskLimits withPriceCollar(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Price collar must not be negative");
+        }
+        return new RiskLimits(maxOrderQty, maxOrderNotional, ticks, maxOpenQty, maxOpenNotional);
+    }
+
+    /** Most unfilled quantity an account may have working on either side. */
+    public RiskLimits withMaxOpenQty(long qty) {
+        return new RiskLimits(maxOrderQty, maxOrderNotional, collarTicks, positive(qty), maxOpenNotional);
+    }
+
+    /** Most unfilled notional an account may have working, both sides together. */
+    public RiskLimits withMaxOpenNotional(long notional) {
+        return new RiskLimits(maxOrderQty, maxOrderNotional, collarTicks, maxOpenQty, positive(notional));
+    }
+
+    private static long positive(long limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return limit;
+    }
+
+    public long getMaxOrderQty()      { return maxOrderQty; }
+    public long getMaxOrderNotional() { return maxOrderNotional; }
+    public long getCollarTicks()      { return collarTicks; }
+    public long getMaxOpenQty()       { return maxOpenQty; }
+    public long getMaxOpenNotional()  { return maxOpenNotional; }
+
+    @Override
+    public String toString() {
+        return String.format("RiskLimits{orderQty=%s, orderNotional=%s, collar=%s, openQty=%s, openNotional=%s}",
+                show(maxOrderQty), show(maxOrderNotional), show(collarTicks), show(maxOpenQty), show(maxOpenNotional));
+    }
+
+    private static String show(long limit) {
+        return limit == UNLIMITED ? "-" : Long.toString(limit);
+    }
+}